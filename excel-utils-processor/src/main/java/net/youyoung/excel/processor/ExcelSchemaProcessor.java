@@ -0,0 +1,691 @@
+package net.youyoung.excel.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * @ExcelColumn, @ExcelTitle 이 선언된 DTO 마다 GeneratedExcelSchema 구현체 "클래스명_ExcelSchema" 생성
+ *
+ * 생성된 클래스는 헤더, 스타일, 컬럼 정보를 상수로 가지고 값은 getter(또는 필드)를 직접 호출해서 읽는다.
+ * 컬럼 탐색 순서와 값 접근 방식은 ExcelSchema 의 리플렉션 파싱과 같다.
+ * (상위 클래스부터, record 컴포넌트 또는 필드 다음 getter 메소드명 순, order 정렬, 같은 타입 getter 가 있으면 getter 사용)
+ * getter 가 없는 private 필드는 Lombok @Getter @Data @Value 가 있으면 Lombok 이 만들 getter 를 호출한다.
+ * path, @ExcelEmbedded 중첩 컬럼은 중간 값이 null 이면 null 을 반환하는 람다로 생성한다.
+ * 접근할 수 없는 필드나 스타일 클래스가 있으면 생성하지 않으며 런타임에 리플렉션으로 파싱된다.
+ * GraalVM native image 에서 생성된 클래스를 찾을 수 있도록 reflect-config.json 도 함께 생성한다.
+ */
+@SupportedAnnotationTypes({ExcelSchemaProcessor.EXCEL_COLUMN, ExcelSchemaProcessor.EXCEL_EMBEDDED, ExcelSchemaProcessor.EXCEL_TITLE})
+public class ExcelSchemaProcessor extends AbstractProcessor {
+
+    static final String EXCEL_COLUMN = "net.youyoung.excel.annotation.ExcelColumn";
+
+    static final String EXCEL_EMBEDDED = "net.youyoung.excel.annotation.ExcelEmbedded";
+
+    static final String EXCEL_TITLE = "net.youyoung.excel.annotation.ExcelTitle";
+
+    private static final String CLASS_NAME_SUFFIX = "_ExcelSchema";
+
+    private static final String NATIVE_IMAGE_CONFIG = "META-INF/native-image/excel-utils-processor/reflect-config.json";
+
+    private static final Set<String> LOMBOK_GETTERS = Set.of("lombok.Getter", "lombok.Data", "lombok.Value");
+
+    private final Set<String> generatedClassNames = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeNativeImageConfig();
+            return false;
+        }
+
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD || element.getKind() == ElementKind.METHOD)
+                    types.add((TypeElement) element.getEnclosingElement());
+                else if (element.getKind().isClass() || element.getKind().isInterface())
+                    types.add((TypeElement) element);
+            }
+        }
+
+        for (TypeElement type : types) {
+            try {
+                generate(type);
+            } catch (UnsupportedTypeException e) {
+                messager().printMessage(Diagnostic.Kind.NOTE, type.getQualifiedName() + " : " + e.getMessage() + ", using reflection at runtime", e.element);
+            } catch (IOException e) {
+                messager().printMessage(Diagnostic.Kind.ERROR, "cannot write " + type.getQualifiedName() + CLASS_NAME_SUFFIX + " : " + e.getMessage(), type);
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        checkAccessible(type);
+
+        String packageName = packageOf(type).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_') + CLASS_NAME_SUFFIX;
+        String generatedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        String typeName = type.getQualifiedName().toString();
+
+        List<String> columns = new ArrayList<>();
+        for (Column column : columns(type, packageOf(type), new HashSet<>()))
+            columns.add(column(typeName, column));
+
+        TypeElement titleType = titleType(type);
+        AnnotationMirror excelTitle = titleType == null ? null : annotation(titleType, EXCEL_TITLE);
+        if (titleType != null)
+            checkAccessible(titleType, packageOf(type));
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty())
+            source.append("package ").append(packageName).append(";\n\n");
+        source.append("import java.util.List;\n")
+                .append("import javax.annotation.processing.Generated;\n")
+                .append("import net.youyoung.excel.accessor.ColumnAccessors;\n")
+                .append("import net.youyoung.excel.annotation.ExcelAggregate;\n")
+                .append("import net.youyoung.excel.annotation.ExcelFieldInfo;\n")
+                .append("import net.youyoung.excel.annotation.ExcelTitle;\n")
+                .append("import net.youyoung.excel.annotation.GeneratedExcelSchema;\n")
+                .append("import net.youyoung.excel.style.CellStyleStrategy;\n\n")
+                .append("@Generated(\"").append(ExcelSchemaProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(simpleName).append(" implements GeneratedExcelSchema {\n\n")
+                .append("    @Override\n")
+                .append("    public Class<?> type() {\n")
+                .append("        return ").append(typeName).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public ExcelTitle excelTitle() {\n")
+                .append("        return ").append(excelTitle == null ? "null" : titleType.getQualifiedName() + ".class.getAnnotation(ExcelTitle.class)").append(";\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public CellStyleStrategy titleStyleStrategy() {\n")
+                .append("        return ").append(excelTitle == null ? "null" : newStrategy(type, values(excelTitle).get("titleStyle"))).append(";\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    @SuppressWarnings(\"rawtypes\")\n")
+                .append("    public List<Column> columns() {\n")
+                .append("        return List.of(");
+        for (int i = 0; i < columns.size(); i++)
+            source.append(i == 0 ? "\n" : ",\n").append(columns.get(i));
+        source.append("\n        );\n")
+                .append("    }\n")
+                .append("}\n");
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(generatedName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(source.toString());
+        }
+        generatedClassNames.add(generatedName);
+    }
+
+    /**
+     * type 의 컬럼 (@ExcelEmbedded 는 펼친 결과)
+     *
+     * @param visiting 펼치는 중인 타입 (순환 참조 검사)
+     */
+    private List<Column> columns(TypeElement type, PackageElement generatedPackage, Set<String> visiting) {
+        String typeName = type.getQualifiedName().toString();
+        if (!visiting.add(typeName)) {
+            messager().printMessage(Diagnostic.Kind.ERROR, "recursive @ExcelEmbedded : " + typeName, type);
+            throw new UnsupportedTypeException("recursive @ExcelEmbedded " + typeName, type);
+        }
+
+        // 같은 이름은 하위 클래스 선언으로 교체 (위치는 유지)
+        Map<String, Member> members = new LinkedHashMap<>();
+        for (TypeElement declaringType : hierarchy(type))
+            for (Member member : columnMembers(declaringType, generatedPackage, visiting))
+                members.put(member.name(), member);
+
+        List<Member> ordered = new ArrayList<>(members.values());
+        ordered.sort(Comparator.comparingInt(Member::order));
+
+        List<Column> columns = new ArrayList<>();
+        for (Member member : ordered)
+            columns.addAll(member.columns());
+
+        visiting.remove(typeName);
+        return columns;
+    }
+
+    /**
+     * Object 를 제외한 최상위 클래스부터 type 까지, 인터페이스는 상위 인터페이스부터 type 까지
+     */
+    private List<TypeElement> hierarchy(TypeElement type) {
+        List<TypeElement> hierarchy = new ArrayList<>();
+        if (type.getKind().isInterface()) {
+            for (TypeMirror parent : type.getInterfaces()) {
+                for (TypeElement element : hierarchy(asTypeElement(parent))) {
+                    if (!hierarchy.contains(element))
+                        hierarchy.add(element);
+                }
+            }
+            hierarchy.add(type);
+            return hierarchy;
+        }
+        for (TypeElement element = type; element != null && !element.getQualifiedName().contentEquals("java.lang.Object"); element = asTypeElement(element.getSuperclass()))
+            hierarchy.add(0, element);
+        return hierarchy;
+    }
+
+    /**
+     * @ExcelTitle 이 선언된 가장 가까운 클래스 (상위 클래스 포함), 없으면 null
+     */
+    private TypeElement titleType(TypeElement type) {
+        for (TypeElement element = type; element != null; element = asTypeElement(element.getSuperclass())) {
+            if (annotation(element, EXCEL_TITLE) != null)
+                return element;
+        }
+        return null;
+    }
+
+    /**
+     * 한 클래스에 선언된 컬럼 (record 컴포넌트 또는 필드 선언 순서, 그 다음 getter 메소드명 순서)
+     *
+     * @param generatedPackage 생성될 클래스의 패키지 (접근 가능 여부 판단)
+     */
+    private List<Member> columnMembers(TypeElement declaringType, PackageElement generatedPackage, Set<String> visiting) {
+        List<Member> members = new ArrayList<>();
+        Set<String> componentAccessors = new HashSet<>();
+
+        if (declaringType.getKind() == ElementKind.RECORD) {
+            for (RecordComponentElement component : declaringType.getRecordComponents()) {
+                String name = component.getSimpleName().toString();
+                componentAccessors.add(name);
+                Element[] annotated = recordElements(declaringType, component);
+                if (isColumn(annotated)) {
+                    checkAccessible(component.getAccessor(), generatedPackage);
+                    members.add(columnMember(name, new Access(name + "()", component.getAccessor().getReturnType()), generatedPackage, visiting, annotated));
+                }
+            }
+        } else {
+            for (VariableElement field : ElementFilter.fieldsIn(declaringType.getEnclosedElements())) {
+                if (field.getModifiers().contains(Modifier.STATIC) || !isColumn(field))
+                    continue;
+                Access access = new Access(fieldExpression(declaringType, field, generatedPackage), field.asType());
+                members.add(columnMember(field.getSimpleName().toString(), access, generatedPackage, visiting, field));
+            }
+        }
+
+        // ExcelSchema 와 같이 메소드명 순
+        List<ExecutableElement> methods = new ArrayList<>(ElementFilter.methodsIn(declaringType.getEnclosedElements()));
+        methods.sort(Comparator.comparing(method -> method.getSimpleName().toString()));
+        for (ExecutableElement method : methods) {
+            if (!isColumn(method) || (componentAccessors.contains(method.getSimpleName().toString()) && method.getParameters().isEmpty()))
+                continue;
+            if (method.getModifiers().contains(Modifier.STATIC) || !method.getParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID) {
+                messager().printMessage(Diagnostic.Kind.ERROR, "@ExcelColumn method must be a non-static getter without parameters", method);
+                throw new UnsupportedTypeException("invalid @ExcelColumn method " + method.getSimpleName(), method);
+            }
+            checkAccessible(method, generatedPackage);
+            Access access = new Access(method.getSimpleName() + "()", method.getReturnType());
+            members.add(columnMember(propertyName(method.getSimpleName().toString()), access, generatedPackage, visiting, method));
+        }
+        return members;
+    }
+
+    /**
+     * record 컴포넌트의 어노테이션을 조회할 요소 (컴포넌트, 접근자, 전파된 필드)
+     */
+    private Element[] recordElements(TypeElement recordType, RecordComponentElement component) {
+        List<Element> elements = new ArrayList<>(List.of(component, component.getAccessor()));
+        for (VariableElement field : ElementFilter.fieldsIn(recordType.getEnclosedElements())) {
+            if (field.getSimpleName().equals(component.getSimpleName()))
+                elements.add(field);
+        }
+        return elements.toArray(Element[]::new);
+    }
+
+    private boolean isColumn(Element... elements) {
+        return annotation(EXCEL_COLUMN, elements) != null || annotation(EXCEL_EMBEDDED, elements) != null;
+    }
+
+    /**
+     * @ExcelColumn (path 포함) 은 컬럼 하나, @ExcelEmbedded 는 값 타입의 컬럼을 펼친 묶음
+     *
+     * @param access 행 객체에서 멤버 값을 읽는 식
+     * @param annotated 어노테이션을 조회할 요소
+     */
+    private Member columnMember(String name, Access access, PackageElement generatedPackage, Set<String> visiting, Element... annotated) {
+        AnnotationMirror excelColumn = annotation(EXCEL_COLUMN, annotated);
+        AnnotationMirror excelEmbedded = annotation(EXCEL_EMBEDDED, annotated);
+        Element element = annotated[0];
+        if (excelColumn != null && excelEmbedded != null) {
+            messager().printMessage(Diagnostic.Kind.ERROR, "@ExcelColumn and @ExcelEmbedded cannot be used together", element);
+            throw new UnsupportedTypeException("@ExcelColumn and @ExcelEmbedded on " + name, element);
+        }
+
+        if (excelColumn != null) {
+            Map<String, Object> values = values(excelColumn);
+            String path = (String) values.get("path");
+            List<Access> steps = new ArrayList<>();
+            steps.add(access);
+            if (!path.isEmpty())
+                steps.addAll(path(access.type(), path, generatedPackage, element));
+            return new Member(name, (Integer) values.get("order"), List.of(Column.of(path.isEmpty() ? name : name + "." + path, values, element, steps)));
+        }
+
+        Map<String, Object> values = values(excelEmbedded);
+        TypeElement embeddedType = asTypeElement(processingEnv.getTypeUtils().erasure(access.type()));
+        if (embeddedType == null)
+            throw new UnsupportedTypeException("@ExcelEmbedded on " + access.type(), element);
+        String headerPrefix = (String) values.get("headerPrefix");
+        String headerEnPrefix = ((String) values.get("headerEnPrefix")).isEmpty() ? headerPrefix : (String) values.get("headerEnPrefix");
+        String headerKeyPrefix = (String) values.get("headerKeyPrefix");
+
+        List<Column> columns = new ArrayList<>();
+        for (Column column : columns(embeddedType, generatedPackage, visiting)) {
+            List<Access> steps = new ArrayList<>();
+            steps.add(access);
+            steps.addAll(column.path());
+            String headerKey = column.headerKey().isEmpty() ? "" : headerKeyPrefix + column.headerKey();
+            columns.add(new Column(name + "." + column.name(), headerPrefix + column.header(), headerEnPrefix + column.headerEn(), headerKey, column.values(), column.element(), steps));
+        }
+        return new Member(name, (Integer) values.get("order"), columns);
+    }
+
+    /**
+     * "address.city" 를 선언 타입 기준 프로퍼티 접근식 목록으로 변환
+     */
+    private List<Access> path(TypeMirror type, String path, PackageElement generatedPackage, Element element) {
+        List<Access> steps = new ArrayList<>();
+        for (String name : path.split("\\.")) {
+            TypeElement typeElement = asTypeElement(processingEnv.getTypeUtils().erasure(type));
+            Access step = typeElement == null ? null : property(typeElement, name, generatedPackage);
+            if (step == null) {
+                messager().printMessage(Diagnostic.Kind.ERROR, "unknown property '" + name + "' of " + processingEnv.getTypeUtils().erasure(type) + " in path '" + path + "'", element);
+                throw new UnsupportedTypeException("unknown property " + name, element);
+            }
+            steps.add(step);
+            type = step.type();
+        }
+        return steps;
+    }
+
+    /**
+     * ExcelSchema 와 같이 record 컴포넌트, getter (getXxx, isXxx, xxx()), 필드 순서로 탐색
+     *
+     * @return 없으면 null
+     */
+    private Access property(TypeElement type, String name, PackageElement generatedPackage) {
+        if (type.getKind() == ElementKind.RECORD) {
+            for (RecordComponentElement component : type.getRecordComponents()) {
+                if (component.getSimpleName().contentEquals(name)) {
+                    checkAccessible(component.getAccessor(), generatedPackage);
+                    return new Access(name + "()", component.getAccessor().getReturnType());
+                }
+            }
+        }
+
+        List<? extends Element> members = processingEnv.getElementUtils().getAllMembers(type);
+        String capitalized = name.isEmpty() ? name : Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (String getterName : List.of("get" + capitalized, "is" + capitalized, name)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(members)) {
+                if (method.getSimpleName().contentEquals(getterName)
+                        && method.getParameters().isEmpty()
+                        && !method.getModifiers().contains(Modifier.STATIC)
+                        && method.getReturnType().getKind() != TypeKind.VOID) {
+                    checkAccessible(method, generatedPackage);
+                    return new Access(getterName + "()", method.getReturnType());
+                }
+            }
+        }
+
+        for (VariableElement field : ElementFilter.fieldsIn(members)) {
+            if (field.getSimpleName().contentEquals(name) && !field.getModifiers().contains(Modifier.STATIC)) {
+                checkAccessible(field, generatedPackage);
+                return new Access(name, field.asType());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 같은 타입 getter, 접근 가능한 필드, Lombok getter 순서로 사용
+     */
+    private String fieldExpression(TypeElement declaringType, VariableElement field, PackageElement generatedPackage) {
+        String name = field.getSimpleName().toString();
+        List<String> getterNames = getterNames(field);
+        for (String getterName : getterNames) {
+            for (ExecutableElement method : ElementFilter.methodsIn(declaringType.getEnclosedElements())) {
+                if (method.getSimpleName().contentEquals(getterName)
+                        && method.getParameters().isEmpty()
+                        && !method.getModifiers().contains(Modifier.PRIVATE)
+                        && !method.getModifiers().contains(Modifier.STATIC)
+                        && processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType())) {
+                    checkAccessible(method, generatedPackage);
+                    return getterName + "()";
+                }
+            }
+        }
+
+        if (isAccessible(field, generatedPackage))
+            return name;
+
+        // Lombok 이 만드는 getter 는 같은 라운드에서 보이지 않을 수 있으므로 어노테이션으로 판단 (기본 public)
+        if (hasAnnotation(field, LOMBOK_GETTERS) || hasAnnotation(declaringType, LOMBOK_GETTERS))
+            return getterNames.get(0) + "()";
+
+        throw new UnsupportedTypeException("no accessible getter for field " + name, field);
+    }
+
+    private String column(String typeName, Column column) {
+        Map<String, Object> values = column.values();
+        return "                new Column(" + literal(column.name()) + ",\n"
+                + "                        new ExcelFieldInfo(" + literal(column.header())
+                + ", " + literal(column.headerEn())
+                + ", " + values.get("width")
+                + ", " + newStrategy(column.element(), values.get("headerStyle"))
+                + ", " + newStrategy(column.element(), values.get("bodyStyle"))
+                + ", " + literal((String) values.get("format"))
+                + ", " + literal((String) values.get("columnDefault"))
+                + ", " + values.get("autoWidth")
+                + ", " + literal(column.headerKey())
+                + ", ExcelAggregate." + ((VariableElement) values.get("aggregate")).getSimpleName() + "),\n"
+                + "                        " + accessor(typeName, column) + ")";
+    }
+
+    /**
+     * 값 타입에 맞는 ColumnAccessors 팩토리 호출
+     * 중첩 컬럼은 중간 값이 null 이면 null 을 반환 (PathAccessor 와 같이 값 타입은 박싱 타입)
+     */
+    private String accessor(String typeName, Column column) {
+        List<Access> path = column.path();
+        TypeMirror valueType = path.get(path.size() - 1).type();
+        if (path.size() == 1) {
+            String getter = "row -> ((" + typeName + ") row)." + path.get(0).expression();
+            String classLiteral = classLiteral(valueType) + ".class";
+            return switch (valueType.getKind()) {
+                case INT, SHORT, BYTE -> "ColumnAccessors.ofInt(" + classLiteral + ", " + getter + ")";
+                case LONG -> "ColumnAccessors.ofLong(" + classLiteral + ", " + getter + ")";
+                case DOUBLE, FLOAT -> "ColumnAccessors.ofDouble(" + classLiteral + ", " + getter + ")";
+                default -> "ColumnAccessors.ofObject(" + classLiteral + ", " + getter + ")";
+            };
+        }
+
+        StringBuilder getter = new StringBuilder("row -> {\n");
+        String value = "((" + typeName + ") row)";
+        for (int i = 0; i < path.size() - 1; i++) {
+            getter.append("                            var v").append(i).append(" = ").append(value).append('.').append(path.get(i).expression()).append(";\n")
+                    .append("                            if (v").append(i).append(" == null) return null;\n");
+            value = "v" + i;
+        }
+        getter.append("                            return ").append(value).append('.').append(path.get(path.size() - 1).expression()).append(";\n")
+                .append("                        }");
+
+        String classLiteral = valueType.getKind().isPrimitive()
+                ? processingEnv.getTypeUtils().boxedClass((PrimitiveType) valueType).getQualifiedName().toString()
+                : classLiteral(valueType);
+        return "ColumnAccessors.ofObject(" + classLiteral + ".class, " + getter + ")";
+    }
+
+    /**
+     * 우선순위 순서의 getter 이름 (boolean 은 isXxx, 필드명이 isXxx 면 그대로)
+     */
+    private static List<String> getterNames(VariableElement field) {
+        String name = field.getSimpleName().toString();
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        if (field.asType().getKind() != TypeKind.BOOLEAN)
+            return List.of("get" + capitalized);
+        if (name.startsWith("is") && name.length() > 2 && Character.isUpperCase(name.charAt(2)))
+            return List.of(name, "get" + capitalized);
+        return List.of("is" + capitalized, "get" + capitalized);
+    }
+
+    /**
+     * getXxx, isXxx 는 xxx, 그 외는 메소드명
+     */
+    private static String propertyName(String methodName) {
+        int prefix = methodName.startsWith("get") ? 3 : methodName.startsWith("is") ? 2 : 0;
+        if (prefix == 0 || methodName.length() == prefix || !Character.isUpperCase(methodName.charAt(prefix)))
+            return methodName;
+        return Character.toLowerCase(methodName.charAt(prefix)) + methodName.substring(prefix + 1);
+    }
+
+    /**
+     * CellStyleStrategy 생성식, 생성된 클래스에서 기본 생성자를 호출할 수 없으면 생성 중단
+     */
+    private String newStrategy(Element element, Object strategyType) {
+        TypeElement strategy = (TypeElement) ((DeclaredType) strategyType).asElement();
+        checkAccessible(strategy);
+        if (strategy.getModifiers().contains(Modifier.ABSTRACT))
+            throw new UnsupportedTypeException("abstract style " + strategy.getQualifiedName(), element);
+
+        boolean samePackage = packageOf(strategy).equals(packageOf(element));
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(strategy.getEnclosedElements())) {
+            boolean accessible = constructor.getModifiers().contains(Modifier.PUBLIC) || (samePackage && !constructor.getModifiers().contains(Modifier.PRIVATE));
+            if (constructor.getParameters().isEmpty() && accessible)
+                return "new " + strategy.getQualifiedName() + "()";
+        }
+        throw new UnsupportedTypeException("no accessible no-arg constructor in " + strategy.getQualifiedName(), element);
+    }
+
+    /**
+     * 생성된 클래스에서 호출할 수 있는 멤버 (public 이거나 private 이 아니고 같은 패키지)
+     */
+    private boolean isAccessible(Element member, PackageElement generatedPackage) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC))
+            return true;
+        return !modifiers.contains(Modifier.PRIVATE) && packageOf(member).equals(generatedPackage);
+    }
+
+    private void checkAccessible(Element member, PackageElement generatedPackage) {
+        if (member instanceof TypeElement type)
+            checkAccessible(type);
+        if (!isAccessible(member, generatedPackage))
+            throw new UnsupportedTypeException("cannot access " + member.getEnclosingElement() + "." + member.getSimpleName(), member);
+    }
+
+    /**
+     * 같은 패키지의 생성된 클래스에서 참조할 수 있는 타입인지 확인
+     */
+    private void checkAccessible(TypeElement type) {
+        for (Element element = type; element instanceof TypeElement typeElement; element = element.getEnclosingElement()) {
+            NestingKind nestingKind = typeElement.getNestingKind();
+            if (nestingKind == NestingKind.LOCAL || nestingKind == NestingKind.ANONYMOUS)
+                throw new UnsupportedTypeException("local or anonymous class", type);
+            if (typeElement.getModifiers().contains(Modifier.PRIVATE))
+                throw new UnsupportedTypeException("private class " + typeElement.getQualifiedName(), type);
+        }
+    }
+
+    /**
+     * 필드 타입의 erasure 를 클래스 리터럴 이름으로 변환 (타입 어노테이션, 제네릭 인자 제외)
+     */
+    private String classLiteral(TypeMirror type) {
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        if (erasure.getKind().isPrimitive())
+            return erasure.getKind().name().toLowerCase();
+        if (erasure instanceof ArrayType arrayType)
+            return classLiteral(arrayType.getComponentType()) + "[]";
+        if (erasure instanceof DeclaredType declaredType)
+            return ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+        return "Object";
+    }
+
+    private void writeNativeImageConfig() {
+        if (generatedClassNames.isEmpty()) return;
+
+        StringBuilder config = new StringBuilder("[\n");
+        int i = 0;
+        for (String className : generatedClassNames) {
+            config.append("  {\"name\": \"").append(className).append("\", \"methods\": [{\"name\": \"<init>\", \"parameterTypes\": []}]}");
+            config.append(++i < generatedClassNames.size() ? ",\n" : "\n");
+        }
+        config.append("]\n");
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", NATIVE_IMAGE_CONFIG);
+            try (Writer writer = file.openWriter()) {
+                writer.write(config.toString());
+            }
+        } catch (IOException e) {
+            messager().printMessage(Diagnostic.Kind.WARNING, "cannot write " + NATIVE_IMAGE_CONFIG + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * 요소 순서대로 조회한 첫 번째 어노테이션
+     */
+    private AnnotationMirror annotation(String annotationName, Element... elements) {
+        for (Element element : elements) {
+            AnnotationMirror mirror = annotation(element, annotationName);
+            if (mirror != null)
+                return mirror;
+        }
+        return null;
+    }
+
+    private AnnotationMirror annotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName))
+                return mirror;
+        }
+        return null;
+    }
+
+    private boolean hasAnnotation(Element element, Set<String> annotationNames) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (annotationNames.contains(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString()))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * 기본값을 포함한 어노테이션 속성 (이름 - 값)
+     */
+    private Map<String, Object> values(AnnotationMirror mirror) {
+        Map<String, Object> values = new java.util.HashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet())
+            values.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue());
+        return values;
+    }
+
+    private TypeElement asTypeElement(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) type).asElement() : null;
+    }
+
+    private PackageElement packageOf(Element element) {
+        return processingEnv.getElementUtils().getPackageOf(element);
+    }
+
+    private Messager messager() {
+        return processingEnv.getMessager();
+    }
+
+    /**
+     * 자바 문자열 리터럴, 소스 인코딩과 무관하도록 ASCII 외 문자는 유니코드 이스케이프
+     */
+    static String literal(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20)
+                        builder.append(String.format("\\%03o", (int) c));
+                    else if (c < 0x7F)
+                        builder.append(c);
+                    else
+                        builder.append(String.format("\\u%04x", (int) c));
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    /**
+     * 컬럼으로 선언된 필드, record 컴포넌트 또는 getter
+     *
+     * @param name 필드명 또는 getter 의 프로퍼티명 (하위 클래스 재선언 판단)
+     * @param columns 멤버가 만드는 컬럼 (@ExcelEmbedded 는 여러 개)
+     */
+    private record Member(String name, int order, List<Column> columns) {}
+
+    /**
+     * @param name fieldInfoMap 키 (중첩 컬럼은 "customer.name")
+     * @param values @ExcelColumn 속성
+     * @param element @ExcelColumn 이 선언된 요소
+     * @param path 행 객체부터 값까지 차례로 읽는 식
+     */
+    private record Column(String name, String header, String headerEn, String headerKey, Map<String, Object> values, Element element, List<Access> path) {
+
+        /**
+         * ExcelSchema 의 리플렉션 파싱과 같은 규칙 (header, headerEn 미입력 시 서로의 값 사용)
+         */
+        static Column of(String name, Map<String, Object> values, Element element, List<Access> path) {
+            String header = (String) values.get("header");
+            String headerEn = (String) values.get("headerEn");
+            return new Column(name, header.isEmpty() ? headerEn : header, headerEn.isEmpty() ? header : headerEn, (String) values.get("headerKey"), values, element, path);
+        }
+    }
+
+    /**
+     * @param expression 이전 값에서 이 값을 읽는 식 (필드명 또는 메소드 호출)
+     * @param type 선언 타입
+     */
+    private record Access(String expression, TypeMirror type) {}
+
+    /**
+     * 생성할 수 없는 DTO (런타임에 리플렉션으로 처리)
+     */
+    private static final class UnsupportedTypeException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Element element;
+
+        UnsupportedTypeException(String message, Element element) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.annotation.ExcelColumn;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * 벤치마크용 합성 DTO
+ *
+ * 행은 Iterator 에서 그때그때 생성하므로 100만 행도 힙에 올리지 않는다.
+ * NARROW : 숫자 위주 4 컬럼
+ * WIDE   : 숫자/문자열/날짜/Boolean 혼합 20 컬럼 (RowWriterBenchmark.WideRow)
+ * TEXT   : 문자열 10 컬럼
+ */
+public enum BenchmarkRows {
+
+    NARROW(NarrowRow.class, NarrowRow::new),
+    WIDE(RowWriterBenchmark.WideRow.class, RowWriterBenchmark.WideRow::sample),
+    TEXT(TextRow.class, TextRow::new);
+
+    private final Class<?> type;
+
+    private final IntFunction<?> factory;
+
+    BenchmarkRows(Class<?> type, IntFunction<?> factory) {
+        this.type = type;
+        this.factory = factory;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Class<T> type() {
+        return (Class<T>) type;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Iterator<T> iterator(int rowCount) {
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < rowCount;
+            }
+
+            @Override
+            public T next() {
+                if (index >= rowCount)
+                    throw new NoSuchElementException();
+                return (T) factory.apply(index++);
+            }
+        };
+    }
+
+    public static class NarrowRow {
+        @ExcelColumn(header = "id") private long id;
+        @ExcelColumn(header = "qty", format = "#,##0") private int qty;
+        @ExcelColumn(header = "price", format = "#,##0.00") private double price;
+        @ExcelColumn(header = "amount", format = "#,##0.00") private BigDecimal amount;
+
+        NarrowRow(int i) {
+            id = i;
+            qty = i % 1000;
+            price = i * 0.25;
+            amount = BigDecimal.valueOf(i, 2);
+        }
+    }
+
+    public static class TextRow {
+        @ExcelColumn(header = "t1") private String t1;
+        @ExcelColumn(header = "t2") private String t2;
+        @ExcelColumn(header = "t3") private String t3;
+        @ExcelColumn(header = "t4") private String t4;
+        @ExcelColumn(header = "t5") private String t5;
+        @ExcelColumn(header = "t6") private String t6;
+        @ExcelColumn(header = "t7") private String t7;
+        @ExcelColumn(header = "t8", columnDefault = "-") private String t8;
+        @ExcelColumn(header = "t9", format = "yyyy-MM-dd HH:mm") private LocalDateTime t9;
+        @ExcelColumn(header = "t10", format = "yyyy-MM-dd") private LocalDate t10;
+
+        TextRow(int i) {
+            t1 = "user-" + i; t2 = "dept-" + (i % 50); t3 = "서울특별시 강남구 " + i;
+            t4 = "010-0000-" + (i % 10000); t5 = "memo"; t6 = i % 2 == 0 ? "Y" : "N"; t7 = "<&\"escape\">";
+            t8 = i % 3 == 0 ? null : "value"; t9 = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i); t10 = LocalDate.of(2024, 1, 1).plusDays(i % 365);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package net.youyoung.excel;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.Resource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getResource 전체 내보내기 시간 (메타데이터, Body, workbook.write 포함)
+ *
+ * 행 수와 DTO 형태, 엔진별로 측정한다. 100만 행은 오래 걸리므로 필요할 때
+ * ./gradlew jmh -PjmhIncludes=ExportBenchmark 처럼 골라서 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class ExportBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rowCount;
+
+    @Param({"NARROW", "WIDE", "TEXT"})
+    public BenchmarkRows shape;
+
+    @Param({"SXSSF", "DIRECT"})
+    public ExcelEngine engine;
+
+    private ExcelExportOptions options;
+
+    @Setup
+    public void setUp() {
+        options = ExcelExportOptions.builder()
+                .engine(engine)
+                .build();
+    }
+
+    @Benchmark
+    public Resource getResource() {
+        return ExcelUtils.getResource(shape.iterator(rowCount), shape.type(), rowCount, options);
+    }
+}
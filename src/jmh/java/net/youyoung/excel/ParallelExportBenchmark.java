@@ -0,0 +1,93 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.annotation.ExcelColumn;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * parallelism 별 전체 내보내기 시간
+ *
+ * toString() 계산 비용이 있는 넓은 DTO 100,000 행을 writeTo 로 기록한다.
+ * parallelism=1 은 기존 단일 스레드 경로
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ParallelExportBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"100000"})
+    public int rowCount;
+
+    private List<ComputedRow> rows;
+
+    private ExecutorService executor;
+
+    private ExcelExportOptions options;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++)
+            rows.add(new ComputedRow(i));
+        executor = Executors.newFixedThreadPool(parallelism);
+        options = ExcelExportOptions.builder()
+                .parallelism(parallelism)
+                .executor(executor)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void writeTo() throws IOException {
+        ExcelUtils.writeTo(rows.iterator(), ComputedRow.class, OutputStream.nullOutputStream(), rows.size(), options);
+    }
+
+    public static class ComputedRow {
+        @ExcelColumn(header = "id") private long id;
+        @ExcelColumn(header = "amount") private BigDecimal amount;
+        @ExcelColumn(header = "code") private Code code1;
+        @ExcelColumn(header = "code") private Code code2;
+        @ExcelColumn(header = "code") private Code code3;
+        @ExcelColumn(header = "code") private Code code4;
+        @ExcelColumn(header = "code") private Code code5;
+        @ExcelColumn(header = "code") private Code code6;
+        @ExcelColumn(header = "ratio") private double ratio;
+        @ExcelColumn(header = "name") private String name;
+
+        ComputedRow(int i) {
+            id = i;
+            amount = BigDecimal.valueOf(i, 2);
+            code1 = new Code(i); code2 = new Code(i * 3); code3 = new Code(i * 7);
+            code4 = new Code(i * 11); code5 = new Code(i * 13); code6 = new Code(i * 17);
+            ratio = i / 3.0;
+            name = "name-" + i;
+        }
+    }
+
+    /**
+     * toString() 에서 문자열을 조립하는 값 객체
+     */
+    public record Code(int value) {
+        @Override
+        public String toString() {
+            return String.format("C-%08X-%s", value, Integer.toString(value, 36).toUpperCase());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.annotation.ExcelColumn;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 행(20 컬럼) 기록 비용 비교
+ *
+ * reflective : 기존 setBodyCellValue 방식 (셀마다 getDeclaredField + setAccessible)
+ * plan       : RowWriterPlan (클래스당 한번 컴파일된 MethodHandle 접근자)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RowWriterBenchmark {
+
+    private SXSSFWorkbook workbook;
+
+    private Row row;
+
+    private WideRow data;
+
+    private List<String> fieldNames;
+
+    private RowWriterPlan<WideRow> plan;
+
+    @Setup
+    public void setUp() {
+        workbook = new SXSSFWorkbook();
+        row = workbook.createSheet().createRow(0);
+        data = WideRow.sample(42);
+        fieldNames = new ArrayList<>();
+        for (Field field : WideRow.class.getDeclaredFields()) {
+            if (field.isAnnotationPresent(ExcelColumn.class))
+                fieldNames.add(field.getName());
+        }
+        plan = RowWriterPlan.of(WideRow.class);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        workbook.close();
+        workbook.dispose();
+    }
+
+    @Benchmark
+    public Row reflective() throws Exception {
+        int cellNo = 0;
+        for (String fieldName : fieldNames) {
+            Field field = data.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            Cell cell = row.createCell(cellNo++);
+            ExcelUtils.setCellValue(cell, field.get(data), "");
+        }
+        return row;
+    }
+
+    @Benchmark
+    public Row plan() {
+        for (int cellNo = 0; cellNo < plan.columnCount(); cellNo++) {
+            plan.write(data, cellNo, row.createCell(cellNo));
+        }
+        return row;
+    }
+
+    public static class WideRow {
+        @ExcelColumn(header = "c1") private int c1;
+        @ExcelColumn(header = "c2") private int c2;
+        @ExcelColumn(header = "c3") private int c3;
+        @ExcelColumn(header = "c4") private int c4;
+        @ExcelColumn(header = "c5") private long c5;
+        @ExcelColumn(header = "c6") private long c6;
+        @ExcelColumn(header = "c7") private long c7;
+        @ExcelColumn(header = "c8") private double c8;
+        @ExcelColumn(header = "c9") private double c9;
+        @ExcelColumn(header = "c10") private double c10;
+        @ExcelColumn(header = "c11") private String c11;
+        @ExcelColumn(header = "c12") private String c12;
+        @ExcelColumn(header = "c13") private String c13;
+        @ExcelColumn(header = "c14") private String c14;
+        @ExcelColumn(header = "c15") private Integer c15;
+        @ExcelColumn(header = "c16") private Long c16;
+        @ExcelColumn(header = "c17") private LocalDate c17;
+        @ExcelColumn(header = "c18") private LocalDate c18;
+        @ExcelColumn(header = "c19") private Boolean c19;
+        @ExcelColumn(header = "c20") private String c20;
+
+        static WideRow sample(int seed) {
+            WideRow row = new WideRow();
+            row.c1 = seed; row.c2 = seed + 1; row.c3 = seed + 2; row.c4 = seed + 3;
+            row.c5 = seed * 10L; row.c6 = seed * 11L; row.c7 = seed * 12L;
+            row.c8 = seed * 1.5; row.c9 = seed * 2.5; row.c10 = seed * 3.5;
+            row.c11 = "name-" + seed; row.c12 = "code-" + seed; row.c13 = "memo"; row.c14 = null;
+            row.c15 = seed; row.c16 = (long) seed;
+            row.c17 = LocalDate.of(2024, 1, 1).plusDays(seed); row.c18 = null;
+            row.c19 = seed % 2 == 0; row.c20 = "x";
+            return row;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package net.youyoung.excel;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 컬럼 메타데이터 추출 비용
+ *
+ * build  : 어노테이션 스캔과 접근자, RowWriterPlan 생성 (캐시 미스)
+ * cached : ExcelSchemaCache 조회 (내보내기마다 발생하는 비용)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SchemaBenchmark {
+
+    @Param({"NARROW", "WIDE", "TEXT"})
+    public BenchmarkRows shape;
+
+    @Benchmark
+    public ExcelSchema<?> build() {
+        return ExcelSchema.build(shape.type());
+    }
+
+    @Benchmark
+    public ExcelSchema<?> cached() {
+        return ExcelSchemaCache.get(shape.type());
+    }
+}
@@ -0,0 +1,57 @@
+package net.youyoung.excel;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExcelUtils.setCellValue 타입 분기 비용 (값 타입별)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SetCellValueBenchmark {
+
+    @Param({"STRING", "INTEGER", "LONG", "DOUBLE", "BIG_DECIMAL", "LOCAL_DATE", "LOCAL_DATE_TIME", "BOOLEAN", "NULL"})
+    public String valueType;
+
+    private SXSSFWorkbook workbook;
+
+    private Cell cell;
+
+    private Object value;
+
+    @Setup
+    public void setUp() {
+        workbook = new SXSSFWorkbook();
+        cell = workbook.createSheet().createRow(0).createCell(0);
+        value = switch (valueType) {
+            case "STRING" -> "name-42";
+            case "INTEGER" -> 42;
+            case "LONG" -> 42L;
+            case "DOUBLE" -> 42.5;
+            case "BIG_DECIMAL" -> new BigDecimal("42.50");
+            case "LOCAL_DATE" -> LocalDate.of(2024, 1, 1);
+            case "LOCAL_DATE_TIME" -> LocalDateTime.of(2024, 1, 1, 12, 30);
+            case "BOOLEAN" -> Boolean.TRUE;
+            default -> null;
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        workbook.close();
+        workbook.dispose();
+    }
+
+    @Benchmark
+    public Cell setCellValue() {
+        ExcelUtils.setCellValue(cell, value, "-");
+        return cell;
+    }
+}
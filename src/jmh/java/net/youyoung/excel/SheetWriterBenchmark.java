@@ -0,0 +1,45 @@
+package net.youyoung.excel;
+
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Body 행 기록 비용 (SheetWriter.setBodyCellValue 경로, workbook.write 제외)
+ *
+ * 호출마다 새 워크북에 ROWS 행을 기록하며 결과는 행당 처리량으로 보고한다.
+ * SXSSF 윈도우를 벗어난 행의 임시 파일 flush 비용이 포함된다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@OperationsPerInvocation(SheetWriterBenchmark.ROWS)
+public class SheetWriterBenchmark {
+
+    static final int ROWS = 10_000;
+
+    @Param({"NARROW", "WIDE", "TEXT"})
+    public BenchmarkRows shape;
+
+    private ExcelExportOptions options;
+
+    @Setup
+    public void setUp() {
+        options = ExcelExportOptions.builder().build();
+    }
+
+    @Benchmark
+    public long setBodyCellValue() throws Exception {
+        ExportMetricsRecorder recorder = new ExportMetricsRecorder(shape.type(), options);
+        SXSSFWorkbook workbook = new ExcelWorkbook(options, recorder);
+        try {
+            return new SheetWriter<>(workbook, new CellStyleRegistry(workbook), ExcelSchemaCache.get(shape.type()), Locale.KOREA, options, recorder)
+                    .write(shape.iterator(ROWS), ROWS, "benchmark");
+        } finally {
+            workbook.close();
+            workbook.dispose();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package net.youyoung.excel;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * ExcelExportCache 에 저장된 엑셀 파일
+ *
+ * 메모리 또는 캐시 디렉터리의 파일에 기록되어 있으며 여러 번 읽을 수 있다.
+ * 파일에 기록된 항목은 캐시에서 제거될 때 삭제되므로 받은 뒤 바로 응답에 사용한다.
+ * 이미 연 InputStream 은 제거된 뒤에도 끝까지 읽을 수 있으며 파일은 마지막 스트림이 닫힐 때 삭제된다.
+ */
+public final class CachedExport extends AbstractResource {
+
+    private final byte[] content;
+
+    private final Path file;
+
+    private final long contentLength;
+
+    private final String eTag;
+
+    private final Instant createdAt;
+
+    private final Instant expiresAt;
+
+    /**
+     * 열려 있는 파일 스트림 수, this 잠금 안에서만 변경
+     */
+    private int openStreams;
+
+    /**
+     * 캐시에서 제거되어 파일을 삭제해야 하는지 여부
+     */
+    private boolean deleted;
+
+    private CachedExport(byte[] content, Path file, long contentLength, String eTag, Instant createdAt, Instant expiresAt) {
+        this.content = content;
+        this.file = file;
+        this.contentLength = contentLength;
+        this.eTag = eTag;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    static CachedExport ofMemory(byte[] content, String eTag, Instant createdAt, Instant expiresAt) {
+        return new CachedExport(content, null, content.length, eTag, createdAt, expiresAt);
+    }
+
+    static CachedExport ofFile(Path file, long contentLength, String eTag, Instant createdAt, Instant expiresAt) {
+        return new CachedExport(null, file, contentLength, eTag, createdAt, expiresAt);
+    }
+
+    /**
+     * 내용의 SHA-256 으로 만든 강한 ETag (따옴표 포함)
+     */
+    public String eTag() {
+        return eTag;
+    }
+
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    public Instant expiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return 캐시 디렉터리 파일에 기록되었으면 true
+     */
+    public boolean isFileBacked() {
+        return file != null;
+    }
+
+    /**
+     * If-None-Match 요청 헤더와 일치하면 true (304 응답 가능)
+     *
+     * @param ifNoneMatch If-None-Match 헤더 값, 없으면 null
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank())
+            return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*"))
+                return true;
+            if (tag.startsWith("W/"))
+                tag = tag.substring(2);
+            if (tag.equals(eTag))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean exists() {
+        if (!isFileBacked())
+            return true;
+        synchronized (this) {
+            return !deleted && Files.exists(file);
+        }
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public long lastModified() {
+        return createdAt.toEpochMilli();
+    }
+
+    @Override
+    public String getDescription() {
+        return isFileBacked() ? "Cached excel export [" + file + "]" : "Cached excel export [memory]";
+    }
+
+    /**
+     * @throws FileNotFoundException 캐시에서 제거된 파일 항목
+     */
+    @Override
+    public InputStream getInputStream() throws IOException {
+        if (!isFileBacked())
+            return new ByteArrayInputStream(content);
+
+        synchronized (this) {
+            if (deleted)
+                throw new FileNotFoundException("cached export was evicted : " + file);
+            InputStream inputStream = Files.newInputStream(file);
+            openStreams++;
+            return new FilterInputStream(inputStream) {
+
+                private boolean closed;
+
+                @Override
+                public void close() throws IOException {
+                    if (closed)
+                        return;
+                    closed = true;
+                    try {
+                        super.close();
+                    } finally {
+                        release();
+                    }
+                }
+            };
+        }
+    }
+
+    boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    /**
+     * 메모리에 기록된 내용, 파일 항목은 null
+     */
+    byte[] content() {
+        return content;
+    }
+
+    /**
+     * 같은 내용을 file 에 기록한 항목
+     */
+    CachedExport spilled(Path file) {
+        return ofFile(file, contentLength, eTag, createdAt, expiresAt);
+    }
+
+    /**
+     * 캐시에서 제거된 항목의 파일 삭제, 읽는 중이면 마지막 스트림이 닫힐 때 삭제
+     */
+    void delete() {
+        if (!isFileBacked())
+            return;
+        synchronized (this) {
+            deleted = true;
+            if (openStreams > 0)
+                return;
+        }
+        deleteFile();
+    }
+
+    private void release() {
+        synchronized (this) {
+            if (--openStreams > 0 || !deleted)
+                return;
+        }
+        deleteFile();
+    }
+
+    private void deleteFile() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // 삭제하지 못한 파일은 캐시 디렉터리에 남는다
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.style.CellStyleStrategy;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 워크북 단위 CellStyle 저장소
+ *
+ * (CellStyleStrategy 클래스, format) 조합마다 CellStyle 을 한번만 생성하고 데이터 포맷도 생성 시점에 지정한다.
+ * 같은 스타일을 쓰는 컬럼은 하나의 CellStyle 을 공유하므로 워크북 스타일 개수 제한(64,000)에 걸리지 않는다.
+ * 반환된 CellStyle 은 공유되므로 수정하지 않아야 한다.
+ */
+final class CellStyleRegistry {
+
+    private final SXSSFWorkbook workbook;
+
+    private final DataFormat dataFormat;
+
+    private final Map<StyleKey, CellStyle> styles = new HashMap<>();
+
+    CellStyleRegistry(SXSSFWorkbook workbook) {
+        this.workbook = workbook;
+        this.dataFormat = workbook.createDataFormat();
+    }
+
+    CellStyle get(CellStyleStrategy strategy) {
+        return get(strategy, "");
+    }
+
+    /**
+     * format 이 빈 문자열이면 strategy 가 지정한 데이터 포맷을 그대로 사용
+     */
+    CellStyle get(CellStyleStrategy strategy, String format) {
+        return styles.computeIfAbsent(new StyleKey(strategy.getClass(), format), key -> {
+            CellStyle cellStyle = strategy.getCellStyle(workbook);
+            if (!format.isEmpty())
+                cellStyle.setDataFormat(dataFormat.getFormat(format));
+            return cellStyle;
+        });
+    }
+
+    /**
+     * 생성된 CellStyle 수
+     */
+    int size() {
+        return styles.size();
+    }
+
+    private record StyleKey(Class<? extends CellStyleStrategy> strategyClass, String format) {}
+}
@@ -0,0 +1,87 @@
+package net.youyoung.excel;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.LocaleUtil;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * 셀 값 변환 공통 규칙
+ *
+ * 엑셀 날짜 숫자 : 이 라이브러리가 만드는 워크북은 항상 1900 날짜 체계이므로 워크북 설정(isDate1904)을 조회하지 않고 직접 계산한다.
+ *                1900-03-01 이전 날짜는 엑셀의 1900 윤년 처리 때문에 POI 계산을 그대로 사용한다.
+ * 큰 수        : 엑셀 숫자는 double (유효숫자 15자리) 이므로 그보다 긴 BigDecimal, BigInteger 는 값 손실 없이 문자열로 기록한다.
+ */
+final class CellValues {
+
+    private static final long EXCEL_EPOCH_DAY = LocalDate.of(1899, 12, 30).toEpochDay();
+
+    private static final long FIRST_DIRECT_EPOCH_DAY = LocalDate.of(1900, 3, 1).toEpochDay();
+
+    private static final double DAY_MILLISECONDS = 24 * 60 * 60 * 1000;
+
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    private CellValues() {}
+
+    /**
+     * DateUtil.getExcelDate 와 같은 값 (밀리초 미만은 버림)
+     */
+    static double excelDate(LocalDateTime dateTime) {
+        long epochDay = dateTime.toLocalDate().toEpochDay();
+        if (epochDay < FIRST_DIRECT_EPOCH_DAY)
+            return DateUtil.getExcelDate(dateTime);
+        // POI 와 같은 순서로 더해 마지막 자리까지 같은 값 (1899-12-31 기준 일수 + 시간 비율 + 1900-02-29 보정)
+        double fraction = (dateTime.toLocalTime().toNanoOfDay() / 1_000_000) / DAY_MILLISECONDS;
+        return (fraction + (epochDay - EXCEL_EPOCH_DAY - 1)) + 1;
+    }
+
+    static double excelDate(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        if (epochDay < FIRST_DIRECT_EPOCH_DAY)
+            return DateUtil.getExcelDate(date);
+        return epochDay - EXCEL_EPOCH_DAY;
+    }
+
+    /**
+     * POI 와 같이 LocaleUtil 사용자 TimeZone 기준 (java.sql.Date, Timestamp 포함)
+     */
+    static double excelDate(Date date) {
+        return excelDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(date.getTime()), LocaleUtil.getUserTimeZone().toZoneId()));
+    }
+
+    /**
+     * @return double 로 변환해도 엑셀에서 값이 바뀌지 않으면 true
+     */
+    static boolean isExactDouble(BigDecimal value) {
+        return value.precision() <= MAX_EXACT_DIGITS || value.stripTrailingZeros().precision() <= MAX_EXACT_DIGITS;
+    }
+
+    static boolean isExactDouble(BigInteger value) {
+        // 2^49 미만은 15자리 이하
+        return value.bitLength() < 50 || isExactDouble(new BigDecimal(value));
+    }
+
+    /**
+     * BigDecimal, BigInteger 가 아니거나 정확히 표현되는 숫자면 true
+     */
+    static boolean isExactDouble(Number value) {
+        if (value instanceof BigDecimal bigDecimal)
+            return isExactDouble(bigDecimal);
+        if (value instanceof BigInteger bigInteger)
+            return isExactDouble(bigInteger);
+        return true;
+    }
+
+    /**
+     * 문자열로 기록할 때 사용할 값 (지수 표기 없음)
+     */
+    static String plainText(Number value) {
+        return value instanceof BigDecimal bigDecimal ? bigDecimal.toPlainString() : value.toString();
+    }
+}
@@ -0,0 +1,272 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.accessor.ColumnAccessor;
+import net.youyoung.excel.annotation.ExcelAggregate;
+import net.youyoung.excel.annotation.ExcelFieldInfo;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * @ExcelColumn(aggregate) 요약 행 집계
+ *
+ * Body 를 기록하는 루프에서 행마다 accept() 를 호출해 primitive 배열에 누적하므로
+ * 목록을 다시 순회하거나 엑셀 수식을 계산하지 않고 요약 행을 기록할 수 있다.
+ * 정수 값은 long 으로 누적하다가 범위를 넘거나 소수 값이 들어오면 double 로 전환한다.
+ * 날짜는 엑셀 날짜 숫자로 비교하므로 요약 셀에 Body 서식을 그대로 적용하면 날짜로 표시된다.
+ */
+final class ColumnAggregates {
+
+    private final ExcelAggregate[] aggregates;
+
+    private final ColumnAccessor[] accessors;
+
+    /**
+     * 집계할 컬럼 번호
+     */
+    private final int[] cells;
+
+    private final long[] counts;
+
+    private final boolean[] integral;
+
+    private final long[] longValues;
+
+    private final double[] doubleValues;
+
+    private final HyperLogLog[] distinct;
+
+    private ColumnAggregates(ExcelAggregate[] aggregates, ColumnAccessor[] accessors) {
+        this.aggregates = aggregates;
+        this.accessors = accessors;
+        this.cells = IntStream.range(0, aggregates.length).filter(i -> aggregates[i] != ExcelAggregate.NONE).toArray();
+        this.counts = new long[aggregates.length];
+        this.integral = new boolean[aggregates.length];
+        this.longValues = new long[aggregates.length];
+        this.doubleValues = new double[aggregates.length];
+        this.distinct = new HyperLogLog[aggregates.length];
+        for (int cellNo : cells) {
+            integral[cellNo] = true;
+            if (aggregates[cellNo] == ExcelAggregate.COUNT_DISTINCT)
+                distinct[cellNo] = new HyperLogLog();
+        }
+    }
+
+    /**
+     * @return 집계 컬럼이 없으면 null
+     */
+    static ColumnAggregates of(ExcelSchema<?> schema) {
+        ExcelAggregate[] aggregates = schema.aggregates();
+        return aggregates == null ? null : new ColumnAggregates(aggregates, schema.accessors().toArray(ColumnAccessor[]::new));
+    }
+
+    /**
+     * 컬럼 순서의 집계 방식, 선언 타입에 맞지 않는 집계는 IllegalArgumentException
+     *
+     * @return 집계 컬럼이 없으면 null
+     */
+    static ExcelAggregate[] aggregates(Map<String, ExcelFieldInfo> fieldInfoMap, List<ColumnAccessor> accessors) {
+        ExcelAggregate[] aggregates = new ExcelAggregate[accessors.size()];
+        boolean found = false;
+        Iterator<Map.Entry<String, ExcelFieldInfo>> entries = fieldInfoMap.entrySet().iterator();
+        for (int i = 0; i < aggregates.length; i++) {
+            Map.Entry<String, ExcelFieldInfo> entry = entries.next();
+            ExcelAggregate aggregate = entry.getValue().aggregate();
+            Class<?> type = accessors.get(i).type();
+            boolean allowed = switch (aggregate) {
+                case NONE, COUNT, COUNT_DISTINCT -> true;
+                case SUM, AVG -> type == Object.class || isNumber(type);
+                case MIN, MAX -> type == Object.class || isNumber(type) || isDate(type);
+            };
+            if (!allowed)
+                throw new IllegalArgumentException("aggregate " + aggregate + " is not supported for " + type.getName() + " : " + entry.getKey());
+            aggregates[i] = aggregate;
+            found |= aggregate != ExcelAggregate.NONE;
+        }
+        return found ? aggregates : null;
+    }
+
+    /**
+     * 같은 컬럼 구성의 빈 집계 (병렬 변환 배치별 부분 집계)
+     */
+    ColumnAggregates newPartial() {
+        return new ColumnAggregates(aggregates, accessors);
+    }
+
+    /**
+     * 한 행의 집계 컬럼 값을 누적
+     */
+    void accept(Object row) {
+        for (int cellNo : cells) {
+            ColumnAccessor accessor = accessors[cellNo];
+            switch (accessor.kind()) {
+                case INT -> accept(cellNo, accessor.getInt(row));
+                case LONG -> accept(cellNo, accessor.getLong(row));
+                case DOUBLE -> accept(cellNo, accessor.getDouble(row));
+                case OBJECT -> acceptValue(cellNo, accessor.get(row));
+            }
+        }
+    }
+
+    /**
+     * 부분 집계 병합
+     */
+    void merge(ColumnAggregates other) {
+        for (int cellNo : cells) {
+            long count = other.counts[cellNo];
+            if (count == 0)
+                continue;
+
+            switch (aggregates[cellNo]) {
+                case COUNT -> counts[cellNo] += count;
+                case COUNT_DISTINCT -> {
+                    distinct[cellNo].merge(other.distinct[cellNo]);
+                    counts[cellNo] += count;
+                }
+                default -> {
+                    // 부분 합계, 최소, 최대값을 값 하나처럼 누적한 뒤 건수만 보정
+                    if (other.integral[cellNo])
+                        accept(cellNo, other.longValues[cellNo]);
+                    else
+                        accept(cellNo, other.doubleValues[cellNo]);
+                    counts[cellNo] += count - 1;
+                }
+            }
+        }
+    }
+
+    ExcelAggregate aggregate(int cellNo) {
+        return aggregates[cellNo];
+    }
+
+    /**
+     * 요약 셀 값 (Long 또는 Double)
+     *
+     * @return 집계하지 않는 컬럼이거나 값이 없어 AVG, MIN, MAX 를 구할 수 없으면 null
+     */
+    Object value(int cellNo) {
+        long count = counts[cellNo];
+        return switch (aggregates[cellNo]) {
+            case NONE -> null;
+            case COUNT -> count;
+            case COUNT_DISTINCT -> Math.min(distinct[cellNo].estimate(), count);
+            case SUM -> integral[cellNo] ? (Object) longValues[cellNo] : (Object) doubleValues[cellNo];
+            case AVG -> count == 0 ? null : (integral[cellNo] ? (double) longValues[cellNo] : doubleValues[cellNo]) / count;
+            case MIN, MAX -> count == 0 ? null : integral[cellNo] ? (Object) longValues[cellNo] : (Object) doubleValues[cellNo];
+        };
+    }
+
+    /**
+     * 요약 셀에 컬럼 Body 서식을 적용할지 여부 (건수는 서식 없이 기록)
+     */
+    boolean usesBodyStyle(int cellNo) {
+        ExcelAggregate aggregate = aggregates[cellNo];
+        return aggregate != ExcelAggregate.COUNT && aggregate != ExcelAggregate.COUNT_DISTINCT;
+    }
+
+    private void acceptValue(int cellNo, Object value) {
+        if (value == null)
+            return;
+
+        switch (aggregates[cellNo]) {
+            case COUNT -> counts[cellNo]++;
+            case COUNT_DISTINCT -> {
+                distinct[cellNo].add(HyperLogLog.hash(value.hashCode()));
+                counts[cellNo]++;
+            }
+            default -> {
+                if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)
+                    accept(cellNo, ((Number) value).longValue());
+                else if (value instanceof BigInteger bigInteger && bigInteger.bitLength() < 64)
+                    accept(cellNo, bigInteger.longValue());
+                else if (value instanceof Number number)
+                    accept(cellNo, number.doubleValue());
+                else if (value instanceof LocalDateTime localDateTime)
+                    accept(cellNo, CellValues.excelDate(localDateTime));
+                else if (value instanceof LocalDate localDate)
+                    accept(cellNo, CellValues.excelDate(localDate));
+                else if (value instanceof Date date)
+                    accept(cellNo, CellValues.excelDate(date));
+                // 선언 타입이 Object 인 컬럼의 숫자, 날짜가 아닌 값은 집계하지 않음
+            }
+        }
+    }
+
+    private void accept(int cellNo, long value) {
+        switch (aggregates[cellNo]) {
+            case COUNT -> {
+                counts[cellNo]++;
+                return;
+            }
+            case COUNT_DISTINCT -> {
+                distinct[cellNo].add(HyperLogLog.hash(value));
+                counts[cellNo]++;
+                return;
+            }
+        }
+        if (!integral[cellNo]) {
+            accept(cellNo, (double) value);
+            return;
+        }
+
+        long count = counts[cellNo]++;
+        long current = longValues[cellNo];
+        switch (aggregates[cellNo]) {
+            case SUM, AVG -> {
+                long sum = current + value;
+                // 부호가 같은 두 값의 합의 부호가 바뀌면 long 범위 초과
+                if (((current ^ sum) & (value ^ sum)) < 0) {
+                    integral[cellNo] = false;
+                    doubleValues[cellNo] = (double) current + value;
+                }
+                else {
+                    longValues[cellNo] = sum;
+                }
+            }
+            case MIN -> longValues[cellNo] = count == 0 ? value : Math.min(current, value);
+            case MAX -> longValues[cellNo] = count == 0 ? value : Math.max(current, value);
+        }
+    }
+
+    private void accept(int cellNo, double value) {
+        switch (aggregates[cellNo]) {
+            case COUNT -> {
+                counts[cellNo]++;
+                return;
+            }
+            case COUNT_DISTINCT -> {
+                distinct[cellNo].add(HyperLogLog.hash(Double.doubleToLongBits(value)));
+                counts[cellNo]++;
+                return;
+            }
+        }
+        if (integral[cellNo]) {
+            integral[cellNo] = false;
+            doubleValues[cellNo] = longValues[cellNo];
+        }
+
+        long count = counts[cellNo]++;
+        double current = doubleValues[cellNo];
+        switch (aggregates[cellNo]) {
+            case SUM, AVG -> doubleValues[cellNo] = current + value;
+            case MIN -> doubleValues[cellNo] = count == 0 ? value : Math.min(current, value);
+            case MAX -> doubleValues[cellNo] = count == 0 ? value : Math.max(current, value);
+        }
+    }
+
+    private static boolean isNumber(Class<?> type) {
+        return Number.class.isAssignableFrom(type)
+                || type == int.class || type == long.class || type == double.class
+                || type == float.class || type == short.class || type == byte.class;
+    }
+
+    private static boolean isDate(Class<?> type) {
+        return type == LocalDate.class || type == LocalDateTime.class || Date.class.isAssignableFrom(type);
+    }
+}
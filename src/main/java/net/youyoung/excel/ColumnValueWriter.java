@@ -0,0 +1,192 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.accessor.ColumnAccessor;
+import net.youyoung.excel.annotation.ExcelFieldInfo;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * POI 셀 객체를 쓰지 않는 경로(ExcelEngine.DIRECT, ParallelRowRenderer) 의 컬럼별 값 기록
+ *
+ * RowWriterPlan 과 같이 선언 타입으로 기록 방식을 스키마 생성 시 한번만 결정하고,
+ * 결과는 엔진마다 다른 Target (XML 셀, 변환 배치) 에 숫자, 문자열, Boolean 으로 전달한다.
+ * 타입을 특정할 수 없는 필드(Object, Number, 인터페이스 등)만 값마다 writeValue 로 판별한다.
+ */
+@FunctionalInterface
+interface ColumnValueWriter {
+
+    void write(Object row, int cellNo, Target target) throws IOException;
+
+    /**
+     * 컬럼 순서의 writer
+     */
+    static ColumnValueWriter[] compile(ExcelSchema<?> schema) {
+        List<ColumnAccessor> accessors = schema.accessors();
+        ColumnValueWriter[] writers = new ColumnValueWriter[accessors.size()];
+
+        int column = 0;
+        for (ExcelFieldInfo fieldInfo : schema.fieldInfoMap().values()) {
+            writers[column] = of(accessors.get(column), fieldInfo.columnDefault());
+            column++;
+        }
+        return writers;
+    }
+
+    static ColumnValueWriter of(ColumnAccessor accessor, String columnDefault) {
+        return switch (accessor.kind()) {
+            case INT -> (row, cellNo, target) -> target.longValue(cellNo, accessor.getInt(row));
+            case LONG -> (row, cellNo, target) -> target.longValue(cellNo, accessor.getLong(row));
+            case DOUBLE -> (row, cellNo, target) -> target.doubleValue(cellNo, accessor.getDouble(row));
+            case OBJECT -> objectValueWriter(accessor, columnDefault);
+        };
+    }
+
+    private static ColumnValueWriter objectValueWriter(ColumnAccessor accessor, String columnDefault) {
+        Class<?> type = accessor.type();
+
+        if (type == String.class) {
+            return (row, cellNo, target) -> {
+                Object value = accessor.get(row);
+                target.stringValue(cellNo, value == null ? columnDefault : (String) value);
+            };
+        }
+        if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) {
+            return (row, cellNo, target) -> {
+                Object value = accessor.get(row);
+                if (value == null)
+                    target.stringValue(cellNo, columnDefault);
+                else
+                    target.longValue(cellNo, ((Number) value).longValue());
+            };
+        }
+        if (type == Double.class || type == Float.class) {
+            return (row, cellNo, target) -> {
+                Object value = accessor.get(row);
+                if (value == null)
+                    target.stringValue(cellNo, columnDefault);
+                else
+                    target.doubleValue(cellNo, ((Number) value).doubleValue());
+            };
+        }
+        if (type == BigDecimal.class) {
+            return (row, cellNo, target) -> {
+                BigDecimal value = (BigDecimal) accessor.get(row);
+                if (value == null)
+                    target.stringValue(cellNo, columnDefault);
+                else if (CellValues.isExactDouble(value))
+                    target.doubleValue(cellNo, value.doubleValue());
+                else
+                    target.stringValue(cellNo, value.toPlainString());
+            };
+        }
+        if (type == BigInteger.class) {
+            return (row, cellNo, target) -> {
+                BigInteger value = (BigInteger) accessor.get(row);
+                if (value == null)
+                    target.stringValue(cellNo, columnDefault);
+                else if (CellValues.isExactDouble(value))
+                    target.doubleValue(cellNo, value.doubleValue());
+                else
+                    target.stringValue(cellNo, value.toString());
+            };
+        }
+        if (type == LocalDate.class) {
+            return (row, cellNo, target) -> {
+                Object value = accessor.get(row);
+                if (value == null)
+                    target.stringValue(cellNo, columnDefault);
+                else
+                    target.doubleValue(cellNo, CellValues.excelDate((LocalDate) value));
+            };
+        }
+        if (type == LocalDateTime.class) {
+            return (row, cellNo, target) -> {
+                Object value = accessor.get(row);
+                if (value == null)
+                    target.stringValue(cellNo, columnDefault);
+                else
+                    target.doubleValue(cellNo, CellValues.excelDate((LocalDateTime) value));
+            };
+        }
+        if (Date.class.isAssignableFrom(type)) {
+            return (row, cellNo, target) -> {
+                Object value = accessor.get(row);
+                if (value == null)
+                    target.stringValue(cellNo, columnDefault);
+                else
+                    target.doubleValue(cellNo, CellValues.excelDate((Date) value));
+            };
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return (row, cellNo, target) -> {
+                Object value = accessor.get(row);
+                if (value == null)
+                    target.stringValue(cellNo, columnDefault);
+                else
+                    target.booleanValue(cellNo, (Boolean) value);
+            };
+        }
+        if (type.isEnum()) {
+            // 상수별 toString() 을 미리 계산
+            Object[] constants = type.getEnumConstants();
+            String[] labels = new String[constants.length];
+            for (int i = 0; i < constants.length; i++)
+                labels[i] = constants[i].toString();
+            return (row, cellNo, target) -> {
+                Object value = accessor.get(row);
+                target.stringValue(cellNo, value == null ? columnDefault : labels[((Enum<?>) value).ordinal()]);
+            };
+        }
+        return (row, cellNo, target) -> writeValue(accessor.get(row), columnDefault, cellNo, target);
+    }
+
+    /**
+     * ExcelUtils.setCellValue 와 같은 규칙으로 값마다 판별 (정수 타입은 longValue)
+     */
+    static void writeValue(Object cellValue, String defaultValue, int cellNo, Target target) throws IOException {
+        if (cellValue instanceof Integer || cellValue instanceof Long || cellValue instanceof Short || cellValue instanceof Byte) {
+            target.longValue(cellNo, ((Number) cellValue).longValue());
+        }
+        else if (cellValue instanceof Number number) {
+            if (CellValues.isExactDouble(number))
+                target.doubleValue(cellNo, number.doubleValue());
+            else
+                target.stringValue(cellNo, CellValues.plainText(number));
+        }
+        else if (cellValue instanceof LocalDateTime localDateTime) {
+            target.doubleValue(cellNo, CellValues.excelDate(localDateTime));
+        }
+        else if (cellValue instanceof LocalDate localDate) {
+            target.doubleValue(cellNo, CellValues.excelDate(localDate));
+        }
+        else if (cellValue instanceof Date date) {
+            target.doubleValue(cellNo, CellValues.excelDate(date));
+        }
+        else if (cellValue instanceof Boolean aBoolean) {
+            target.booleanValue(cellNo, aBoolean);
+        }
+        else {
+            target.stringValue(cellNo, cellValue == null ? defaultValue : cellValue.toString());
+        }
+    }
+
+    /**
+     * 엔진별 셀 기록 대상
+     */
+    interface Target {
+
+        void longValue(int cellNo, long value) throws IOException;
+
+        void doubleValue(int cellNo, double value) throws IOException;
+
+        void stringValue(int cellNo, String value) throws IOException;
+
+        void booleanValue(int cellNo, boolean value) throws IOException;
+    }
+}
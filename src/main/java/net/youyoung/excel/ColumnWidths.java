@@ -0,0 +1,181 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.accessor.ColumnAccessor;
+import net.youyoung.excel.annotation.ExcelFieldInfo;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormatter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 내보내기 한번에 사용할 컬럼 너비 (1/256 글자 단위)
+ *
+ * 너비는 시트를 만들 때 한번만 지정한다.
+ * autoWidth 컬럼은 헤더와 앞쪽 최대 SAMPLE_ROWS 행의 표시 문자열 길이로 너비를 추정한다.
+ * 추정에 사용한 행은 sample() 이 돌려주는 Iterator 로 같은 순서로 다시 기록되며, 시트 전체를 다시 읽지 않는다.
+ */
+final class ColumnWidths {
+
+    static final int SAMPLE_ROWS = 100;
+
+    private static final int MAX_WIDTH = 255 * 256;
+
+    private static final int PADDING = 2;
+
+    private final ExcelFieldInfo[] fieldInfos;
+
+    private final ColumnAccessor[] accessors;
+
+    private final short[] dataFormats;
+
+    private final String[] dataFormatStrings;
+
+    private final int[] widths;
+
+    private final int[] maxLengths;
+
+    private final boolean autoWidth;
+
+    private DataFormatter dataFormatter;
+
+    /**
+     * @param bodyStyles 컬럼별 Body CellStyle (표시 문자열 계산에 데이터 포맷 사용)
+     */
+    ColumnWidths(ExcelSchema<?> schema, ExcelHeaders headers, CellStyle[] bodyStyles) {
+        this.fieldInfos = schema.fieldInfoMap().values().toArray(ExcelFieldInfo[]::new);
+        this.accessors = schema.accessors().toArray(ColumnAccessor[]::new);
+        this.dataFormats = new short[fieldInfos.length];
+        this.dataFormatStrings = new String[fieldInfos.length];
+        this.widths = new int[fieldInfos.length];
+        this.maxLengths = new int[fieldInfos.length];
+
+        boolean autoWidth = false;
+        for (int i = 0; i < fieldInfos.length; i++) {
+            widths[i] = fieldInfos[i].width();
+            dataFormats[i] = bodyStyles[i].getDataFormat();
+            dataFormatStrings[i] = bodyStyles[i].getDataFormatString();
+            if (fieldInfos[i].autoWidth()) {
+                autoWidth = true;
+                maxLengths[i] = displayLength(headers.header(i));
+            }
+        }
+        this.autoWidth = autoWidth;
+    }
+
+    /**
+     * autoWidth 컬럼이 있으면 앞쪽 행을 읽어 너비를 추정하고, 읽은 행부터 다시 돌려주는 Iterator 반환
+     */
+    <R> Iterator<R> sample(Iterator<R> rows) {
+        if (!autoWidth) return rows;
+
+        dataFormatter = new DataFormatter(Locale.ROOT);
+        List<R> sampleRows = new ArrayList<>(SAMPLE_ROWS);
+        while (sampleRows.size() < SAMPLE_ROWS && rows.hasNext()) {
+            R row = rows.next();
+            measure(row);
+            sampleRows.add(row);
+        }
+
+        for (int i = 0; i < fieldInfos.length; i++) {
+            if (fieldInfos[i].autoWidth())
+                widths[i] = Math.min(MAX_WIDTH, (maxLengths[i] + PADDING) * 256);
+        }
+
+        Iterator<R> head = sampleRows.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return head.hasNext() || rows.hasNext();
+            }
+
+            @Override
+            public R next() {
+                return head.hasNext() ? head.next() : rows.next();
+            }
+        };
+    }
+
+    int width(int cellNo) {
+        return widths[cellNo];
+    }
+
+    private void measure(Object row) {
+        for (int i = 0; i < accessors.length; i++) {
+            if (!fieldInfos[i].autoWidth()) continue;
+
+            ColumnAccessor accessor = accessors[i];
+            String text = switch (accessor.kind()) {
+                case INT -> number(i, accessor.getInt(row));
+                case LONG -> number(i, accessor.getLong(row));
+                case DOUBLE -> number(i, accessor.getDouble(row));
+                case OBJECT -> text(i, accessor.get(row));
+            };
+            maxLengths[i] = Math.max(maxLengths[i], displayLength(text));
+        }
+    }
+
+    /**
+     * 셀에 표시될 문자열 (ExcelUtils.setCellValue 와 같은 타입 규칙)
+     */
+    private String text(int cellNo, Object value) {
+        if (value == null)
+            return fieldInfos[cellNo].columnDefault();
+        if (value instanceof BigDecimal || value instanceof BigInteger) {
+            Number number = (Number) value;
+            return CellValues.isExactDouble(number) ? number(cellNo, number.doubleValue()) : CellValues.plainText(number);
+        }
+        if (value instanceof Number number)
+            return number(cellNo, number.doubleValue());
+        if (value instanceof LocalDateTime localDateTime)
+            return number(cellNo, CellValues.excelDate(localDateTime));
+        if (value instanceof LocalDate localDate)
+            return number(cellNo, CellValues.excelDate(localDate));
+        if (value instanceof Date date)
+            return number(cellNo, CellValues.excelDate(date));
+        if (value instanceof Boolean aBoolean)
+            return aBoolean ? "TRUE" : "FALSE";
+        return value.toString();
+    }
+
+    private String number(int cellNo, double value) {
+        if (!Double.isFinite(value))
+            return "#NUM!";
+        return dataFormatter.formatRawCellContents(value, dataFormats[cellNo], dataFormatStrings[cellNo]);
+    }
+
+    /**
+     * 가장 긴 줄의 표시 길이, 한글 한자 등 전각 문자는 2 글자로 계산
+     */
+    private static int displayLength(String text) {
+        int max = 0;
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                max = Math.max(max, length);
+                length = 0;
+            } else {
+                length += isWide(c) ? 2 : 1;
+            }
+        }
+        return Math.max(max, length);
+    }
+
+    private static boolean isWide(char c) {
+        if (c < 0x1100) return false;
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || (c >= 0xFF01 && c <= 0xFF60);
+    }
+}
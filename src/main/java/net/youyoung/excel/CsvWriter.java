@@ -0,0 +1,403 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.accessor.ColumnAccessor;
+import net.youyoung.excel.annotation.ExcelFieldInfo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @ExcelColumn 스키마 기준 CSV 기록
+ *
+ * 헤더 한 행과 Body 만 기록한다. (@ExcelTitle 제목, 전체 건수 행과 시트당 최대 행 수는 적용하지 않음)
+ * 컬럼마다 선언 타입과 format 으로 기록 방식을 한번만 결정해두고 행 루프에서는 컬럼별 writer 만 호출한다.
+ * format 은 숫자 컬럼이면 숫자 패턴("#,##0.00" 등), 날짜 컬럼이면 엑셀 날짜 코드("yyyy-mm-dd" 등) 로 해석하며
+ * 날짜 코드로 변환할 수 없는 서식은 ISO 형식 (시간은 yyyy-MM-dd HH:mm:ss) 으로 기록한다.
+ * 한 행을 재사용하는 StringBuilder 에 조립한 뒤 64KB 버퍼로 기록하며 primitive 컬럼은 박싱 없이 읽는다.
+ */
+final class CsvWriter<T> {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final DateTimeFormatter DEFAULT_DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final DateTimeFormatter DEFAULT_DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private final ExcelFieldInfo[] fieldInfos;
+
+    private final TextValueWriter[] writers;
+
+    private final ExcelHeaders headers;
+
+    private final char delimiter;
+
+    private final boolean byteOrderMark;
+
+    private final boolean gzip;
+
+    private final StringBuilder line = new StringBuilder(256);
+
+    CsvWriter(ExcelSchema<T> schema, Locale locale, ExcelExportOptions options) {
+        this.fieldInfos = schema.fieldInfoMap().values().toArray(ExcelFieldInfo[]::new);
+        this.headers = schema.headers(locale);
+        this.delimiter = options.csvDelimiter();
+        this.byteOrderMark = options.csvByteOrderMark();
+        this.gzip = options.csvGzip();
+
+        ColumnAccessor[] accessors = schema.accessors().toArray(ColumnAccessor[]::new);
+        this.writers = new TextValueWriter[accessors.length];
+        for (int i = 0; i < accessors.length; i++)
+            writers[i] = textValueWriter(accessors[i], fieldInfos[i]);
+    }
+
+    /**
+     * CSV 기록 (outputStream 은 닫지 않음)
+     *
+     * @return 기록한 Body 행 수
+     */
+    long write(Iterator<? extends T> rows, OutputStream outputStream) throws IOException {
+        // Writer 를 닫지 않고 flush, finish 만 호출해 호출자의 outputStream 은 열린 상태로 둔다
+        GZIPOutputStream gzipOutputStream = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? gzipOutputStream : outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        // 엑셀에서 열었을 때 UTF-8 로 인식하도록 BOM 기록
+        if (byteOrderMark)
+            writer.write('\uFEFF');
+
+        writeHeader(writer);
+
+        long contentSize = 0;
+        while (rows.hasNext()) {
+            writeRow(writer, rows.next());
+            contentSize++;
+        }
+
+        writer.flush();
+        if (gzipOutputStream != null)
+            gzipOutputStream.finish();
+        return contentSize;
+    }
+
+    private void writeHeader(Writer writer) throws IOException {
+        line.setLength(0);
+        for (int cellNo = 0; cellNo < fieldInfos.length; cellNo++) {
+            if (cellNo > 0)
+                line.append(delimiter);
+            appendText(headers.header(cellNo));
+        }
+        line.append("\r\n");
+        writer.append(line);
+    }
+
+    private void writeRow(Writer writer, T row) throws IOException {
+        line.setLength(0);
+        for (int cellNo = 0; cellNo < writers.length; cellNo++) {
+            if (cellNo > 0)
+                line.append(delimiter);
+            writers[cellNo].append(row);
+        }
+        line.append("\r\n");
+        writer.append(line);
+    }
+
+    /**
+     * 선언 타입별 기록 방식, 타입을 특정할 수 없는 필드만 값마다 appendValue 로 판별
+     */
+    private TextValueWriter textValueWriter(ColumnAccessor accessor, ExcelFieldInfo fieldInfo) {
+        String columnDefault = fieldInfo.columnDefault();
+        NumberFormatter number = numberFormatter(fieldInfo.format());
+        DateTimeFormatter dateTimeFormat = ExcelDateFormats.dateTimeFormatter(fieldInfo.format());
+        DateTimeFormatter dateTime = dateTimeFormat != null ? dateTimeFormat : DEFAULT_DATE_TIME_FORMAT;
+        DateTimeFormatter dateFormat = ExcelDateFormats.dateFormatter(fieldInfo.format());
+        DateTimeFormatter date = dateFormat != null ? dateFormat : DEFAULT_DATE_FORMAT;
+
+        switch (accessor.kind()) {
+            case INT:
+                return number == null ? row -> line.append(accessor.getInt(row)) : row -> appendText(number.format(accessor.getInt(row)));
+            case LONG:
+                return number == null ? row -> line.append(accessor.getLong(row)) : row -> appendText(number.format(accessor.getLong(row)));
+            case DOUBLE:
+                return row -> appendDouble(accessor.getDouble(row), number);
+            default:
+                break;
+        }
+
+        Class<?> type = accessor.type();
+        if (type == String.class)
+            return row -> appendText(orDefault(accessor.get(row), columnDefault));
+        if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) {
+            return row -> {
+                Object value = accessor.get(row);
+                if (value == null)
+                    appendText(columnDefault);
+                else if (number == null)
+                    line.append(((Number) value).longValue());
+                else
+                    appendText(number.format(((Number) value).longValue()));
+            };
+        }
+        if (type == Double.class || type == Float.class) {
+            return row -> {
+                Object value = accessor.get(row);
+                if (value == null)
+                    appendText(columnDefault);
+                else
+                    appendDouble(((Number) value).doubleValue(), number);
+            };
+        }
+        if (type == BigDecimal.class) {
+            return row -> {
+                Object value = accessor.get(row);
+                if (value == null)
+                    appendText(columnDefault);
+                else
+                    appendDecimal((BigDecimal) value, number);
+            };
+        }
+        if (type == LocalDate.class) {
+            return row -> {
+                Object value = accessor.get(row);
+                appendText(value == null ? columnDefault : date.format((LocalDate) value));
+            };
+        }
+        if (type == LocalDateTime.class) {
+            return row -> {
+                Object value = accessor.get(row);
+                appendText(value == null ? columnDefault : dateTime.format((LocalDateTime) value));
+            };
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return row -> {
+                Object value = accessor.get(row);
+                if (value == null)
+                    appendText(columnDefault);
+                else
+                    line.append((Boolean) value ? "TRUE" : "FALSE");
+            };
+        }
+        if (type.isEnum()) {
+            // 상수별 toString() 을 미리 계산
+            Object[] constants = type.getEnumConstants();
+            String[] labels = new String[constants.length];
+            for (int i = 0; i < constants.length; i++)
+                labels[i] = constants[i].toString();
+            return row -> {
+                Object value = accessor.get(row);
+                appendText(value == null ? columnDefault : labels[((Enum<?>) value).ordinal()]);
+            };
+        }
+        return row -> appendValue(accessor.get(row), columnDefault, number, dateTime, date);
+    }
+
+    /**
+     * ExcelUtils.setCellValue 와 같은 순서로 타입 판별
+     */
+    private void appendValue(Object value, String columnDefault, NumberFormatter number, DateTimeFormatter dateTime, DateTimeFormatter date) {
+        if (value == null) {
+            appendText(columnDefault);
+        } else if (value instanceof BigDecimal bigDecimal) {
+            appendDecimal(bigDecimal, number);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            long longValue = ((Number) value).longValue();
+            if (number == null)
+                line.append(longValue);
+            else
+                appendText(number.format(longValue));
+        } else if (value instanceof Double || value instanceof Float) {
+            appendDouble(((Number) value).doubleValue(), number);
+        } else if (value instanceof Number numberValue) {
+            appendText(CellValues.plainText(numberValue));
+        } else if (value instanceof LocalDateTime localDateTime) {
+            appendText(dateTime.format(localDateTime));
+        } else if (value instanceof LocalDate localDate) {
+            appendText(date.format(localDate));
+        } else if (value instanceof Date dateValue) {
+            appendText(dateTime.format(LocalDateTime.ofInstant(dateValue.toInstant(), ZoneId.systemDefault())));
+        } else if (value instanceof Boolean aBoolean) {
+            line.append(aBoolean ? "TRUE" : "FALSE");
+        } else {
+            appendText(value.toString());
+        }
+    }
+
+    /**
+     * 정수 값은 소수점 없이, 그 외는 지수 표기 없이 기록
+     */
+    private void appendDouble(double value, NumberFormatter number) {
+        if (number != null && Double.isFinite(value))
+            appendText(number.format(value));
+        else if (value == Math.rint(value) && Math.abs(value) < 1e15)
+            line.append((long) value);
+        else if (!Double.isFinite(value) || (Math.abs(value) >= 1e-3 && Math.abs(value) < 1e7))
+            line.append(value);
+        else
+            line.append(BigDecimal.valueOf(value).stripTrailingZeros().toPlainString());
+    }
+
+    /**
+     * doubleValue() 를 거치지 않고 정밀도 그대로 기록
+     */
+    private void appendDecimal(BigDecimal value, NumberFormatter number) {
+        if (number == null)
+            line.append(value.toPlainString());
+        else
+            appendText(number.format(value));
+    }
+
+    /**
+     * 구분자, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두번 기록 (RFC 4180)
+     */
+    private void appendText(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == delimiter || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"')
+                line.append('"');
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private static String orDefault(Object value, String columnDefault) {
+        return value == null ? columnDefault : (String) value;
+    }
+
+    /**
+     * "#,##0", "0.00" 같은 단순 패턴은 GroupingFormatter, 그 외 숫자 패턴은 DecimalFormat
+     */
+    private static NumberFormatter numberFormatter(String format) {
+        if (format.indexOf('0') < 0 && format.indexOf('#') < 0)
+            return null;
+
+        NumberFormatter grouping = GroupingFormatter.parse(format);
+        if (grouping != null)
+            return grouping;
+        try {
+            DecimalFormat decimalFormat = new DecimalFormat(format, DecimalFormatSymbols.getInstance(Locale.ROOT));
+            return new NumberFormatter() {
+                @Override
+                public String format(long value) {
+                    return decimalFormat.format(value);
+                }
+
+                @Override
+                public String format(double value) {
+                    return decimalFormat.format(value);
+                }
+
+                @Override
+                public String format(BigDecimal value) {
+                    return decimalFormat.format(value);
+                }
+            };
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface TextValueWriter {
+        void append(Object row);
+    }
+
+    private interface NumberFormatter {
+        String format(long value);
+
+        String format(double value);
+
+        String format(BigDecimal value);
+    }
+
+    /**
+     * 천 단위 구분 여부와 고정 소수 자리수만 있는 패턴 ("#,##0", "#,##0.00", "0.000", "#,###")
+     * DecimalFormat 과 같은 결과 (HALF_EVEN 반올림) 를 더 적은 비용으로 만든다.
+     */
+    private static final class GroupingFormatter implements NumberFormatter {
+
+        private static final Pattern PATTERN = Pattern.compile("(#,##0|#,###|0|#)(?:\\.(0+))?");
+
+        private final boolean grouping;
+
+        private final int fractionDigits;
+
+        private GroupingFormatter(boolean grouping, int fractionDigits) {
+            this.grouping = grouping;
+            this.fractionDigits = fractionDigits;
+        }
+
+        static GroupingFormatter parse(String format) {
+            Matcher matcher = PATTERN.matcher(format);
+            if (!matcher.matches())
+                return null;
+            return new GroupingFormatter(matcher.group(1).contains(","), matcher.group(2) == null ? 0 : matcher.group(2).length());
+        }
+
+        @Override
+        public String format(long value) {
+            if (fractionDigits > 0)
+                return format(BigDecimal.valueOf(value));
+            return grouping ? group(Long.toString(value)) : Long.toString(value);
+        }
+
+        @Override
+        public String format(double value) {
+            return format(new BigDecimal(value));
+        }
+
+        @Override
+        public String format(BigDecimal value) {
+            String plain = value.setScale(fractionDigits, RoundingMode.HALF_EVEN).toPlainString();
+            return grouping ? group(plain) : plain;
+        }
+
+        /**
+         * 정수부에 천 단위 구분자 추가
+         */
+        private static String group(String plain) {
+            int start = plain.startsWith("-") ? 1 : 0;
+            int point = plain.indexOf('.');
+            int integerEnd = point < 0 ? plain.length() : point;
+            int integerDigits = integerEnd - start;
+            if (integerDigits <= 3)
+                return plain;
+
+            StringBuilder builder = new StringBuilder(plain.length() + integerDigits / 3);
+            builder.append(plain, 0, start);
+            for (int i = start; i < integerEnd; i++) {
+                if (i > start && (integerEnd - i) % 3 == 0)
+                    builder.append(',');
+                builder.append(plain.charAt(i));
+            }
+            builder.append(plain, integerEnd, plain.length());
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package net.youyoung.excel;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 엑셀 셀 서식의 날짜 코드를 java.time 패턴으로 변환 (CSV 기록, 문자열 날짜 셀 읽기)
+ *
+ * 엑셀 코드는 대소문자를 구분하지 않으며 m, mm 은 h 다음이나 s 앞에 있으면 분, 그 외에는 월이다.
+ * 첫번째 구역 (; 앞) 만 사용하고 "..." 와 \ 다음 문자는 그대로 출력, [색상], [$-412] 는 무시한다.
+ * 숫자 서식, 경과 시간 ([h]) 처럼 변환할 수 없는 서식은 null 을 반환하므로 호출하는 쪽에서 ISO 형식을 사용한다.
+ * 월 이름과 AM/PM 은 엑셀 기본 표시와 같이 영문이다.
+ */
+final class ExcelDateFormats {
+
+    private static final char LITERAL = '\'';
+
+    private static final char AM_PM = 'a';
+
+    private static final char FRACTION = 'S';
+
+    private ExcelDateFormats() {}
+
+    /**
+     * LocalDateTime, Date 용
+     *
+     * @return 날짜 서식이 아니거나 변환할 수 없으면 null
+     */
+    static DateTimeFormatter dateTimeFormatter(String format) {
+        List<Token> tokens = tokens(format);
+        return tokens == null ? null : DateTimeFormatter.ofPattern(pattern(tokens), Locale.ENGLISH);
+    }
+
+    /**
+     * LocalDate 용, 시간 코드가 있는 서식은 null
+     */
+    static DateTimeFormatter dateFormatter(String format) {
+        List<Token> tokens = tokens(format);
+        if (tokens == null)
+            return null;
+        for (int i = 0; i < tokens.size(); i++) {
+            char kind = tokens.get(i).kind();
+            if (kind == 'h' || kind == 's' || kind == FRACTION || kind == AM_PM || (kind == 'm' && isMinute(tokens, i)))
+                return null;
+        }
+        return DateTimeFormatter.ofPattern(pattern(tokens), Locale.ENGLISH);
+    }
+
+    /**
+     * @return 날짜, 시간 코드가 없거나 변환할 수 없는 코드가 있으면 null
+     */
+    private static List<Token> tokens(String format) {
+        List<Token> tokens = new ArrayList<>();
+        boolean dateCode = false;
+        int i = 0;
+        while (i < format.length()) {
+            char c = format.charAt(i);
+            if (c == ';')
+                break;
+
+            if (c == '"') {
+                int end = format.indexOf('"', i + 1);
+                if (end < 0)
+                    return null;
+                tokens.add(new Token(LITERAL, 0, format.substring(i + 1, end)));
+                i = end + 1;
+            }
+            else if (c == '\\' || c == '_') {
+                // \x 는 x, _x 는 x 너비의 공백
+                if (i + 1 < format.length())
+                    tokens.add(new Token(LITERAL, 0, c == '\\' ? String.valueOf(format.charAt(i + 1)) : " "));
+                i += 2;
+            }
+            else if (c == '*') {
+                i += 2;
+            }
+            else if (c == '[') {
+                int end = format.indexOf(']', i);
+                if (end < 0 || format.substring(i + 1, end).toLowerCase(Locale.ROOT).matches("h+|m+|s+"))
+                    return null;
+                i = end + 1;
+            }
+            else if (format.regionMatches(true, i, "AM/PM", 0, 5) || format.regionMatches(true, i, "A/P", 0, 3)) {
+                tokens.add(new Token(AM_PM, 1, null));
+                i += format.regionMatches(true, i, "AM/PM", 0, 5) ? 5 : 3;
+            }
+            else if ("ymdhs".indexOf(Character.toLowerCase(c)) >= 0) {
+                char kind = Character.toLowerCase(c);
+                int end = i;
+                while (end < format.length() && Character.toLowerCase(format.charAt(end)) == kind)
+                    end++;
+                tokens.add(new Token(kind, end - i, null));
+                dateCode = true;
+                i = end;
+
+                // ss.000 초 소수점 이하
+                if (kind == 's' && i + 1 < format.length() && format.charAt(i) == '.' && format.charAt(i + 1) == '0') {
+                    int zeros = i + 1;
+                    while (zeros < format.length() && format.charAt(zeros) == '0')
+                        zeros++;
+                    tokens.add(new Token(LITERAL, 0, "."));
+                    tokens.add(new Token(FRACTION, zeros - i - 1, null));
+                    i = zeros;
+                }
+            }
+            else if (Character.isLetterOrDigit(c) || c == '#' || c == '@' || c == '?') {
+                // General, 숫자, 텍스트 서식
+                return null;
+            }
+            else {
+                tokens.add(new Token(LITERAL, 0, String.valueOf(c)));
+                i++;
+            }
+        }
+        return dateCode ? tokens : null;
+    }
+
+    private static String pattern(List<Token> tokens) {
+        boolean twelveHour = tokens.stream().anyMatch(token -> token.kind() == AM_PM);
+        StringBuilder pattern = new StringBuilder();
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            int length = token.length();
+            switch (token.kind()) {
+                case LITERAL -> pattern.append('\'').append(token.text().replace("'", "''")).append('\'');
+                case 'y' -> pattern.append(length <= 2 ? "yy" : "yyyy");
+                case 'm' -> {
+                    if (length >= 3)
+                        pattern.append("M".repeat(Math.min(length, 5)));
+                    else
+                        pattern.append((isMinute(tokens, i) ? "m" : "M").repeat(length));
+                }
+                case 'd' -> pattern.append(length <= 2 ? "d".repeat(length) : length == 3 ? "EEE" : "EEEE");
+                case 'h' -> pattern.append((twelveHour ? "h" : "H").repeat(Math.min(length, 2)));
+                case 's' -> pattern.append("s".repeat(Math.min(length, 2)));
+                case FRACTION -> pattern.append("S".repeat(Math.min(length, 9)));
+                case AM_PM -> pattern.append('a');
+                default -> throw new IllegalStateException("unexpected token " + token);
+            }
+        }
+        return pattern.toString();
+    }
+
+    /**
+     * 앞의 코드가 h 이거나 뒤의 코드가 s 인 m, mm 은 분
+     */
+    private static boolean isMinute(List<Token> tokens, int index) {
+        if (tokens.get(index).length() > 2)
+            return false;
+        for (int i = index - 1; i >= 0; i--) {
+            if (tokens.get(i).kind() != LITERAL) {
+                if (tokens.get(i).kind() == 'h')
+                    return true;
+                break;
+            }
+        }
+        for (int i = index + 1; i < tokens.size(); i++) {
+            if (tokens.get(i).kind() != LITERAL)
+                return tokens.get(i).kind() == 's';
+        }
+        return false;
+    }
+
+    /**
+     * @param kind 코드 문자 (y, m, d, h, s), LITERAL, AM_PM, FRACTION
+     * @param length 코드 반복 횟수
+     * @param text LITERAL 인 경우 출력할 문자열
+     */
+    private record Token(char kind, int length, String text) {}
+}
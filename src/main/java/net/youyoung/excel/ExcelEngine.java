@@ -0,0 +1,19 @@
+package net.youyoung.excel;
+
+/**
+ * 엑셀 파일 생성 방식
+ */
+public enum ExcelEngine {
+
+    /**
+     * POI SXSSFWorkbook 사용 (기본값)
+     */
+    SXSSF,
+
+    /**
+     * 시트 XML 을 ZipOutputStream 에 직접 기록
+     * 셀 객체와 임시 파일을 만들지 않아 단순 표 형태 내보내기에서 SXSSF 보다 빠르다.
+     * 문자열은 공유 문자열 테이블 없이 inline string 으로 기록하며 parallelism 옵션은 사용하지 않는다.
+     */
+    DIRECT
+}
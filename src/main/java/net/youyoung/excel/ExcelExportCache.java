@@ -0,0 +1,563 @@
+package net.youyoung.excel;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.lang.NonNull;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 완성된 엑셀 파일 캐시
+ *
+ * 같은 DTO, 같은 조회 조건, 같은 로케일의 내보내기가 반복될 때 호출자가 지정한 key 로 결과 파일을 재사용한다.
+ * 캐시 키는 (클래스, 로케일, key) 이며 조회 조건 등 결과가 달라지는 값은 key 에 포함해야 한다.
+ *
+ * memoryEntryThreshold 이하의 결과는 메모리에, 넘으면 캐시 디렉터리 파일에 기록된다.
+ * 메모리 항목이 maximumMemorySize 를 넘으면 오래 사용되지 않은 항목부터 파일로 옮기고,
+ * 파일 항목이 maximumDiskSize 를 넘으면 오래 사용되지 않은 항목부터 제거한다. (LRU, 만료 항목은 저장 시 함께 제거)
+ * 파일로 옮길 항목은 잠금 안에서 고르고 파일 기록은 잠금 밖에서 하므로 기록 중에도 다른 요청의 조회가 막히지 않는다.
+ * 제거된 파일 항목을 읽고 있는 스트림이 있으면 파일은 마지막 스트림이 닫힐 때 삭제된다.
+ * 같은 키를 동시에 요청하면 한 요청만 엑셀을 만들고 나머지는 그 결과를 기다린다.
+ * 결과에는 내용 기반 ETag 가 있어 If-None-Match 요청에 304 로 응답할 수 있다.
+ *
+ * 사용코드
+ *
+ * ExcelExportCache exportCache = ExcelExportCache.builder()
+ *         .maximumMemorySize(64 * 1024 * 1024)
+ *         .build();
+ *
+ * CachedExport export = exportCache.get("status=PAID&month=" + month, Duration.ofMinutes(5),
+ *         () -> repository.findPaid(month).iterator(), OrderDto.class);
+ * if (export.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH)))
+ *     return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(export.eTag()).build();
+ * return ResponseEntity.ok().eTag(export.eTag()).body(export);
+ *
+ * // 서블릿 응답에 바로 기록 (If-None-Match 일치 시 304)
+ * exportCache.download("status=PAID&month=" + month, Duration.ofMinutes(5), () -> ..., OrderDto.class, "주문");
+ */
+public final class ExcelExportCache implements AutoCloseable {
+
+    public static final long DEFAULT_MAXIMUM_MEMORY_SIZE = 64L * 1024 * 1024;
+
+    public static final long DEFAULT_MAXIMUM_DISK_SIZE = 1024L * 1024 * 1024;
+
+    public static final long DEFAULT_MEMORY_ENTRY_THRESHOLD = 8L * 1024 * 1024;
+
+    private final Map<Key, CachedExport> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<Key, CompletableFuture<CachedExport>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder waits = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final long maximumMemorySize;
+
+    private final long maximumDiskSize;
+
+    private final long memoryEntryThreshold;
+
+    private final Path directory;
+
+    private final boolean temporaryDirectory;
+
+    private final ExcelExportOptions options;
+
+    /**
+     * 파일로 옮기는 중인 메모리 항목
+     */
+    private final Set<CachedExport> spilling = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * entries 잠금 안에서만 변경
+     */
+    private long memorySize;
+
+    private long diskSize;
+
+    private long spillingSize;
+
+    private ExcelExportCache(Builder builder) {
+        this.maximumMemorySize = builder.maximumMemorySize;
+        this.maximumDiskSize = builder.maximumDiskSize;
+        this.memoryEntryThreshold = builder.memoryEntryThreshold;
+        this.options = builder.options;
+        this.temporaryDirectory = builder.directory == null;
+        try {
+            this.directory = builder.directory != null
+                    ? Files.createDirectories(builder.directory)
+                    : Files.createTempDirectory("excel-utils-cache-");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 캐시된 엑셀 조회, 없거나 만료되었으면 rows 로 생성 후 저장
+     *
+     * @param key 조회 조건 등 결과를 구분하는 값 (클래스, 로케일은 자동으로 포함)
+     * @param ttl 생성 후 보관 시간
+     * @param rows 캐시에 없을 때만 호출되는 데이터 공급자
+     */
+    public <T> CachedExport get(@NonNull String key, @NonNull Duration ttl, @NonNull Supplier<? extends Iterator<T>> rows, @NonNull Class<T> clazz) {
+        return get(key, ttl, rows, clazz, SheetWriter.UNKNOWN_TOTAL_COUNT);
+    }
+
+    /**
+     * @param totalCount 전체 건수, 모르는 경우 음수 (전체 건수 행은 Body 다음에 기록)
+     */
+    public <T> CachedExport get(@NonNull String key, @NonNull Duration ttl, @NonNull Supplier<? extends Iterator<T>> rows, @NonNull Class<T> clazz, long totalCount) {
+        if (rows == null || clazz == null)
+            throw new IllegalArgumentException("rows or clazz cannot be null");
+        return get(key(key, clazz), ttl, outputStream -> ExcelUtils.writeTo(rows.get(), clazz, outputStream, totalCount, options));
+    }
+
+    /**
+     * Stream 공급자로 조회, Stream 은 생성이 끝나면 닫힌다.
+     */
+    public <T> CachedExport getStream(@NonNull String key, @NonNull Duration ttl, @NonNull Supplier<Stream<T>> rows, @NonNull Class<T> clazz, long totalCount) {
+        if (rows == null || clazz == null)
+            throw new IllegalArgumentException("rows or clazz cannot be null");
+        return get(key(key, clazz), ttl, outputStream -> {
+            try (Stream<T> stream = rows.get()) {
+                ExcelUtils.writeTo(stream.iterator(), clazz, outputStream, totalCount, options);
+            }
+        });
+    }
+
+    /**
+     * get 결과를 ETag 와 함께 다운로드, If-None-Match 가 일치하면 본문 없이 304 응답
+     */
+    public <T> void download(@NonNull String key, @NonNull Duration ttl, @NonNull Supplier<? extends Iterator<T>> rows, @NonNull Class<T> clazz, String downloadFileName) {
+        ServletRequestAttributes requestAttributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        HttpServletRequest request = requestAttributes.getRequest();
+        HttpServletResponse response = requestAttributes.getResponse();
+
+        CachedExport export = get(key, ttl, rows, clazz);
+        response.setHeader("ETag", export.eTag());
+        if (export.matches(request.getHeader("If-None-Match"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentLengthLong(export.contentLength());
+        ExcelUtils.write(downloadFileName, outputStream -> {
+            try (InputStream inputStream = export.getInputStream()) {
+                inputStream.transferTo(outputStream);
+            }
+        });
+    }
+
+    /**
+     * key 로 저장된 항목 제거 (모든 클래스, 로케일)
+     */
+    public void invalidate(String key) {
+        List<CachedExport> removed = new ArrayList<>();
+        synchronized (entries) {
+            Iterator<Map.Entry<Key, CachedExport>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Key, CachedExport> entry = iterator.next();
+                if (entry.getKey().key().equals(key))
+                    remove(iterator, entry.getValue(), removed);
+            }
+        }
+        removed.forEach(CachedExport::delete);
+    }
+
+    public void clear() {
+        List<CachedExport> removed = new ArrayList<>();
+        synchronized (entries) {
+            Iterator<Map.Entry<Key, CachedExport>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext())
+                remove(iterator, iterator.next().getValue(), removed);
+        }
+        removed.forEach(CachedExport::delete);
+    }
+
+    public Stats stats() {
+        synchronized (entries) {
+            return new Stats(hits.sum(), misses.sum(), waits.sum(), evictions.sum(), entries.size(), memorySize, diskSize);
+        }
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * 모든 항목과 파일 삭제 (directory 를 지정하지 않았으면 디렉터리도 삭제)
+     */
+    @Override
+    public void close() {
+        clear();
+        if (temporaryDirectory) {
+            try {
+                Files.deleteIfExists(directory);
+            } catch (IOException ignored) {
+                // 삭제하지 못한 파일이 남아 있으면 디렉터리도 남는다
+            }
+        }
+    }
+
+    private CachedExport get(Key key, Duration ttl, ExcelUtils.ExcelOutput excelOutput) {
+        if (ttl == null || ttl.isNegative() || ttl.isZero())
+            throw new IllegalArgumentException("ttl must be positive");
+
+        CachedExport cached = cached(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        // 같은 키를 만드는 중이면 그 결과를 기다린다
+        CompletableFuture<CachedExport> flight = new CompletableFuture<>();
+        CompletableFuture<CachedExport> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            waits.increment();
+            return await(running);
+        }
+
+        try {
+            // 조회와 등록 사이에 끝난 생성 결과
+            cached = cached(key);
+            if (cached != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                cached = create(ttl, excelOutput);
+                put(key, cached);
+            }
+            flight.complete(cached);
+            return cached;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static CachedExport await(CompletableFuture<CachedExport> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if (e.getCause() instanceof Error error)
+                throw error;
+            throw e;
+        }
+    }
+
+    /**
+     * 엑셀을 생성하면서 ETag 용 SHA-256 계산
+     */
+    private CachedExport create(Duration ttl, ExcelUtils.ExcelOutput excelOutput) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        SpoolingOutputStream spoolingOutputStream = new SpoolingOutputStream(memoryEntryThreshold, directory);
+        try (OutputStream outputStream = new DigestOutputStream(spoolingOutputStream, digest)) {
+            excelOutput.writeTo(outputStream);
+        } catch (IOException e) {
+            spoolingOutputStream.discard();
+            throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+            spoolingOutputStream.discard();
+            throw e;
+        }
+
+        String eTag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest.digest(), 18)) + "\"";
+        Instant createdAt = Instant.now();
+        Instant expiresAt = createdAt.plus(ttl);
+        return spoolingOutputStream.isFileBacked()
+                ? CachedExport.ofFile(spoolingOutputStream.file(), spoolingOutputStream.size(), eTag, createdAt, expiresAt)
+                : CachedExport.ofMemory(spoolingOutputStream.toByteArray(), eTag, createdAt, expiresAt);
+    }
+
+    /**
+     * @return 없거나 만료되었으면 null (만료 항목은 제거)
+     */
+    private CachedExport cached(Key key) {
+        CachedExport expired;
+        synchronized (entries) {
+            CachedExport cached = entries.get(key);
+            if (cached == null || !cached.isExpired(Instant.now()))
+                return cached;
+            entries.remove(key);
+            subtract(cached);
+            expired = cached;
+        }
+        expired.delete();
+        return null;
+    }
+
+    /**
+     * 저장 후 만료 항목 제거, 메모리 초과분은 파일로 이동, 디스크 초과분은 제거
+     * 방금 저장한 항목은 크기가 한도를 넘어도 제거하지 않는다. (호출자에게 반환되는 항목)
+     */
+    private void put(Key key, CachedExport export) {
+        List<CachedExport> removed = new ArrayList<>();
+        List<CachedExport> spills = new ArrayList<>();
+        synchronized (entries) {
+            CachedExport previous = entries.put(key, export);
+            if (previous != null) {
+                subtract(previous);
+                removed.add(previous);
+            }
+            add(export);
+
+            Instant now = Instant.now();
+            Iterator<Map.Entry<Key, CachedExport>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                CachedExport cached = iterator.next().getValue();
+                if (cached.isExpired(now))
+                    remove(iterator, cached, removed);
+            }
+
+            // 다른 요청이 옮기는 중인 항목은 이미 옮겨진 것으로 계산
+            long size = memorySize - spillingSize;
+            for (CachedExport cached : entries.values()) {
+                if (size <= maximumMemorySize)
+                    break;
+                if (!cached.isFileBacked() && spilling.add(cached)) {
+                    spills.add(cached);
+                    spillingSize += cached.contentLength();
+                    size -= cached.contentLength();
+                }
+            }
+
+            evictFiles(export, removed);
+        }
+        removed.forEach(CachedExport::delete);
+
+        if (!spills.isEmpty())
+            spill(spills, export);
+    }
+
+    /**
+     * 메모리 항목을 파일로 기록한 뒤 (잠금 밖) 아직 캐시에 있는 항목만 교체, 기록하지 못한 항목은 제거
+     */
+    private void spill(List<CachedExport> spills, CachedExport export) {
+        Map<CachedExport, Path> files = new IdentityHashMap<>();
+        for (CachedExport cached : spills) {
+            Path file = null;
+            try {
+                file = Files.createTempFile(directory, "excel-utils-", ".xlsx");
+                Files.write(file, cached.content());
+            } catch (IOException e) {
+                deleteQuietly(file);
+                file = null;
+            }
+            files.put(cached, file);
+        }
+
+        List<CachedExport> removed = new ArrayList<>();
+        synchronized (entries) {
+            for (CachedExport cached : spills) {
+                spilling.remove(cached);
+                spillingSize -= cached.contentLength();
+            }
+
+            // 값 교체는 접근 순서를 바꾸지 않도록 Map.Entry.setValue 로 수행
+            Iterator<Map.Entry<Key, CachedExport>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Key, CachedExport> entry = iterator.next();
+                CachedExport cached = entry.getValue();
+                if (!files.containsKey(cached))
+                    continue;
+
+                Path file = files.remove(cached);
+                if (file == null) {
+                    remove(iterator, cached, removed);
+                    evictions.increment();
+                    continue;
+                }
+                CachedExport spilled = cached.spilled(file);
+                subtract(cached);
+                entry.setValue(spilled);
+                add(spilled);
+            }
+
+            evictFiles(export, removed);
+        }
+        removed.forEach(CachedExport::delete);
+
+        // 기록하는 동안 캐시에서 제거된 항목의 파일
+        files.values().forEach(ExcelExportCache::deleteQuietly);
+    }
+
+    /**
+     * 파일 항목이 maximumDiskSize 를 넘으면 오래된 항목부터 제거 (entries 잠금 안에서 호출)
+     *
+     * @param export 제거하지 않을 항목 (방금 저장한 항목)
+     */
+    private void evictFiles(CachedExport export, List<CachedExport> removed) {
+        Iterator<Map.Entry<Key, CachedExport>> iterator = entries.entrySet().iterator();
+        while (diskSize > maximumDiskSize && iterator.hasNext()) {
+            Map.Entry<Key, CachedExport> entry = iterator.next();
+            if (entry.getValue().isFileBacked() && entry.getValue() != export) {
+                remove(iterator, entry.getValue(), removed);
+                evictions.increment();
+            }
+        }
+    }
+
+    private void remove(Iterator<Map.Entry<Key, CachedExport>> iterator, CachedExport cached, List<CachedExport> removed) {
+        iterator.remove();
+        subtract(cached);
+        removed.add(cached);
+    }
+
+    private void add(CachedExport cached) {
+        if (cached.isFileBacked())
+            diskSize += cached.contentLength();
+        else
+            memorySize += cached.contentLength();
+    }
+
+    private void subtract(CachedExport cached) {
+        if (cached.isFileBacked())
+            diskSize -= cached.contentLength();
+        else
+            memorySize -= cached.contentLength();
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null)
+            return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // 삭제하지 못한 파일은 캐시 디렉터리에 남는다
+        }
+    }
+
+    private static Key key(String key, Class<?> clazz) {
+        if (key == null)
+            throw new IllegalArgumentException("key cannot be null");
+        return new Key(clazz, LocaleContextHolder.getLocale(), key);
+    }
+
+    private record Key(Class<?> type, Locale locale, String key) {}
+
+    /**
+     * @param waitCount 같은 키를 만드는 다른 요청의 결과를 기다린 횟수
+     * @param evictionCount 크기 한도로 제거된 항목 수 (만료 제외)
+     */
+    public record Stats(long hitCount, long missCount, long waitCount, long evictionCount, int size, long memorySize, long diskSize) {
+
+        public double hitRate() {
+            long total = hitCount + missCount + waitCount;
+            return total == 0 ? 1.0 : (double) (hitCount + waitCount) / total;
+        }
+    }
+
+    public static final class Builder {
+
+        private long maximumMemorySize = DEFAULT_MAXIMUM_MEMORY_SIZE;
+
+        private long maximumDiskSize = DEFAULT_MAXIMUM_DISK_SIZE;
+
+        private long memoryEntryThreshold = DEFAULT_MEMORY_ENTRY_THRESHOLD;
+
+        private Path directory;
+
+        private ExcelExportOptions options = ExcelExportOptions.defaults();
+
+        private Builder() {}
+
+        /**
+         * 메모리 항목 전체 크기 (bytes), 넘으면 오래된 항목부터 파일로 이동 (기본값 64MB)
+         */
+        public Builder maximumMemorySize(long maximumMemorySize) {
+            if (maximumMemorySize < 0)
+                throw new IllegalArgumentException("maximumMemorySize cannot be negative");
+            this.maximumMemorySize = maximumMemorySize;
+            return this;
+        }
+
+        /**
+         * 파일 항목 전체 크기 (bytes), 넘으면 오래된 항목부터 제거 (기본값 1GB)
+         */
+        public Builder maximumDiskSize(long maximumDiskSize) {
+            if (maximumDiskSize < 0)
+                throw new IllegalArgumentException("maximumDiskSize cannot be negative");
+            this.maximumDiskSize = maximumDiskSize;
+            return this;
+        }
+
+        /**
+         * 이 크기를 넘는 결과는 처음부터 파일에 기록 (기본값 8MB)
+         */
+        public Builder memoryEntryThreshold(long memoryEntryThreshold) {
+            if (memoryEntryThreshold < 0)
+                throw new IllegalArgumentException("memoryEntryThreshold cannot be negative");
+            this.memoryEntryThreshold = memoryEntryThreshold;
+            return this;
+        }
+
+        /**
+         * 파일 항목 디렉터리, null 이면 java.io.tmpdir 아래에 생성
+         */
+        public Builder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * 엑셀 생성에 사용할 내보내기 옵션 (기본값 ExcelExportOptions.defaults())
+         */
+        public Builder options(ExcelExportOptions options) {
+            if (options == null)
+                throw new IllegalArgumentException("options cannot be null");
+            this.options = options;
+            return this;
+        }
+
+        public ExcelExportCache build() {
+            return new ExcelExportCache(this);
+        }
+    }
+}
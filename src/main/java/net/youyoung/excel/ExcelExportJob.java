@@ -0,0 +1,135 @@
+package net.youyoung.excel;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.Future;
+
+/**
+ * ExcelExportService 에 등록된 비동기 내보내기 작업 상태
+ */
+public final class ExcelExportJob {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        /**
+         * @return 더 이상 상태가 바뀌지 않으면 true
+         */
+        public boolean isDone() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id;
+
+    private final long totalCount;
+
+    private final Instant submittedAt;
+
+    private final Path file;
+
+    private volatile State state = State.QUEUED;
+
+    private volatile long rowsWritten;
+
+    private volatile Instant completedAt;
+
+    private volatile String failureMessage;
+
+    private volatile Future<?> future;
+
+    ExcelExportJob(String id, long totalCount, Path file) {
+        this.id = id;
+        this.totalCount = totalCount;
+        this.submittedAt = Instant.now();
+        this.file = file;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public State state() {
+        return state;
+    }
+
+    /**
+     * @return 지금까지 기록한 행 수
+     */
+    public long rowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * @return 제출 시 전달한 전체 건수, 모르는 경우 음수
+     */
+    public long totalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return 0 ~ 1 사이 진행률, 전체 건수를 모르면 완료 전까지 -1
+     */
+    public double progress() {
+        if (state == State.COMPLETED)
+            return 1;
+        if (totalCount <= 0)
+            return -1;
+        return Math.min(1, (double) rowsWritten / totalCount);
+    }
+
+    public Instant submittedAt() {
+        return submittedAt;
+    }
+
+    /**
+     * @return 완료(실패, 취소 포함) 시각, 진행 중이면 null
+     */
+    public Instant completedAt() {
+        return completedAt;
+    }
+
+    /**
+     * @return 실패한 경우 원인 메시지, 아니면 null
+     */
+    public String failureMessage() {
+        return failureMessage;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    Future<?> future() {
+        return future;
+    }
+
+    void future(Future<?> future) {
+        this.future = future;
+    }
+
+    void rowsWritten(long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    synchronized boolean start() {
+        if (state != State.QUEUED)
+            return false;
+        state = State.RUNNING;
+        return true;
+    }
+
+    synchronized boolean complete(State state, String failureMessage) {
+        if (this.state.isDone())
+            return false;
+        this.failureMessage = failureMessage;
+        this.completedAt = Instant.now();
+        this.state = state;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "ExcelExportJob[" + id + ", " + state + ", " + rowsWritten + "/" + totalCount + "]";
+    }
+}
@@ -0,0 +1,17 @@
+package net.youyoung.excel;
+
+/**
+ * 내보내기 완료/실패 시 호출되는 리스너
+ *
+ * ExcelExportOptions.builder().listener() 로 등록하며 내보내기를 수행한 스레드에서 호출된다.
+ * 리스너에서 발생한 예외는 내보내기 결과에 영향을 주지 않는다.
+ */
+public interface ExcelExportListener {
+
+    default void onExportCompleted(ExcelExportMetrics metrics) {}
+
+    /**
+     * @param metrics 실패 시점까지 측정한 값
+     */
+    default void onExportFailed(ExcelExportMetrics metrics, Throwable cause) {}
+}
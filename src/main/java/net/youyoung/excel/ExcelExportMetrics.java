@@ -0,0 +1,43 @@
+package net.youyoung.excel;
+
+import java.time.Duration;
+
+/**
+ * 내보내기 한 건의 측정 값
+ *
+ * @param type 내보낸 클래스
+ * @param engine 생성 방식 (CSV 는 옵션의 engine 값)
+ * @param rows 기록한 Body 행 수
+ * @param sheets 생성한 시트 수, CSV 는 0
+ * @param bytesWritten 결과 파일 크기 (byte)
+ * @param tempFileBytes SXSSF 시트 임시 파일 크기 합계 (byte), DIRECT 는 0
+ * @param stylesCreated 생성한 CellStyle 수
+ * @param peakRowsInMemory 동시에 메모리에 유지한 최대 행 수 (SXSSF 윈도우 + 병렬 변환 대기 행)
+ * @param schemaTime 컬럼 메타데이터 조회 시간 (캐시 적중 시 거의 0)
+ * @param bodyTime Body 행 기록 시간 (flushTime 포함)
+ * @param flushTime SXSSF 가 윈도우를 벗어난 행을 임시 파일로 내보낸 시간
+ * @param writeTime workbook.write (DIRECT 는 패키지 파트 기록) 시간, CSV 는 헤더와 Body 를 기록한 시간
+ * @param totalTime 전체 시간
+ */
+public record ExcelExportMetrics(Class<?> type,
+                                 ExcelEngine engine,
+                                 long rows,
+                                 int sheets,
+                                 long bytesWritten,
+                                 long tempFileBytes,
+                                 int stylesCreated,
+                                 long peakRowsInMemory,
+                                 Duration schemaTime,
+                                 Duration bodyTime,
+                                 Duration flushTime,
+                                 Duration writeTime,
+                                 Duration totalTime) {
+
+    /**
+     * @return 초당 기록한 행 수
+     */
+    public double rowsPerSecond() {
+        long nanos = totalTime.toNanos();
+        return nanos == 0 ? 0 : rows * 1_000_000_000d / nanos;
+    }
+}
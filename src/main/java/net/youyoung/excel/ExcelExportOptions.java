@@ -0,0 +1,413 @@
+package net.youyoung.excel;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 엑셀 내보내기 옵션
+ *
+ * 옵션을 받지 않는 메서드는 defaults() 를 사용하며 setDefaults() 로 애플리케이션 전역 기본값을 바꿀 수 있다.
+ * 데이터 규모별 권장 설정은 small(), large(), huge() 또는 forRowCount() 로 얻을 수 있다.
+ * 권장 설정은 defaults() 를 바탕으로 하므로 전역 기본값의 tempDirectory, 리스너 등은 그대로 유지된다.
+ *
+ * 사용코드
+ *
+ * ExcelExportOptions options = ExcelExportOptions.builder()
+ *         .spoolThreshold(4 * 1024 * 1024)
+ *         .maxRowsPerSheet(500_000)
+ *         .parallelism(4)
+ *         .compressTempFiles(true)
+ *         .tempDirectory(Path.of("/dev/shm"))
+ *         .build();
+ */
+public final class ExcelExportOptions {
+
+    /**
+     * xlsx 시트 최대 행 수
+     */
+    public static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    /**
+     * 스풀 리소스를 메모리에 유지하는 최대 크기 (byte)
+     */
+    public static final long DEFAULT_SPOOL_THRESHOLD = 8 * 1024 * 1024;
+
+    public static final int DEFAULT_PARALLEL_BATCH_SIZE = 1000;
+
+    public static final int DEFAULT_ROW_ACCESS_WINDOW_SIZE = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+
+    private static final long LARGE_ROW_COUNT = 100_000;
+
+    private static final long HUGE_ROW_COUNT = 1_000_000;
+
+    private static volatile ExcelExportOptions defaults = builder().build();
+
+    private final long spoolThreshold;
+
+    private final int maxRowsPerSheet;
+
+    private final int parallelism;
+
+    private final int parallelBatchSize;
+
+    private final Executor executor;
+
+    private final ExcelEngine engine;
+
+    private final int rowAccessWindowSize;
+
+    private final boolean compressTempFiles;
+
+    private final Path tempDirectory;
+
+    private final boolean useSharedStrings;
+
+    private final List<ExcelExportListener> listeners;
+
+    private final char csvDelimiter;
+
+    private final boolean csvByteOrderMark;
+
+    private final boolean csvGzip;
+
+    private ExcelExportOptions(Builder builder) {
+        this.spoolThreshold = builder.spoolThreshold;
+        this.maxRowsPerSheet = builder.maxRowsPerSheet;
+        this.parallelism = builder.parallelism;
+        this.parallelBatchSize = builder.parallelBatchSize;
+        this.executor = builder.executor;
+        this.engine = builder.engine;
+        this.rowAccessWindowSize = builder.rowAccessWindowSize;
+        this.compressTempFiles = builder.compressTempFiles;
+        this.tempDirectory = builder.tempDirectory;
+        this.useSharedStrings = builder.useSharedStrings;
+        this.listeners = List.copyOf(builder.listeners);
+        this.csvDelimiter = builder.csvDelimiter;
+        this.csvByteOrderMark = builder.csvByteOrderMark;
+        this.csvGzip = builder.csvGzip;
+    }
+
+    /**
+     * 옵션을 받지 않는 ExcelUtils 메서드가 사용하는 기본값
+     */
+    public static ExcelExportOptions defaults() {
+        return defaults;
+    }
+
+    /**
+     * 전역 기본값 변경 (애플리케이션 시작 시 한번 설정)
+     */
+    public static void setDefaults(ExcelExportOptions options) {
+        if (options == null)
+            throw new IllegalArgumentException("options cannot be null");
+        defaults = options;
+    }
+
+    /**
+     * 10만 행 미만 : 기본 설정
+     */
+    public static ExcelExportOptions small() {
+        return defaults();
+    }
+
+    /**
+     * 10만 ~ 100만 행 : 시트 임시 파일을 gzip 으로 압축해 디스크 사용량을 줄인다. (CPU 사용량 증가)
+     */
+    public static ExcelExportOptions large() {
+        return defaults().toBuilder()
+                .compressTempFiles(true)
+                .build();
+    }
+
+    /**
+     * 100만 행 이상 : 임시 파일 없이 XML 을 직접 기록하고 결과 파일도 1MB 부터 (기본값이 더 작으면 기본값부터) 임시 파일로 스풀링한다.
+     */
+    public static ExcelExportOptions huge() {
+        ExcelExportOptions defaults = defaults();
+        return defaults.toBuilder()
+                .engine(ExcelEngine.DIRECT)
+                .spoolThreshold(Math.min(defaults.spoolThreshold(), 1024 * 1024))
+                .build();
+    }
+
+    /**
+     * 예상 행 수에 맞는 권장 설정
+     */
+    public static ExcelExportOptions forRowCount(long rowCount) {
+        if (rowCount >= HUGE_ROW_COUNT)
+            return huge();
+        if (rowCount >= LARGE_ROW_COUNT)
+            return large();
+        return small();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .spoolThreshold(spoolThreshold)
+                .maxRowsPerSheet(maxRowsPerSheet)
+                .parallelism(parallelism)
+                .parallelBatchSize(parallelBatchSize)
+                .executor(executor)
+                .engine(engine)
+                .rowAccessWindowSize(rowAccessWindowSize)
+                .compressTempFiles(compressTempFiles)
+                .tempDirectory(tempDirectory)
+                .useSharedStrings(useSharedStrings)
+                .listeners(listeners)
+                .csvDelimiter(csvDelimiter)
+                .csvByteOrderMark(csvByteOrderMark)
+                .csvGzip(csvGzip);
+    }
+
+    public long spoolThreshold() {
+        return spoolThreshold;
+    }
+
+    public int maxRowsPerSheet() {
+        return maxRowsPerSheet;
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    public int parallelBatchSize() {
+        return parallelBatchSize;
+    }
+
+    public Executor executor() {
+        return executor;
+    }
+
+    public ExcelEngine engine() {
+        return engine;
+    }
+
+    public int rowAccessWindowSize() {
+        return rowAccessWindowSize;
+    }
+
+    public boolean compressTempFiles() {
+        return compressTempFiles;
+    }
+
+    /**
+     * @return 미지정 시 null (java.io.tmpdir 사용)
+     */
+    public Path tempDirectory() {
+        return tempDirectory;
+    }
+
+    public boolean useSharedStrings() {
+        return useSharedStrings;
+    }
+
+    public List<ExcelExportListener> listeners() {
+        return listeners;
+    }
+
+    public char csvDelimiter() {
+        return csvDelimiter;
+    }
+
+    public boolean csvByteOrderMark() {
+        return csvByteOrderMark;
+    }
+
+    public boolean csvGzip() {
+        return csvGzip;
+    }
+
+    public static final class Builder {
+
+        private long spoolThreshold = DEFAULT_SPOOL_THRESHOLD;
+
+        private int maxRowsPerSheet = MAX_ROWS_PER_SHEET;
+
+        private int parallelism = 1;
+
+        private int parallelBatchSize = DEFAULT_PARALLEL_BATCH_SIZE;
+
+        private Executor executor = ForkJoinPool.commonPool();
+
+        private ExcelEngine engine = ExcelEngine.SXSSF;
+
+        private int rowAccessWindowSize = DEFAULT_ROW_ACCESS_WINDOW_SIZE;
+
+        private boolean compressTempFiles;
+
+        private Path tempDirectory;
+
+        private boolean useSharedStrings;
+
+        private final List<ExcelExportListener> listeners = new ArrayList<>();
+
+        private char csvDelimiter = ',';
+
+        private boolean csvByteOrderMark = true;
+
+        private boolean csvGzip;
+
+        private Builder() {}
+
+        /**
+         * 결과 파일이 이 크기를 넘으면 메모리 대신 임시 파일에 기록
+         */
+        public Builder spoolThreshold(long spoolThreshold) {
+            if (spoolThreshold < 0)
+                throw new IllegalArgumentException("spoolThreshold cannot be negative");
+            this.spoolThreshold = spoolThreshold;
+            return this;
+        }
+
+        /**
+         * 시트당 최대 행 수 (제목, 헤더 행 포함)
+         * 넘어가면 "시트명 (2)", "시트명 (3)" ... 시트를 만들어 제목과 헤더를 반복한 뒤 이어서 기록
+         */
+        public Builder maxRowsPerSheet(int maxRowsPerSheet) {
+            if (maxRowsPerSheet < 1 || maxRowsPerSheet > MAX_ROWS_PER_SHEET)
+                throw new IllegalArgumentException("maxRowsPerSheet must be between 1 and " + MAX_ROWS_PER_SHEET);
+            this.maxRowsPerSheet = maxRowsPerSheet;
+            return this;
+        }
+
+        /**
+         * 2 이상이면 값 추출과 변환을 parallelism 개 배치까지 executor 에서 병렬로 수행하고
+         * 셀 기록은 호출 스레드에서 원본 순서대로 수행 (기본값 1, 사용 안함)
+         * 값 추출이 가벼운 DTO 는 배치 전달 비용 때문에 오히려 느려질 수 있다.
+         */
+        public Builder parallelism(int parallelism) {
+            if (parallelism < 1)
+                throw new IllegalArgumentException("parallelism must be positive");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * 병렬 변환 시 한 작업이 처리할 행 수
+         */
+        public Builder parallelBatchSize(int parallelBatchSize) {
+            if (parallelBatchSize < 1)
+                throw new IllegalArgumentException("parallelBatchSize must be positive");
+            this.parallelBatchSize = parallelBatchSize;
+            return this;
+        }
+
+        /**
+         * 병렬 변환에 사용할 Executor (기본값 ForkJoinPool.commonPool())
+         */
+        public Builder executor(Executor executor) {
+            if (executor == null)
+                throw new IllegalArgumentException("executor cannot be null");
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * 엑셀 생성 방식 (기본값 ExcelEngine.SXSSF)
+         */
+        public Builder engine(ExcelEngine engine) {
+            if (engine == null)
+                throw new IllegalArgumentException("engine cannot be null");
+            this.engine = engine;
+            return this;
+        }
+
+        /**
+         * SXSSF 가 메모리에 유지하는 행 수, 넘어가는 행은 임시 파일로 내보낸다. (기본값 100)
+         */
+        public Builder rowAccessWindowSize(int rowAccessWindowSize) {
+            if (rowAccessWindowSize < 1)
+                throw new IllegalArgumentException("rowAccessWindowSize must be positive");
+            this.rowAccessWindowSize = rowAccessWindowSize;
+            return this;
+        }
+
+        /**
+         * SXSSF 시트 임시 파일 gzip 압축 여부 (기본값 false)
+         */
+        public Builder compressTempFiles(boolean compressTempFiles) {
+            this.compressTempFiles = compressTempFiles;
+            return this;
+        }
+
+        /**
+         * SXSSF 시트 임시 파일과 스풀 파일을 생성할 디렉터리 (tmpfs 마운트 등), null 이면 java.io.tmpdir
+         */
+        public Builder tempDirectory(Path tempDirectory) {
+            this.tempDirectory = tempDirectory;
+            return this;
+        }
+
+        /**
+         * 공유 문자열 테이블 사용 여부 (기본값 false)
+         * 같은 문자열이 많이 반복되면 파일 크기가 줄지만 고유 문자열 전체를 메모리에 유지한다.
+         */
+        public Builder useSharedStrings(boolean useSharedStrings) {
+            this.useSharedStrings = useSharedStrings;
+            return this;
+        }
+
+        /**
+         * 내보내기 완료/실패 시 측정 값을 받을 리스너 추가
+         */
+        public Builder listener(ExcelExportListener listener) {
+            if (listener == null)
+                throw new IllegalArgumentException("listener cannot be null");
+            this.listeners.add(listener);
+            return this;
+        }
+
+        /**
+         * 등록된 리스너를 모두 교체
+         */
+        public Builder listeners(List<ExcelExportListener> listeners) {
+            if (listeners == null || listeners.stream().anyMatch(Objects::isNull))
+                throw new IllegalArgumentException("listeners cannot be null");
+            this.listeners.clear();
+            this.listeners.addAll(listeners);
+            return this;
+        }
+
+        /**
+         * CSV 구분자 (기본값 ',')
+         */
+        public Builder csvDelimiter(char csvDelimiter) {
+            if (csvDelimiter == '"' || csvDelimiter == '\r' || csvDelimiter == '\n')
+                throw new IllegalArgumentException("csvDelimiter cannot be a quote or line break");
+            this.csvDelimiter = csvDelimiter;
+            return this;
+        }
+
+        /**
+         * CSV 앞에 UTF-8 BOM 기록 여부, 엑셀에서 한글이 깨지지 않도록 기본값 true
+         */
+        public Builder csvByteOrderMark(boolean csvByteOrderMark) {
+            this.csvByteOrderMark = csvByteOrderMark;
+            return this;
+        }
+
+        /**
+         * CSV gzip 압축 여부 (기본값 false, 다운로드 파일 확장자 .csv.gz)
+         */
+        public Builder csvGzip(boolean csvGzip) {
+            this.csvGzip = csvGzip;
+            return this;
+        }
+
+        public ExcelExportOptions build() {
+            return new ExcelExportOptions(this);
+        }
+    }
+}
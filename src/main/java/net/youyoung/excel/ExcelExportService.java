@@ -0,0 +1,386 @@
+package net.youyoung.excel;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.NonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 비동기 엑셀 내보내기
+ *
+ * 요청 스레드에서 작업을 등록하고 작업 id 로 진행 상황을 조회한 뒤 완료된 파일을 나중에 받는다.
+ * 동시에 생성하는 엑셀 수는 maxConcurrentExports 로 제한되며 나머지는 queueCapacity 까지 대기한다.
+ * 결과 파일은 resultDirectory 에 기록되고 완료 후 resultTtl 이 지나면 삭제된다.
+ *
+ * 사용코드
+ *
+ * ExcelExportService exportService = ExcelExportService.builder()
+ *         .maxConcurrentExports(2)
+ *         .resultTtl(Duration.ofMinutes(30))
+ *         .build();
+ *
+ * ExcelExportJob job = exportService.submitStream(() -> repository.streamAll(), ExcelDto.class, repository.count());
+ * exportService.job(job.id()).map(ExcelExportJob::progress);
+ * exportService.result(job.id()).map(resource -> new ResponseEntity<>(resource, httpHeaders, HttpStatus.OK));
+ */
+public final class ExcelExportService implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_CONCURRENT_EXPORTS = 2;
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 100;
+
+    public static final Duration DEFAULT_RESULT_TTL = Duration.ofMinutes(30);
+
+    /**
+     * 진행 건수 갱신, 취소 확인 주기 (행)
+     */
+    private static final int PROGRESS_INTERVAL = 256;
+
+    private static final AtomicInteger SERVICE_SEQUENCE = new AtomicInteger();
+
+    private final Map<String, ExcelExportJob> jobs = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor executor;
+
+    private final ScheduledExecutorService cleaner;
+
+    private final Path resultDirectory;
+
+    private final boolean temporaryDirectory;
+
+    private final Duration resultTtl;
+
+    private final ExcelExportOptions options;
+
+    private ExcelExportService(Builder builder) {
+        this.resultTtl = builder.resultTtl;
+        this.options = builder.options;
+        this.temporaryDirectory = builder.resultDirectory == null;
+        try {
+            this.resultDirectory = builder.resultDirectory != null
+                    ? Files.createDirectories(builder.resultDirectory)
+                    : Files.createTempDirectory("excel-utils-export-");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        int serviceNo = SERVICE_SEQUENCE.incrementAndGet();
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(builder.maxConcurrentExports, builder.maxConcurrentExports,
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(builder.queueCapacity),
+                runnable -> daemon(runnable, "excel-export-" + serviceNo + "-" + threadNo.incrementAndGet()));
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "excel-export-cleaner-" + serviceNo));
+
+        long cleanupInterval = Math.max(1000, Math.min(resultTtl.toMillis() / 2, 60_000));
+        cleaner.scheduleWithFixedDelay(this::removeExpired, cleanupInterval, cleanupInterval, TimeUnit.MILLISECONDS);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param rows 작업 스레드에서 호출되는 데이터 공급자
+     */
+    public <T> ExcelExportJob submit(@NonNull Supplier<? extends Iterator<T>> rows, @NonNull Class<T> clazz) {
+        return submit(rows, clazz, SheetWriter.UNKNOWN_TOTAL_COUNT);
+    }
+
+    /**
+     * @param totalCount 전체 건수, 모르는 경우 음수 (진행률 계산에도 사용)
+     */
+    public <T> ExcelExportJob submit(@NonNull Supplier<? extends Iterator<T>> rows, @NonNull Class<T> clazz, long totalCount) {
+        return submit(rows, clazz, totalCount, options);
+    }
+
+    public <T> ExcelExportJob submit(@NonNull Supplier<? extends Iterator<T>> rows, @NonNull Class<T> clazz, long totalCount, @NonNull ExcelExportOptions options) {
+        if (rows == null)
+            throw new IllegalArgumentException("rows cannot be null");
+        return submitStream(() -> StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows.get(), Spliterator.ORDERED), false),
+                clazz, totalCount, options);
+    }
+
+    /**
+     * Stream 공급자로 작업 등록, Stream 은 작업이 끝나면 닫힌다.
+     */
+    public <T> ExcelExportJob submitStream(@NonNull Supplier<Stream<T>> rows, @NonNull Class<T> clazz) {
+        return submitStream(rows, clazz, SheetWriter.UNKNOWN_TOTAL_COUNT);
+    }
+
+    public <T> ExcelExportJob submitStream(@NonNull Supplier<Stream<T>> rows, @NonNull Class<T> clazz, long totalCount) {
+        return submitStream(rows, clazz, totalCount, options);
+    }
+
+    /**
+     * @throws RejectedExecutionException 대기열이 가득 찼거나 서비스가 종료된 경우
+     */
+    public <T> ExcelExportJob submitStream(@NonNull Supplier<Stream<T>> rows, @NonNull Class<T> clazz, long totalCount, @NonNull ExcelExportOptions options) {
+        if (rows == null || clazz == null || options == null)
+            throw new IllegalArgumentException("rows, clazz or options cannot be null");
+
+        String id = UUID.randomUUID().toString();
+        ExcelExportJob job = new ExcelExportJob(id, totalCount, resultDirectory.resolve(id + ".xlsx"));
+        Locale locale = LocaleContextHolder.getLocale();
+
+        jobs.put(id, job);
+        try {
+            job.future(executor.submit(() -> run(job, rows, clazz, options, locale)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            throw new RejectedExecutionException("export queue is full : " + executor.getQueue().size() + " jobs waiting", e);
+        }
+        return job;
+    }
+
+    public Optional<ExcelExportJob> job(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * @return 완료된 작업의 결과 파일, 진행 중이거나 실패, 만료된 경우 empty
+     */
+    public Optional<Resource> result(String id) {
+        ExcelExportJob job = jobs.get(id);
+        if (job == null || job.state() != ExcelExportJob.State.COMPLETED || !Files.exists(job.file()))
+            return Optional.empty();
+        return Optional.of(new FileSystemResource(job.file()));
+    }
+
+    /**
+     * 대기 중이거나 진행 중인 작업 취소
+     *
+     * @return 취소되었으면 true
+     */
+    public boolean cancel(String id) {
+        ExcelExportJob job = jobs.get(id);
+        if (job == null || !job.complete(ExcelExportJob.State.CANCELLED, null))
+            return false;
+
+        Future<?> future = job.future();
+        if (future != null && future.cancel(true))
+            executor.purge();
+        deleteQuietly(job.file());
+        return true;
+    }
+
+    /**
+     * 작업을 취소하고 결과 파일을 바로 삭제
+     */
+    public boolean remove(String id) {
+        cancel(id);
+        ExcelExportJob job = jobs.remove(id);
+        if (job == null)
+            return false;
+        deleteQuietly(job.file());
+        return true;
+    }
+
+    /**
+     * @return 대기 중인 작업 수
+     */
+    public int queuedCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return 진행 중인 작업 수
+     */
+    public int runningCount() {
+        return executor.getActiveCount();
+    }
+
+    public Path resultDirectory() {
+        return resultDirectory;
+    }
+
+    /**
+     * 진행 중인 작업을 중단하고 모든 결과 파일 삭제 (resultDirectory 를 지정하지 않았으면 디렉터리도 삭제)
+     */
+    @Override
+    public void close() {
+        cleaner.shutdownNow();
+        executor.shutdownNow();
+        for (String id : jobs.keySet())
+            remove(id);
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (temporaryDirectory)
+            deleteQuietly(resultDirectory);
+    }
+
+    private <T> void run(ExcelExportJob job, Supplier<Stream<T>> rows, Class<T> clazz, ExcelExportOptions options, Locale locale) {
+        if (!job.start())
+            return;
+
+        LocaleContextHolder.setLocale(locale);
+        try (Stream<T> stream = rows.get();
+             OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(job.file()))) {
+
+            ProgressIterator<T> iterator = new ProgressIterator<>(stream.iterator(), job);
+            ExcelUtils.writeTo(iterator, clazz, outputStream, job.totalCount(), options);
+            job.rowsWritten(iterator.count);
+
+        } catch (Throwable e) {
+            ExcelExportJob.State state = e instanceof CancellationException || Thread.currentThread().isInterrupted()
+                    ? ExcelExportJob.State.CANCELLED
+                    : ExcelExportJob.State.FAILED;
+            job.complete(state, state == ExcelExportJob.State.FAILED ? String.valueOf(e) : null);
+            deleteQuietly(job.file());
+            return;
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+
+        if (!job.complete(ExcelExportJob.State.COMPLETED, null))
+            deleteQuietly(job.file());
+    }
+
+    /**
+     * 완료 후 resultTtl 이 지난 작업과 결과 파일 삭제
+     */
+    private void removeExpired() {
+        Instant expiredBefore = Instant.now().minus(resultTtl);
+        for (ExcelExportJob job : jobs.values()) {
+            Instant completedAt = job.completedAt();
+            if (completedAt != null && completedAt.isBefore(expiredBefore))
+                remove(job.id());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // 삭제하지 못한 파일은 resultDirectory 에 남는다
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * 기록한 행 수를 작업에 반영하고 취소 여부를 확인하는 Iterator
+     */
+    private static final class ProgressIterator<T> implements Iterator<T> {
+
+        private final Iterator<T> delegate;
+
+        private final ExcelExportJob job;
+
+        private long count;
+
+        ProgressIterator(Iterator<T> delegate, ExcelExportJob job) {
+            this.delegate = delegate;
+            this.job = job;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public T next() {
+            T row = delegate.next();
+            if (++count % PROGRESS_INTERVAL == 0) {
+                job.rowsWritten(count);
+                if (Thread.currentThread().isInterrupted() || job.state() == ExcelExportJob.State.CANCELLED)
+                    throw new CancellationException("export cancelled : " + job.id());
+            }
+            return row;
+        }
+    }
+
+    public static final class Builder {
+
+        private int maxConcurrentExports = DEFAULT_MAX_CONCURRENT_EXPORTS;
+
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+        private Duration resultTtl = DEFAULT_RESULT_TTL;
+
+        private Path resultDirectory;
+
+        private ExcelExportOptions options = ExcelExportOptions.defaults();
+
+        private Builder() {}
+
+        /**
+         * 동시에 생성하는 엑셀 최대 수 (기본값 2)
+         */
+        public Builder maxConcurrentExports(int maxConcurrentExports) {
+            if (maxConcurrentExports < 1)
+                throw new IllegalArgumentException("maxConcurrentExports must be positive");
+            this.maxConcurrentExports = maxConcurrentExports;
+            return this;
+        }
+
+        /**
+         * 대기 가능한 작업 수, 넘어가면 submit 시 RejectedExecutionException (기본값 100)
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            if (queueCapacity < 1)
+                throw new IllegalArgumentException("queueCapacity must be positive");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * 완료된 작업과 결과 파일 보관 시간 (기본값 30분)
+         */
+        public Builder resultTtl(Duration resultTtl) {
+            if (resultTtl == null || resultTtl.isNegative() || resultTtl.isZero())
+                throw new IllegalArgumentException("resultTtl must be positive");
+            this.resultTtl = resultTtl;
+            return this;
+        }
+
+        /**
+         * 결과 파일 디렉터리, null 이면 java.io.tmpdir 아래에 생성
+         */
+        public Builder resultDirectory(Path resultDirectory) {
+            this.resultDirectory = resultDirectory;
+            return this;
+        }
+
+        /**
+         * 옵션을 받지 않는 submit 에 사용할 내보내기 옵션 (기본값 ExcelExportOptions.defaults())
+         */
+        public Builder options(ExcelExportOptions options) {
+            if (options == null)
+                throw new IllegalArgumentException("options cannot be null");
+            this.options = options;
+            return this;
+        }
+
+        public ExcelExportService build() {
+            return new ExcelExportService(this);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.annotation.ExcelBundle;
+import net.youyoung.excel.annotation.ExcelFieldInfo;
+import net.youyoung.excel.annotation.ExcelTitle;
+
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.regex.Pattern;
+
+/**
+ * 한 로케일의 헤더 행, 시트 제목, 전체 건수, 요약 행 문구
+ *
+ * ExcelSchema 에 로케일별로 캐시되어 셀마다, 요청마다 로케일을 다시 판단하지 않는다.
+ * @ExcelBundle 이 있으면 headerKey, sheetTitleKey 를 번들에서 조회하고 없으면 header / headerEn 을 사용한다.
+ * 전체 건수, 요약 행 문구는 @ExcelBundle 의 excel.total, excel.summary 키, 없으면 라이브러리 번들 (ExcelMessages) 에서 조회한다.
+ * ExcelReader 도 같은 문구로 전체 건수, 요약 행을 판별한다.
+ */
+final class ExcelHeaders {
+
+    static final String TOTAL_KEY = "excel.total";
+
+    static final String SUMMARY_KEY = "excel.summary";
+
+    private static final String LIBRARY_BUNDLE = "net.youyoung.excel.ExcelMessages";
+
+    private final String[] headers;
+
+    private final String sheetTitle;
+
+    /**
+     * 전체 건수 문구의 건수 ({0}) 앞, 뒤
+     */
+    private final String totalPrefix;
+
+    private final String totalSuffix;
+
+    private final Pattern totalRow;
+
+    private final String summaryText;
+
+    /**
+     * @param totalPattern 전체 건수 문구, {0} 자리에 건수 (없으면 끝에 붙임)
+     */
+    private ExcelHeaders(String[] headers, String sheetTitle, String totalPattern, String summaryText) {
+        int count = totalPattern.indexOf("{0}");
+        this.headers = headers;
+        this.sheetTitle = sheetTitle;
+        this.totalPrefix = count < 0 ? totalPattern : totalPattern.substring(0, count);
+        this.totalSuffix = count < 0 ? "" : totalPattern.substring(count + 3);
+        this.totalRow = Pattern.compile(Pattern.quote(totalPrefix) + "\\d+" + Pattern.quote(totalSuffix));
+        this.summaryText = summaryText;
+    }
+
+    static ExcelHeaders resolve(ExcelSchema<?> schema, Locale locale) {
+        boolean korean = ExcelUtils.isLocaleKorean(locale);
+        ResourceBundle bundle = bundle(schema.type(), locale);
+
+        ExcelFieldInfo[] fieldInfos = schema.fieldInfoMap().values().toArray(ExcelFieldInfo[]::new);
+        String[] headers = new String[fieldInfos.length];
+        for (int i = 0; i < fieldInfos.length; i++)
+            headers[i] = message(bundle, fieldInfos[i].headerKey(), korean ? fieldInfos[i].header() : fieldInfos[i].headerEn());
+
+        ExcelTitle excelTitle = schema.excelTitle();
+        String sheetTitle = excelTitle == null ? "" : message(bundle, excelTitle.sheetTitleKey(), korean ? excelTitle.sheetTitle() : excelTitle.sheetTitleEn());
+
+        ResourceBundle libraryBundle = libraryBundle(locale);
+        String totalPattern = message(bundle, TOTAL_KEY, message(libraryBundle, TOTAL_KEY, "Total : {0}"));
+        String summaryText = message(bundle, SUMMARY_KEY, message(libraryBundle, SUMMARY_KEY, "Summary"));
+        return new ExcelHeaders(headers, sheetTitle, totalPattern, summaryText);
+    }
+
+    /**
+     * 컬럼 순서의 헤더
+     */
+    String header(int cellNo) {
+        return headers[cellNo];
+    }
+
+    /**
+     * @return @ExcelTitle 미선언 시 빈 문자열
+     */
+    String sheetTitle() {
+        return sheetTitle;
+    }
+
+    String totalText(long contentSize) {
+        return totalPrefix + contentSize + totalSuffix;
+    }
+
+    /**
+     * totalText 로 기록한 문구이면 true
+     */
+    boolean isTotalText(String value) {
+        return totalRow.matcher(value).matches();
+    }
+
+    /**
+     * 요약 행 첫 셀 문구 (첫 컬럼을 집계하지 않는 경우)
+     */
+    String summaryText() {
+        return summaryText;
+    }
+
+    /**
+     * 가장 가까운 클래스의 @ExcelBundle 번들, 미선언 시 null
+     */
+    private static ResourceBundle bundle(Class<?> type, Locale locale) {
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+            ExcelBundle excelBundle = clazz.getAnnotation(ExcelBundle.class);
+            if (excelBundle == null)
+                continue;
+            try {
+                return ResourceBundle.getBundle(excelBundle.value(), locale, clazz.getClassLoader(),
+                        ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_DEFAULT));
+            } catch (MissingResourceException e) {
+                throw new IllegalArgumentException("resource bundle not found : " + excelBundle.value() + " (" + type.getName() + ")", e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 라이브러리 문구 번들, 요청 로케일 번들이 없으면 기본 번들 (영어)
+     */
+    private static ResourceBundle libraryBundle(Locale locale) {
+        try {
+            return ResourceBundle.getBundle(LIBRARY_BUNDLE, locale, ExcelHeaders.class.getClassLoader(),
+                    ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES));
+        } catch (MissingResourceException e) {
+            return null;
+        }
+    }
+
+    private static String message(ResourceBundle bundle, String key, String defaultMessage) {
+        if (bundle == null || key.isEmpty() || !bundle.containsKey(key))
+            return defaultMessage;
+        return bundle.getString(key);
+    }
+}
@@ -0,0 +1,540 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.annotation.ExcelFieldInfo;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @ExcelColumn 헤더 기준 xlsx 읽기
+ *
+ * 시트 XML 을 StAX 로 한 행씩 읽어 객체로 변환하므로 행 수와 관계없이 메모리 사용량이 일정하다.
+ * (공유 문자열 테이블은 메모리에 올린다.)
+ * 입력은 임시 파일로 복사한 뒤 읽으며 close() 시 삭제된다.
+ *
+ * 모든 시트를 차례로 읽으며 시트마다 값을 넣을 수 있는 컬럼의 header 또는 headerEn 이 하나 이상 있는 첫 행을 헤더로 사용한다.
+ * 헤더 행의 알 수 없는 컬럼 (비고 등) 은 무시하며, 값이 있는 시트에서 헤더 행을 찾지 못하면 IllegalArgumentException
+ * 헤더 이전 행(제목 등), 빈 행, ExcelUtils 가 요청 로케일의 문구로 기록한 전체 건수 행은 건너뛴다.
+ * 빈 셀만 null 로 두며, columnDefault 와 같은 값은 변환할 수 없는 경우에만 (날짜 컬럼의 "-" 등) null 로 둔다.
+ * @ExcelColumn(aggregate) 요약 행은 내보낼 때 붙인 이름 (SheetWriter.SUMMARY_ROW_NAME) 이 가리키는 행만 건너뛰며, 값으로 판단하지 않는다.
+ */
+final class ExcelReader<T> implements Iterator<T>, AutoCloseable {
+
+    private static final Pattern SUMMARY_ROW_REFERENCE = Pattern.compile(".*!\\$(\\d+):\\$\\1");
+
+    private final Map<String, ReadColumn> columnsByHeader = new HashMap<>();
+
+    /**
+     * 값을 넣을 수 있는 컬럼의 헤더, 헤더 행을 찾지 못한 경우 오류 메시지에 사용
+     */
+    private final List<String> expectedHeaders = new ArrayList<>();
+
+    private final MethodHandle constructor;
+
+    /**
+     * 요청 로케일의 헤더, 전체 건수, 요약 행 문구 (내보낼 때와 같은 문구로 판별)
+     */
+    private final ExcelHeaders headers;
+
+    private final Path file;
+
+    private final OPCPackage opcPackage;
+
+    private final ReadOnlySharedStringsTable sharedStrings;
+
+    private final XSSFReader.SheetIterator sheets;
+
+    /**
+     * 시트 순번 (0 부터) 별 요약 행 번호 (1 부터)
+     */
+    private final Map<Integer, Integer> summaryRows;
+
+    private InputStream sheetInputStream;
+
+    private XMLStreamReader sheetReader;
+
+    private String sheetName;
+
+    private int sheetIndex = -1;
+
+    private int summaryRowNo;
+
+    private ReadColumn[] columns;
+
+    /**
+     * 현재 시트에서 헤더 행 이전에 값이 있는 행을 읽었는지 여부
+     */
+    private boolean sheetHasValues;
+
+    private final List<String> values = new ArrayList<>();
+
+    private final List<String> types = new ArrayList<>();
+
+    private int rowNo;
+
+    private T next;
+
+    ExcelReader(InputStream inputStream, Class<T> clazz) throws IOException {
+        ExcelSchema<T> schema = ExcelSchemaCache.get(clazz);
+        this.constructor = constructor(clazz);
+        // 요청 로케일로 내보낸 헤더 (@ExcelBundle), header, headerEn 순으로 매칭
+        this.headers = schema.headers(LocaleContextHolder.getLocale());
+        int cellNo = 0;
+        for (Map.Entry<String, ExcelFieldInfo> entry : schema.fieldInfoMap().entrySet()) {
+            ReadColumn column = readColumn(clazz, entry.getKey(), entry.getValue());
+            String header = headers.header(cellNo++);
+            // 값을 설정할 필드가 없는 컬럼 (getter, 중첩 컬럼) 은 읽지 않음
+            if (column == null)
+                continue;
+            expectedHeaders.add(header.trim());
+            columnsByHeader.putIfAbsent(header.trim(), column);
+            columnsByHeader.putIfAbsent(entry.getValue().header().trim(), column);
+            columnsByHeader.putIfAbsent(entry.getValue().headerEn().trim(), column);
+        }
+
+        this.file = Files.createTempFile("excel-utils-read-", ".xlsx");
+        try {
+            Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+            this.opcPackage = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        } catch (OpenXML4JException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw new IllegalArgumentException("not a valid xlsx file", e);
+        }
+
+        try {
+            this.sharedStrings = new ReadOnlySharedStringsTable(opcPackage, false);
+            XSSFReader xssfReader = new XSSFReader(opcPackage);
+            this.sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+            try (InputStream workbookData = xssfReader.getWorkbookData()) {
+                this.summaryRows = summaryRows(workbookData);
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        } catch (OpenXML4JException | SAXException | XMLStreamException | RuntimeException e) {
+            close();
+            throw new IllegalArgumentException("not a valid xlsx file", e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null) {
+                if (!readRow())
+                    return false;
+                next = toObject();
+            }
+            return true;
+        } catch (IOException | XMLStreamException e) {
+            throw new IllegalStateException("cannot read sheet " + sheetName, e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        T row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() {
+        try {
+            closeSheet();
+            opcPackage.revert();
+        } catch (IOException | XMLStreamException | RuntimeException ignored) {
+            // 읽기 전용 패키지 정리 실패는 무시
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // 임시 파일 삭제 실패는 무시
+            }
+        }
+    }
+
+    /**
+     * 다음 행을 values, types 에 읽음, 더 이상 행이 없으면 false
+     */
+    private boolean readRow() throws IOException, XMLStreamException {
+        while (true) {
+            if (sheetReader == null) {
+                if (!sheets.hasNext())
+                    return false;
+                sheetInputStream = sheets.next();
+                sheetName = sheets.getSheetName();
+                summaryRowNo = summaryRows.getOrDefault(++sheetIndex, 0);
+                sheetReader = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheetInputStream);
+                columns = null;
+                sheetHasValues = false;
+            }
+
+            while (sheetReader.hasNext()) {
+                if (sheetReader.next() == XMLStreamConstants.START_ELEMENT && sheetReader.getLocalName().equals("row")) {
+                    String r = sheetReader.getAttributeValue(null, "r");
+                    rowNo = r == null ? rowNo + 1 : Integer.parseInt(r);
+                    readCells();
+                    return true;
+                }
+            }
+            if (columns == null && sheetHasValues)
+                throw new IllegalArgumentException("no header row found in sheet " + sheetName + ", expected headers : " + expectedHeaders);
+            closeSheet();
+        }
+    }
+
+    private void readCells() throws XMLStreamException {
+        values.clear();
+        types.clear();
+        int cellNo = 0;
+
+        while (sheetReader.hasNext()) {
+            int event = sheetReader.next();
+            if (event == XMLStreamConstants.END_ELEMENT && sheetReader.getLocalName().equals("row"))
+                return;
+            if (event != XMLStreamConstants.START_ELEMENT || !sheetReader.getLocalName().equals("c"))
+                continue;
+
+            String ref = sheetReader.getAttributeValue(null, "r");
+            if (ref != null)
+                cellNo = columnIndex(ref);
+            String type = sheetReader.getAttributeValue(null, "t");
+            String value = readCellValue();
+
+            while (values.size() <= cellNo) {
+                values.add(null);
+                types.add(null);
+            }
+            values.set(cellNo, "s".equals(type) && value != null ? sharedStrings.getItemAt(Integer.parseInt(value)).getString() : value);
+            types.set(cellNo, type);
+            cellNo++;
+        }
+    }
+
+    /**
+     * c 요소의 v 또는 is/t 값
+     */
+    private String readCellValue() throws XMLStreamException {
+        StringBuilder inline = null;
+        String value = null;
+        while (sheetReader.hasNext()) {
+            int event = sheetReader.next();
+            if (event == XMLStreamConstants.END_ELEMENT && sheetReader.getLocalName().equals("c"))
+                break;
+            if (event != XMLStreamConstants.START_ELEMENT)
+                continue;
+
+            String name = sheetReader.getLocalName();
+            if (name.equals("v")) {
+                value = sheetReader.getElementText();
+            } else if (name.equals("t")) {
+                if (inline == null)
+                    inline = new StringBuilder();
+                inline.append(sheetReader.getElementText());
+            }
+        }
+        return inline != null ? inline.toString() : value;
+    }
+
+    /**
+     * 현재 행을 객체로 변환, 헤더/제목/빈 행이면 null
+     */
+    @SuppressWarnings("unchecked")
+    private T toObject() {
+        if (columns == null) {
+            sheetHasValues |= !isBlankOrTotalRow();
+            columns = matchHeader();
+            return null;
+        }
+        if (isBlankOrTotalRow() || rowNo == summaryRowNo)
+            return null;
+
+        T row;
+        try {
+            row = (T) constructor.invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("cannot instantiate " + constructor.type().returnType(), e);
+        }
+
+        for (int cellNo = 0; cellNo < Math.min(columns.length, values.size()); cellNo++) {
+            ReadColumn column = columns[cellNo];
+            String value = values.get(cellNo);
+            if (column == null || value == null || value.isEmpty())
+                continue;
+
+            Object converted;
+            try {
+                converted = column.converter().apply(value, types.get(cellNo));
+            } catch (RuntimeException e) {
+                // 값이 없어 columnDefault 로 기록된 셀
+                if (value.equals(column.columnDefault()))
+                    continue;
+                throw new IllegalArgumentException(String.format("cannot convert value '%s' at %s!%s%d", value, sheetName, columnName(cellNo), rowNo), e);
+            }
+
+            try {
+                column.setter().invoke(row, converted);
+            } catch (Throwable e) {
+                throw new IllegalArgumentException(String.format("cannot convert value '%s' at %s!%s%d", value, sheetName, columnName(cellNo), rowNo), e);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * 값을 넣을 수 있는 컬럼의 헤더가 하나 이상 있으면 컬럼 매핑 반환, 알 수 없는 헤더는 무시
+     */
+    private ReadColumn[] matchHeader() {
+        ReadColumn[] matched = new ReadColumn[values.size()];
+        boolean found = false;
+        for (int cellNo = 0; cellNo < values.size(); cellNo++) {
+            String value = values.get(cellNo);
+            if (value == null || value.isBlank())
+                continue;
+            matched[cellNo] = columnsByHeader.get(value.trim());
+            found |= matched[cellNo] != null;
+        }
+        return found ? matched : null;
+    }
+
+    private boolean isBlankOrTotalRow() {
+        int filled = 0;
+        for (String value : values) {
+            if (value != null && !value.isEmpty())
+                filled++;
+        }
+        return filled == 0 || (filled == 1 && values.get(0) != null && headers.isTotalText(values.get(0)));
+    }
+
+    /**
+     * workbook.xml 의 SUMMARY_ROW_NAME 이름 (시트 범위) 이 가리키는 행
+     * 행을 삭제해 참조가 #REF! 가 된 이름은 무시한다.
+     */
+    private static Map<Integer, Integer> summaryRows(InputStream workbookData) throws XMLStreamException {
+        Map<Integer, Integer> summaryRows = new HashMap<>();
+        XMLStreamReader reader = XMLHelper.newXMLInputFactory().createXMLStreamReader(workbookData);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT || !reader.getLocalName().equals("definedName"))
+                    continue;
+                String localSheetId = reader.getAttributeValue(null, "localSheetId");
+                if (!SheetWriter.SUMMARY_ROW_NAME.equalsIgnoreCase(reader.getAttributeValue(null, "name")) || localSheetId == null)
+                    continue;
+                Matcher matcher = SUMMARY_ROW_REFERENCE.matcher(reader.getElementText().trim());
+                if (matcher.matches())
+                    summaryRows.put(Integer.parseInt(localSheetId), Integer.parseInt(matcher.group(1)));
+            }
+        } finally {
+            reader.close();
+        }
+        return summaryRows;
+    }
+
+    private void closeSheet() throws IOException, XMLStreamException {
+        if (sheetReader != null) {
+            sheetReader.close();
+            sheetReader = null;
+        }
+        if (sheetInputStream != null) {
+            sheetInputStream.close();
+            sheetInputStream = null;
+        }
+    }
+
+    private static int columnIndex(String ref) {
+        int column = 0;
+        for (int i = 0; i < ref.length() && Character.isLetter(ref.charAt(i)); i++)
+            column = column * 26 + (ref.charAt(i) - 'A' + 1);
+        return column - 1;
+    }
+
+    private static String columnName(int column) {
+        StringBuilder name = new StringBuilder();
+        for (int n = column + 1; n > 0; n = (n - 1) / 26)
+            name.insert(0, (char) ('A' + (n - 1) % 26));
+        return name.toString();
+    }
+
+    private static MethodHandle constructor(Class<?> clazz) {
+        try {
+            var constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(clazz.getName() + " needs a no-args constructor to be read", e);
+        }
+    }
+
+    /**
+     * 필드 setter 와 값 변환기, 값을 넣을 수 없는 컬럼은 null
+     */
+    private static ReadColumn readColumn(Class<?> clazz, String fieldName, ExcelFieldInfo fieldInfo) {
+        Field field = null;
+        for (Class<?> type = clazz; type != null && field == null; type = type.getSuperclass()) {
+            try {
+                field = type.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException ignored) {
+                // 상위 클래스에서 계속 탐색
+            }
+        }
+        if (field == null || java.lang.reflect.Modifier.isFinal(field.getModifiers()))
+            return null;
+
+        try {
+            field.setAccessible(true);
+            MethodHandle setter = MethodHandles.lookup().unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return new ReadColumn(setter, converter(field.getType(), fieldInfo.format()), fieldInfo.columnDefault());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("cannot access field : " + field, e);
+        }
+    }
+
+    /**
+     * 필드 타입별 변환기 (셀 값 문자열, 셀 타입) -> 필드 값
+     */
+    private static CellConverter converter(Class<?> type, String format) {
+        if (type == String.class)
+            return (value, cellType) -> cellType == null || cellType.equals("n") ? plainNumber(value) : value;
+        if (type == int.class || type == Integer.class)
+            return (value, cellType) -> decimal(value).intValueExact();
+        if (type == long.class || type == Long.class)
+            return (value, cellType) -> decimal(value).longValueExact();
+        if (type == short.class || type == Short.class)
+            return (value, cellType) -> decimal(value).shortValueExact();
+        if (type == byte.class || type == Byte.class)
+            return (value, cellType) -> decimal(value).byteValueExact();
+        if (type == double.class || type == Double.class)
+            return (value, cellType) -> decimal(value).doubleValue();
+        if (type == float.class || type == Float.class)
+            return (value, cellType) -> decimal(value).floatValue();
+        if (type == BigDecimal.class)
+            return (value, cellType) -> decimal(value);
+        if (type == BigInteger.class)
+            return (value, cellType) -> decimal(value).toBigIntegerExact();
+        if (type == boolean.class || type == Boolean.class)
+            return (value, cellType) -> value.equals("1") || value.equalsIgnoreCase("true") || value.equalsIgnoreCase("Y");
+        if (type == char.class || type == Character.class)
+            return (value, cellType) -> value.charAt(0);
+        if (type == LocalDateTime.class)
+            return dateConverter(format, Function.identity(), ExcelReader::parseDateTime, LocalDateTime::parse);
+        if (type == LocalDate.class)
+            return dateConverter(format, LocalDateTime::toLocalDate, LocalDate::parse, LocalDate::parse);
+        if (type == Date.class)
+            return dateConverter(format, dateTime -> Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant()),
+                    (text, formatter) -> Date.from(parseDateTime(text, formatter).atZone(ZoneId.systemDefault()).toInstant()),
+                    text -> Date.from(LocalDateTime.parse(text).atZone(ZoneId.systemDefault()).toInstant()));
+        if (type.isEnum())
+            return enumConverter(type);
+        return (value, cellType) -> {
+            throw new IllegalArgumentException("unsupported field type : " + type.getName());
+        };
+    }
+
+    /**
+     * 숫자 셀은 엑셀 날짜 숫자로, 문자열 셀은 format (엑셀 날짜 코드, 변환할 수 없으면 ISO 형식) 으로 변환
+     */
+    private static <D> CellConverter dateConverter(String format, Function<LocalDateTime, D> fromExcelDate,
+                                                    DateParser<D> parser, Function<String, D> isoParser) {
+        DateTimeFormatter formatter = ExcelDateFormats.dateTimeFormatter(format);
+        return (value, cellType) -> {
+            if (cellType == null || cellType.equals("n"))
+                return fromExcelDate.apply(DateUtil.getLocalDateTime(Double.parseDouble(value)));
+            if (formatter != null) {
+                try {
+                    return parser.parse(value, formatter);
+                } catch (DateTimeParseException ignored) {
+                    // ISO 형식으로 재시도
+                }
+            }
+            return isoParser.apply(value);
+        };
+    }
+
+    /**
+     * 날짜만 있는 서식이면 0시로 변환
+     */
+    private static LocalDateTime parseDateTime(String text, DateTimeFormatter formatter) {
+        TemporalAccessor parsed = formatter.parseBest(text, LocalDateTime::from, LocalDate::from);
+        return parsed instanceof LocalDate date ? date.atStartOfDay() : (LocalDateTime) parsed;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static CellConverter enumConverter(Class<?> type) {
+        Map<String, Object> constants = new HashMap<>();
+        for (Object constant : type.getEnumConstants()) {
+            constants.putIfAbsent(((Enum) constant).name(), constant);
+            constants.putIfAbsent(constant.toString(), constant);
+        }
+        return (value, cellType) -> {
+            Object constant = constants.get(value);
+            if (constant == null)
+                throw new IllegalArgumentException("no enum constant " + type.getName() + "." + value);
+            return constant;
+        };
+    }
+
+    private static BigDecimal decimal(String value) {
+        return new BigDecimal(value.trim().replace(",", ""));
+    }
+
+    /**
+     * 숫자 셀을 문자열 필드에 넣을 때 1.0 -> 1 로 변환
+     */
+    private static String plainNumber(String value) {
+        try {
+            return new BigDecimal(value).stripTrailingZeros().toPlainString();
+        } catch (NumberFormatException e) {
+            return value;
+        }
+    }
+
+    @FunctionalInterface
+    private interface CellConverter {
+        Object apply(String value, String cellType);
+    }
+
+    @FunctionalInterface
+    private interface DateParser<D> {
+        D parse(String text, DateTimeFormatter formatter);
+    }
+
+    private record ReadColumn(MethodHandle setter, CellConverter converter, String columnDefault) {}
+}
@@ -0,0 +1,471 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.accessor.ColumnAccessor;
+import net.youyoung.excel.accessor.ColumnAccessors;
+import net.youyoung.excel.annotation.ExcelAggregate;
+import net.youyoung.excel.annotation.ExcelColumn;
+import net.youyoung.excel.annotation.ExcelEmbedded;
+import net.youyoung.excel.annotation.ExcelFieldInfo;
+import net.youyoung.excel.annotation.ExcelTitle;
+import net.youyoung.excel.annotation.GeneratedExcelSchema;
+import net.youyoung.excel.style.CellStyleStrategy;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DTO 클래스의 엑셀 스키마
+ *
+ * @ExcelTitle, @ExcelColumn 정보와 컬럼 접근자를 클래스당 한번 파싱해서 보관한다.
+ * 컴파일 시점에 생성된 GeneratedExcelSchema 가 있으면 리플렉션 대신 사용한다.
+ * 워크북에 종속되지 않는 정보만 가지며 ExcelSchemaCache 를 통해 공유된다.
+ * 로케일별 헤더, 시트 제목은 처음 사용될 때 한번 계산해서 보관한다.
+ */
+final class ExcelSchema<T> {
+
+    private final Class<T> type;
+
+    private final ExcelTitle excelTitle;
+
+    private final CellStyleStrategy titleStyleStrategy;
+
+    private final Map<String, ExcelFieldInfo> fieldInfoMap;
+
+    private final List<ColumnAccessor> accessors;
+
+    private final RowWriterPlan<T> plan;
+
+    private final ColumnValueWriter[] valueWriters;
+
+    private final ExcelAggregate[] aggregates;
+
+    private final Map<Locale, ExcelHeaders> headers = new ConcurrentHashMap<>();
+
+    private ExcelSchema(Class<T> type, ExcelTitle excelTitle, CellStyleStrategy titleStyleStrategy, Map<String, ExcelFieldInfo> fieldInfoMap, List<ColumnAccessor> accessors) {
+        this.type = type;
+        this.excelTitle = excelTitle;
+        this.titleStyleStrategy = titleStyleStrategy;
+        this.fieldInfoMap = Collections.unmodifiableMap(fieldInfoMap);
+        this.accessors = List.copyOf(accessors);
+        this.plan = RowWriterPlan.compile(this);
+        this.valueWriters = ColumnValueWriter.compile(this);
+        this.aggregates = ColumnAggregates.aggregates(this.fieldInfoMap, this.accessors);
+    }
+
+    Class<T> type() {
+        return type;
+    }
+
+    /**
+     * @return @ExcelTitle 미선언 시 null
+     */
+    ExcelTitle excelTitle() {
+        return excelTitle;
+    }
+
+    CellStyleStrategy titleStyleStrategy() {
+        return titleStyleStrategy;
+    }
+
+    /**
+     * 필드명 - 컬럼 정보 (선언 순서)
+     */
+    Map<String, ExcelFieldInfo> fieldInfoMap() {
+        return fieldInfoMap;
+    }
+
+    /**
+     * 컬럼 순서와 같은 순서의 접근자
+     */
+    List<ColumnAccessor> accessors() {
+        return accessors;
+    }
+
+    RowWriterPlan<T> plan() {
+        return plan;
+    }
+
+    /**
+     * 컬럼 순서의 값 writer (ExcelEngine.DIRECT, 병렬 변환), 변경하지 않고 공유한다.
+     */
+    ColumnValueWriter[] valueWriters() {
+        return valueWriters;
+    }
+
+    /**
+     * 컬럼 순서의 @ExcelColumn(aggregate), 집계 컬럼이 없으면 null
+     */
+    ExcelAggregate[] aggregates() {
+        return aggregates;
+    }
+
+    /**
+     * locale 의 헤더, 시트 제목 (로케일별 캐시)
+     */
+    ExcelHeaders headers(Locale locale) {
+        return headers.computeIfAbsent(locale, key -> ExcelHeaders.resolve(this, key));
+    }
+
+    /**
+     * 클래스 스캔 및 CellStyleStrategy 인스턴스 생성
+     */
+    static <T> ExcelSchema<T> build(Class<T> clazz) {
+        GeneratedExcelSchema generated = findGenerated(clazz);
+        if (generated != null)
+            return build(clazz, generated);
+
+        try {
+            ExcelTitle excelTitle = excelTitle(clazz);
+            CellStyleStrategy titleStyleStrategy = excelTitle == null ? null : newStrategy(excelTitle.titleStyle());
+
+            Map<String, ExcelFieldInfo> fieldInfoMap = new LinkedHashMap<>();
+            List<ColumnAccessor> accessors = new ArrayList<>();
+
+            for (Column column : columns(clazz, new HashSet<>())) {
+                fieldInfoMap.put(column.name(), column.fieldInfo());
+                accessors.add(column.accessor());
+            }
+            return new ExcelSchema<>(clazz, excelTitle, titleStyleStrategy, fieldInfoMap, accessors);
+
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * clazz 의 컬럼 (@ExcelEmbedded 는 펼친 결과)
+     *
+     * @param visiting 펼치는 중인 클래스 (순환 참조 검사)
+     */
+    private static List<Column> columns(Class<?> clazz, Set<Class<?>> visiting) throws ReflectiveOperationException {
+        if (!visiting.add(clazz))
+            throw new IllegalArgumentException("recursive @ExcelEmbedded : " + clazz.getName());
+
+        // 같은 이름은 하위 클래스 선언으로 교체 (위치는 유지)
+        Map<String, ColumnMember> members = new LinkedHashMap<>();
+        for (Class<?> type : hierarchy(clazz))
+            for (ColumnMember member : columnMembers(type, visiting))
+                members.put(member.name(), member);
+
+        List<ColumnMember> ordered = new ArrayList<>(members.values());
+        ordered.sort(Comparator.comparingInt(ColumnMember::order));
+
+        List<Column> columns = new ArrayList<>();
+        for (ColumnMember member : ordered)
+            columns.addAll(member.columns());
+
+        visiting.remove(clazz);
+        return columns;
+    }
+
+    /**
+     * Object 를 제외한 최상위 클래스부터 clazz 까지
+     * 인터페이스 (Spring Data 프로젝션 등) 는 상위 인터페이스부터 clazz 까지
+     */
+    private static List<Class<?>> hierarchy(Class<?> clazz) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        if (clazz.isInterface()) {
+            for (Class<?> parent : clazz.getInterfaces()) {
+                for (Class<?> type : hierarchy(parent)) {
+                    if (!hierarchy.contains(type))
+                        hierarchy.add(type);
+                }
+            }
+            hierarchy.add(clazz);
+            return hierarchy;
+        }
+        for (Class<?> type = clazz; type != null && type != Object.class; type = type.getSuperclass())
+            hierarchy.add(0, type);
+        return hierarchy;
+    }
+
+    /**
+     * @ExcelTitle 은 상속되지 않으므로 상위 클래스까지 조회 (프록시 클래스 대응)
+     */
+    private static ExcelTitle excelTitle(Class<?> clazz) {
+        for (Class<?> type = clazz; type != null; type = type.getSuperclass()) {
+            ExcelTitle excelTitle = type.getAnnotation(ExcelTitle.class);
+            if (excelTitle != null)
+                return excelTitle;
+        }
+        return null;
+    }
+
+    /**
+     * 한 클래스에 선언된 컬럼 (record 컴포넌트 또는 필드 선언 순서, 그 다음 getter 메소드명 순서)
+     */
+    private static List<ColumnMember> columnMembers(Class<?> type, Set<Class<?>> visiting) throws ReflectiveOperationException {
+        List<ColumnMember> members = new ArrayList<>();
+        Set<Method> componentAccessors = new HashSet<>();
+
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                // 컴포넌트의 어노테이션은 필드와 접근자 메소드에 전파된다
+                componentAccessors.add(component.getAccessor());
+                ColumnMember member = columnMember(component.getName(), ColumnAccessors.forMethod(component.getAccessor()), visiting,
+                        component.getAccessor(), declaredField(type, component.getName()));
+                if (member != null)
+                    members.add(member);
+            }
+        } else {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || !isColumn(field))
+                    continue;
+                Method getter = getter(type, field);
+                members.add(columnMember(field.getName(), getter == null ? ColumnAccessors.forField(field) : ColumnAccessors.forMethod(getter), visiting, field));
+            }
+        }
+
+        // getDeclaredMethods 순서는 보장되지 않으므로 메소드명 순
+        Method[] methods = type.getDeclaredMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName));
+        for (Method method : methods) {
+            if (!isColumn(method) || componentAccessors.contains(method) || method.isBridge() || method.isSynthetic())
+                continue;
+            if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() > 0 || method.getReturnType() == void.class)
+                throw new IllegalArgumentException("@ExcelColumn method must be a non-static getter without parameters : " + method);
+            members.add(columnMember(propertyName(method), ColumnAccessors.forMethod(method), visiting, method));
+        }
+        return members;
+    }
+
+    private static boolean isColumn(AnnotatedElement element) {
+        return element.isAnnotationPresent(ExcelColumn.class) || element.isAnnotationPresent(ExcelEmbedded.class);
+    }
+
+    /**
+     * @ExcelColumn (path 포함) 은 컬럼 하나, @ExcelEmbedded 는 값 타입의 컬럼을 펼친 묶음
+     *
+     * @param accessor 행 객체에서 멤버 값을 읽는 접근자
+     * @param annotated 어노테이션을 조회할 요소 (record 는 접근자 메소드, 필드)
+     * @return 어노테이션이 없으면 null
+     */
+    private static ColumnMember columnMember(String name, ColumnAccessor accessor, Set<Class<?>> visiting, AnnotatedElement... annotated) throws ReflectiveOperationException {
+        ExcelColumn excelColumn = annotation(ExcelColumn.class, annotated);
+        ExcelEmbedded excelEmbedded = annotation(ExcelEmbedded.class, annotated);
+        if (excelColumn != null && excelEmbedded != null)
+            throw new IllegalArgumentException("@ExcelColumn and @ExcelEmbedded cannot be used together : " + name);
+
+        if (excelColumn != null) {
+            if (excelColumn.path().isEmpty())
+                return new ColumnMember(name, excelColumn.order(), List.of(new Column(name, fieldInfo(excelColumn), accessor)));
+
+            List<ColumnAccessor> steps = path(accessor.type(), excelColumn.path());
+            String pathName = name + "." + excelColumn.path();
+            return new ColumnMember(name, excelColumn.order(), List.of(new Column(pathName, fieldInfo(excelColumn), ColumnAccessors.forPath(accessor, steps))));
+        }
+
+        if (excelEmbedded != null) {
+            String headerEnPrefix = excelEmbedded.headerEnPrefix().isEmpty() ? excelEmbedded.headerPrefix() : excelEmbedded.headerEnPrefix();
+            List<Column> columns = new ArrayList<>();
+            for (Column column : columns(accessor.type(), visiting)) {
+                ExcelFieldInfo fieldInfo = column.fieldInfo();
+                columns.add(new Column(
+                        name + "." + column.name(),
+                        new ExcelFieldInfo(excelEmbedded.headerPrefix() + fieldInfo.header(), headerEnPrefix + fieldInfo.headerEn(), fieldInfo.width(),
+                                fieldInfo.headerStyleStrategy(), fieldInfo.bodyStyleStrategy(), fieldInfo.format(), fieldInfo.columnDefault(), fieldInfo.autoWidth(),
+                                fieldInfo.headerKey().isEmpty() ? "" : excelEmbedded.headerKeyPrefix() + fieldInfo.headerKey(), fieldInfo.aggregate()),
+                        ColumnAccessors.forPath(accessor, List.of(column.accessor()))));
+            }
+            return new ColumnMember(name, excelEmbedded.order(), columns);
+        }
+        return null;
+    }
+
+    private static <A extends Annotation> A annotation(Class<A> annotationType, AnnotatedElement... elements) {
+        for (AnnotatedElement element : elements) {
+            A annotation = element.getAnnotation(annotationType);
+            if (annotation != null)
+                return annotation;
+        }
+        return null;
+    }
+
+    private static ExcelFieldInfo fieldInfo(ExcelColumn excelColumn) throws ReflectiveOperationException {
+        return new ExcelFieldInfo
+                (
+                        excelColumn.header().equals("") ? excelColumn.headerEn() : excelColumn.header(),
+                        excelColumn.headerEn().equals("") ? excelColumn.header() : excelColumn.headerEn(),
+                        excelColumn.width(),
+                        newStrategy(excelColumn.headerStyle()),
+                        newStrategy(excelColumn.bodyStyle()),
+                        excelColumn.format(),
+                        excelColumn.columnDefault(),
+                        excelColumn.autoWidth(),
+                        excelColumn.headerKey(),
+                        excelColumn.aggregate()
+                );
+    }
+
+    /**
+     * "address.city" 를 선언 타입 기준 프로퍼티 접근자 목록으로 변환
+     */
+    private static List<ColumnAccessor> path(Class<?> type, String path) {
+        List<ColumnAccessor> steps = new ArrayList<>();
+        for (String property : path.split("\\.")) {
+            ColumnAccessor step = property(type, property);
+            if (step == null)
+                throw new IllegalArgumentException("unknown property '" + property + "' of " + type.getName() + " in path '" + path + "'");
+            steps.add(step);
+            type = step.type();
+        }
+        return steps;
+    }
+
+    /**
+     * record 컴포넌트, getter (getXxx, isXxx, xxx()), 필드 순서로 탐색
+     *
+     * @return 없으면 null
+     */
+    private static ColumnAccessor property(Class<?> type, String name) {
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                if (component.getName().equals(name))
+                    return ColumnAccessors.forMethod(component.getAccessor());
+            }
+        }
+
+        String capitalized = name.isEmpty() ? name : Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (String getterName : new String[]{"get" + capitalized, "is" + capitalized, name}) {
+            Method getter = findMethod(type, getterName);
+            if (getter != null)
+                return ColumnAccessors.forMethod(getter);
+        }
+
+        for (Class<?> declaringType = type; declaringType != null; declaringType = declaringType.getSuperclass()) {
+            try {
+                Field field = declaringType.getDeclaredField(name);
+                if (!Modifier.isStatic(field.getModifiers()))
+                    return ColumnAccessors.forField(field);
+            } catch (NoSuchFieldException ignored) {
+                // 상위 클래스에서 계속 탐색
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 파라미터 없는 non-static, non-void 메소드 (public 메소드는 인터페이스 포함)
+     */
+    private static Method findMethod(Class<?> type, String name) {
+        try {
+            Method method = type.getMethod(name);
+            if (!Modifier.isStatic(method.getModifiers()) && method.getReturnType() != void.class)
+                return method;
+        } catch (NoSuchMethodException ignored) {
+            // public 이 아닌 메소드 탐색
+        }
+        for (Class<?> declaringType = type; declaringType != null; declaringType = declaringType.getSuperclass()) {
+            try {
+                Method method = declaringType.getDeclaredMethod(name);
+                if (!Modifier.isStatic(method.getModifiers()) && method.getReturnType() != void.class)
+                    return method;
+            } catch (NoSuchMethodException ignored) {
+                // 상위 클래스에서 계속 탐색
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 필드와 같은 타입을 반환하는 getXxx / isXxx, 프록시가 재정의할 수 없는 private, static 메소드는 제외
+     */
+    private static Method getter(Class<?> type, Field field) {
+        String name = field.getName();
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        String[] getterNames = field.getType() == boolean.class
+                ? new String[]{name.startsWith("is") && name.length() > 2 && Character.isUpperCase(name.charAt(2)) ? name : "is" + capitalized, "get" + capitalized}
+                : new String[]{"get" + capitalized};
+
+        for (String getterName : getterNames) {
+            try {
+                Method method = type.getDeclaredMethod(getterName);
+                int modifiers = method.getModifiers();
+                if (method.getReturnType() == field.getType() && !Modifier.isPrivate(modifiers) && !Modifier.isStatic(modifiers))
+                    return method;
+            } catch (NoSuchMethodException ignored) {
+                // 다음 이름으로 탐색
+            }
+        }
+        return null;
+    }
+
+    /**
+     * getXxx, isXxx 는 xxx, 그 외는 메소드명
+     */
+    private static String propertyName(Method method) {
+        String name = method.getName();
+        int prefix = name.startsWith("get") ? 3 : name.startsWith("is") ? 2 : 0;
+        if (prefix == 0 || name.length() == prefix || !Character.isUpperCase(name.charAt(prefix)))
+            return name;
+        return Character.toLowerCase(name.charAt(prefix)) + name.substring(prefix + 1);
+    }
+
+    private static Field declaredField(Class<?> type, String name) {
+        try {
+            return type.getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 컬럼으로 선언된 필드, record 컴포넌트 또는 getter
+     *
+     * @param name 필드명 또는 getter 의 프로퍼티명 (하위 클래스 재선언 판단)
+     * @param columns 멤버가 만드는 컬럼 (@ExcelEmbedded 는 여러 개)
+     */
+    private record ColumnMember(String name, int order, List<Column> columns) {}
+
+    /**
+     * @param name fieldInfoMap 키 (중첩 컬럼은 "customer.name")
+     */
+    private record Column(String name, ExcelFieldInfo fieldInfo, ColumnAccessor accessor) {}
+
+    /**
+     * 컴파일 시점에 생성된 스키마 사용 (필드 스캔, 리플렉션 없음)
+     */
+    private static <T> ExcelSchema<T> build(Class<T> clazz, GeneratedExcelSchema generated) {
+        Map<String, ExcelFieldInfo> fieldInfoMap = new LinkedHashMap<>();
+        List<ColumnAccessor> accessors = new ArrayList<>();
+        for (GeneratedExcelSchema.Column column : generated.columns()) {
+            fieldInfoMap.put(column.name(), column.fieldInfo());
+            accessors.add(column.accessor());
+        }
+        return new ExcelSchema<>(clazz, generated.excelTitle(), generated.titleStyleStrategy(), fieldInfoMap, accessors);
+    }
+
+    /**
+     * excel-utils-processor 가 생성한 "클래스명_ExcelSchema" 조회
+     *
+     * @return 생성된 클래스가 없거나 다른 클래스용이면 null
+     */
+    private static GeneratedExcelSchema findGenerated(Class<?> clazz) {
+        String generatedName = clazz.getName().replace('$', '_') + GeneratedExcelSchema.CLASS_NAME_SUFFIX;
+        try {
+            Class<?> generatedClass = Class.forName(generatedName, true, clazz.getClassLoader());
+            if (!GeneratedExcelSchema.class.isAssignableFrom(generatedClass))
+                return null;
+
+            GeneratedExcelSchema generated = (GeneratedExcelSchema) generatedClass.getDeclaredConstructor().newInstance();
+            return generated.type() == clazz ? generated : null;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("cannot create " + generatedName, e);
+        }
+    }
+
+    /**
+     * CellStyleStrategy 는 캐시되어 여러 요청에서 공유되므로 상태를 가지지 않아야 한다.
+     */
+    private static CellStyleStrategy newStrategy(Class<? extends CellStyleStrategy> strategyClass) throws ReflectiveOperationException {
+        return strategyClass.getDeclaredConstructor().newInstance();
+    }
+}
@@ -0,0 +1,68 @@
+package net.youyoung.excel;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 클래스별 ExcelSchema 캐시
+ *
+ * ClassValue 에 보관하므로 스키마는 Class 객체에 붙어서 함께 수거된다.
+ * 재배포, devtools 재시작으로 버려진 클래스로더를 캐시가 붙잡지 않으며, 조회 시 잠금이 없다.
+ * 클래스로더가 다른 동명 클래스는 서로 다른 Class 이므로 별도로 캐시된다.
+ */
+public final class ExcelSchemaCache {
+
+    private static final LongAdder requests = new LongAdder();
+
+    private static final LongAdder misses = new LongAdder();
+
+    private static volatile ClassValue<ExcelSchema<?>> cache = newCache();
+
+    private ExcelSchemaCache() {}
+
+    /**
+     * 캐시된 스키마 조회, 없으면 파싱 후 저장
+     * 동시에 같은 클래스가 파싱된 경우 먼저 저장된 스키마를 사용한다.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ExcelSchema<T> get(Class<T> clazz) {
+        requests.increment();
+        return (ExcelSchema<T>) cache.get(clazz);
+    }
+
+    public static void invalidate(Class<?> clazz) {
+        cache.remove(clazz);
+    }
+
+    /**
+     * 모든 스키마 제거, 이전 ClassValue 에 남은 값은 GC 시 함께 수거된다.
+     */
+    public static void clear() {
+        cache = newCache();
+    }
+
+    public static Stats stats() {
+        long missCount = misses.sum();
+        return new Stats(Math.max(requests.sum() - missCount, 0), missCount);
+    }
+
+    private static ClassValue<ExcelSchema<?>> newCache() {
+        return new ClassValue<>() {
+            @Override
+            protected ExcelSchema<?> computeValue(Class<?> type) {
+                misses.increment();
+                return ExcelSchema.build(type);
+            }
+        };
+    }
+
+    /**
+     * 캐시 적중/실패 통계
+     */
+    public record Stats(long hitCount, long missCount) {
+
+        public double hitRate() {
+            long total = hitCount + missCount;
+            return total == 0 ? 1.0 : (double) hitCount / total;
+        }
+    }
+}
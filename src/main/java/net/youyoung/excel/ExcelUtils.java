@@ -2,14 +2,7 @@ package net.youyoung.excel;
 
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletResponse;
-import net.youyoung.excel.annotation.ExcelColumn;
-import net.youyoung.excel.annotation.ExcelFieldInfo;
-import net.youyoung.excel.annotation.ExcelTitle;
 import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellStyle;
-import org.apache.poi.ss.usermodel.DataFormat;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.core.io.ByteArrayResource;
@@ -20,14 +13,18 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author Judalm park
@@ -36,6 +33,10 @@ public class ExcelUtils<T> {
 
     public static final String EXCEL_MIME_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
 
+    public static final String CSV_MIME_TYPE = "text/csv; charset=UTF-8";
+
+    public static final String GZIP_MIME_TYPE = "application/gzip";
+
     private ExcelUtils() {}
 
     /**
@@ -50,64 +51,58 @@ public class ExcelUtils<T> {
 
         parameterValidation(list, clazz);
 
-        Locale locale = LocaleContextHolder.getLocale();
-
-        try (SXSSFWorkbook workbook = new SXSSFWorkbook()) {
-            SXSSFSheet sheet = workbook.createSheet();
-            DataFormat dataFormat = workbook.createDataFormat();
-            int rowNo = 0, cellNo = 0;
-            Map<String, ExcelFieldInfo> fieldInfoMap = excelColumnMetaData(clazz, workbook);
-            Set<String> fieldNames = fieldInfoMap.keySet();
-            int contentSize = list.size();
-
-            String sheetTitle = "";
-            // @ExcelTitle
-            if (clazz.isAnnotationPresent(ExcelTitle.class)) {
-
-                ExcelTitle excelTitle = clazz.getAnnotation(ExcelTitle.class);
-
-                if (excelTitle.useSheetTitle()) {
-                    Row titleRow = sheet.createRow(rowNo++);
-                    //cell 생성 및 설정
-                    Cell titleCell = titleRow.createCell(cellNo);
-
-                    sheetTitle = isLocaleKorean(locale) ? excelTitle.sheetTitle() : excelTitle.sheetTitleEn();
-
-                    if (sheetTitle.equals(""))
-                        sheetTitle = downloadFileName;
-
+        download(list.iterator(), clazz, downloadFileName, list.size());
+    }
 
-                    titleCell.setCellValue(sheetTitle);
-                    titleCell.setCellStyle(excelTitle.titleStyle().getDeclaredConstructor().newInstance().getCellStyle(workbook));
-                }
+    /**
+     * Stream 을 한 행씩 소비하며 기록하는 엑셀 다운로드
+     * 전체 건수를 알 수 없으므로 @ExcelTitle.useTotal 의 전체 건수 행은 Body 다음에 기록된다.
+     * Stream 을 닫는 것은 호출자의 책임이다.
+     *
+     * 사용코드
+     *
+     * try (Stream<Example> stream = exampleRepository.streamAll()) {
+     *     ExcelUtils.download(stream, Example.class, "파일명");
+     * }
+     */
+    public static <T> void download(@NonNull Stream<T> stream, @NonNull Class<T> clazz, String downloadFileName) {
+        download(stream, clazz, downloadFileName, SheetWriter.UNKNOWN_TOTAL_COUNT);
+    }
 
-                if (excelTitle.useTotal()) {
-                    Row totlaRow = sheet.createRow(rowNo++);
-                    Cell totalCell = totlaRow.createCell(cellNo);
-                    totalCell.setCellValue(isLocaleKorean(locale) ? "전체 : " + contentSize : "Total : " + contentSize);
-                }
-            }
+    /**
+     * @param totalCount 전체 건수 (count 쿼리 등으로 미리 알고 있는 경우), 제목 아래 전체 건수 행에 사용
+     */
+    public static <T> void download(@NonNull Stream<T> stream, @NonNull Class<T> clazz, String downloadFileName, long totalCount) {
 
-            setSheetTitle(workbook, sheetTitle);
+        parameterValidation(stream, clazz);
 
-            //header
-            rowNo = setHeaderCellValue(locale, sheet, rowNo, cellNo, fieldInfoMap, fieldNames);
+        download(stream.iterator(), clazz, downloadFileName, totalCount);
+    }
 
-            if (contentSize == 0) {
-                write(downloadFileName, workbook);
-                return;
-            }
+    /**
+     * Iterator 를 한 행씩 소비하며 기록하는 엑셀 다운로드
+     * 페이지 단위 조회는 ExcelUtils.pages() 로 Iterator 를 만들어 사용
+     */
+    public static <T> void download(@NonNull Iterator<T> rows, @NonNull Class<T> clazz, String downloadFileName) {
+        download(rows, clazz, downloadFileName, SheetWriter.UNKNOWN_TOTAL_COUNT);
+    }
 
+    /**
+     * @param totalCount 전체 건수 (count 쿼리 등으로 미리 알고 있는 경우), 제목 아래 전체 건수 행에 사용
+     */
+    public static <T> void download(@NonNull Iterator<T> rows, @NonNull Class<T> clazz, String downloadFileName, long totalCount) {
+        download(rows, clazz, downloadFileName, totalCount, ExcelExportOptions.defaults());
+    }
 
-            //body
-            setBodyCellValue(list, sheet, dataFormat, rowNo, fieldInfoMap, fieldNames);
+    /**
+     * @param totalCount 전체 건수, 모르는 경우 음수 (전체 건수 행은 Body 다음에 기록)
+     * @param options 시트당 최대 행 수 등 내보내기 옵션
+     */
+    public static <T> void download(@NonNull Iterator<T> rows, @NonNull Class<T> clazz, String downloadFileName, long totalCount, @NonNull ExcelExportOptions options) {
 
-            write(downloadFileName, workbook);
+        parameterValidation(rows, clazz);
 
-        } catch (IllegalAccessException | IOException | NoSuchFieldException | NoSuchMethodException |
-                 InstantiationException | InvocationTargetException e) {
-            throw new RuntimeException(e);
-        }
+        write(downloadFileName, outputStream -> export(rows, clazz, totalCount, downloadFileName, "", options, outputStream));
     }
 
     /**
@@ -125,211 +120,492 @@ public class ExcelUtils<T> {
 
         parameterValidation(list, clazz);
 
-        Locale locale = LocaleContextHolder.getLocale();
+        return getResource(list.iterator(), clazz, list.size(), "", ExcelExportOptions.defaults());
+    }
 
-        try (SXSSFWorkbook workbook = new SXSSFWorkbook();
-             ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();) {
-            SXSSFSheet sheet = workbook.createSheet();
-            DataFormat dataFormat = workbook.createDataFormat();
-            int rowNo = 0, cellNo = 0;
-            Map<String, ExcelFieldInfo> fieldInfoMap = excelColumnMetaData(clazz, workbook);
-            Set<String> fieldNames = fieldInfoMap.keySet();
-            int contentSize = list.size();
+    /**
+     * 시트 첫번째 셀 제목 커스텀 추가
+     */
+    public static <T> Resource getResource(@NonNull List<T> list, @NonNull Class<T> clazz, String titleAppend) {
 
-            String sheetTitle = "";
-            // @ExcelTitle
-            if (clazz.isAnnotationPresent(ExcelTitle.class)) {
+        parameterValidation(list, clazz);
 
-                ExcelTitle excelTitle = clazz.getAnnotation(ExcelTitle.class);
+        return getResource(list.iterator(), clazz, list.size(), titleAppend, ExcelExportOptions.defaults());
+    }
 
-                if (excelTitle.useSheetTitle()) {
-                    Row titleRow = sheet.createRow(rowNo++);
-                    //cell 생성 및 설정
-                    Cell titleCell = titleRow.createCell(cellNo);
+    /**
+     * Stream 을 한 행씩 소비하며 기록한 엑셀 리소스
+     * 전체 건수 행은 Body 다음에 기록된다.
+     */
+    public static <T> Resource getResource(@NonNull Stream<T> stream, @NonNull Class<T> clazz) {
+        return getResource(stream, clazz, SheetWriter.UNKNOWN_TOTAL_COUNT);
+    }
 
-                    sheetTitle = isLocaleKorean(locale) ? excelTitle.sheetTitle() : excelTitle.sheetTitleEn();
+    public static <T> Resource getResource(@NonNull Stream<T> stream, @NonNull Class<T> clazz, long totalCount) {
 
-                    titleCell.setCellValue(sheetTitle);
-                    titleCell.setCellStyle(excelTitle.titleStyle().getDeclaredConstructor().newInstance().getCellStyle(workbook));
-                }
+        parameterValidation(stream, clazz);
 
-                if (excelTitle.useTotal()) {
-                    Row totlaRow = sheet.createRow(rowNo++);
-                    Cell totalCell = totlaRow.createCell(cellNo);
-                    totalCell.setCellValue(isLocaleKorean(locale) ? "전체 : " + contentSize : "Total : " + contentSize);
-                }
-            }
+        return getResource(stream.iterator(), clazz, totalCount, "", ExcelExportOptions.defaults());
+    }
 
-            setSheetTitle(workbook, sheetTitle);
+    /**
+     * Iterator 를 한 행씩 소비하며 기록한 엑셀 리소스
+     * 전체 건수 행은 Body 다음에 기록된다.
+     */
+    public static <T> Resource getResource(@NonNull Iterator<T> rows, @NonNull Class<T> clazz) {
+        return getResource(rows, clazz, SheetWriter.UNKNOWN_TOTAL_COUNT);
+    }
 
-            //header
-            rowNo = setHeaderCellValue(locale, sheet, rowNo, cellNo, fieldInfoMap, fieldNames);
+    public static <T> Resource getResource(@NonNull Iterator<T> rows, @NonNull Class<T> clazz, long totalCount) {
+        return getResource(rows, clazz, totalCount, ExcelExportOptions.defaults());
+    }
 
-            if (contentSize == 0)
-                return getWorkbookResource(workbook, byteArrayOutputStream);
+    /**
+     * @param totalCount 전체 건수, 모르는 경우 음수 (전체 건수 행은 Body 다음에 기록)
+     * @param options 시트당 최대 행 수 등 내보내기 옵션
+     */
+    public static <T> Resource getResource(@NonNull Iterator<T> rows, @NonNull Class<T> clazz, long totalCount, @NonNull ExcelExportOptions options) {
+
+        parameterValidation(rows, clazz);
+
+        return getResource(rows, clazz, totalCount, "", options);
+    }
+
+    /**
+     * 페이지 단위 조회 함수를 Iterator 로 변환
+     * 페이지 번호는 0 부터 시작하며 빈 페이지가 반환되면 종료한다.
+     *
+     * 사용코드
+     *
+     * ExcelUtils.download(ExcelUtils.pages(page -> exampleRepository.findAll(PageRequest.of(page, 1000)).getContent()), Example.class, "파일명");
+     */
+    public static <T> Iterator<T> pages(@NonNull Function<Integer, List<T>> pageLoader) {
+        return new PageIterator<>(pageLoader, 0);
+    }
+
+    /**
+     * pageSize 보다 작은 페이지가 반환되면 마지막 페이지로 보고 추가 조회하지 않는다.
+     */
+    public static <T> Iterator<T> pages(@NonNull Function<Integer, List<T>> pageLoader, int pageSize) {
+        return new PageIterator<>(pageLoader, pageSize);
+    }
+
+    /**
+     * 여러 시트(서로 다른 DTO)를 하나의 엑셀로 생성
+     *
+     * 사용코드
+     *
+     * ExcelUtils.workbook()
+     *         .sheet(summaryList, SummaryDto.class, "요약")
+     *         .sheet(detailStream, DetailDto.class, "상세")
+     *         .download("월간 리포트");
+     */
+    public static ExcelWorkbookBuilder workbook() {
+        return new ExcelWorkbookBuilder();
+    }
+
+    private static <T> Resource getResource(Iterator<T> rows, Class<T> clazz, long totalCount, String titleAppend, ExcelExportOptions options) {
+        return getResource(outputStream -> export(rows, clazz, totalCount, "", titleAppend, options, outputStream));
+    }
+
+    /**
+     * 메모리에 기록한 엑셀 리소스
+     */
+    static Resource getResource(ExcelOutput excelOutput) {
 
+        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
 
-            //body
-            setBodyCellValue(list, sheet, dataFormat, rowNo, fieldInfoMap, fieldNames);
+            excelOutput.writeTo(byteArrayOutputStream);
 
-            return getWorkbookResource(workbook, byteArrayOutputStream);
+            return new ByteArrayResource(byteArrayOutputStream.toByteArray());
 
-        } catch (IllegalAccessException | IOException | NoSuchFieldException | NoSuchMethodException |
-                 InstantiationException | InvocationTargetException e) {
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
     /**
-     * 시트 첫번째 셀 제목 커스텀 추가
+     * 엑셀을 outputStream 에 바로 기록 (outputStream 은 닫지 않음)
+     * 전체 파일을 메모리에 복사하지 않으므로 StreamingResponseBody 와 함께 사용할 수 있다.
+     *
+     * 사용코드
+     *
+     * StreamingResponseBody body = outputStream -> ExcelUtils.writeTo(excelList, clazz, outputStream);
+     * new ResponseEntity<>(body, httpHeaders, HttpStatus.OK);
      */
-    public static <T> Resource getResource(@NonNull List<T> list, @NonNull Class<T> clazz, String titleAppend) {
+    public static <T> void writeTo(@NonNull List<T> list, @NonNull Class<T> clazz, @NonNull OutputStream outputStream) throws IOException {
 
         parameterValidation(list, clazz);
 
-        Locale locale = LocaleContextHolder.getLocale();
+        writeTo(list.iterator(), clazz, outputStream, list.size());
+    }
 
-        try (SXSSFWorkbook workbook = new SXSSFWorkbook();
-             ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();) {
-            SXSSFSheet sheet = workbook.createSheet();
-            DataFormat dataFormat = workbook.createDataFormat();
-            int rowNo = 0, cellNo = 0;
-            Map<String, ExcelFieldInfo> fieldInfoMap = excelColumnMetaData(clazz, workbook);
-            Set<String> fieldNames = fieldInfoMap.keySet();
-            int contentSize = list.size();
+    public static <T> void writeTo(@NonNull Stream<T> stream, @NonNull Class<T> clazz, @NonNull OutputStream outputStream) throws IOException {
 
-            String sheetTitle = "";
-            // @ExcelTitle
-            if (clazz.isAnnotationPresent(ExcelTitle.class)) {
+        parameterValidation(stream, clazz);
 
-                ExcelTitle excelTitle = clazz.getAnnotation(ExcelTitle.class);
+        writeTo(stream.iterator(), clazz, outputStream, SheetWriter.UNKNOWN_TOTAL_COUNT);
+    }
 
-                if (excelTitle.useSheetTitle()) {
-                    Row titleRow = sheet.createRow(rowNo++);
-                    //cell 생성 및 설정
-                    Cell titleCell = titleRow.createCell(cellNo);
+    public static <T> void writeTo(@NonNull Iterator<T> rows, @NonNull Class<T> clazz, @NonNull OutputStream outputStream) throws IOException {
+        writeTo(rows, clazz, outputStream, SheetWriter.UNKNOWN_TOTAL_COUNT);
+    }
 
-                    sheetTitle = isLocaleKorean(locale) ? excelTitle.sheetTitle() : excelTitle.sheetTitleEn();
+    /**
+     * @param totalCount 전체 건수, 모르는 경우 음수 (전체 건수 행은 Body 다음에 기록)
+     */
+    public static <T> void writeTo(@NonNull Iterator<T> rows, @NonNull Class<T> clazz, @NonNull OutputStream outputStream, long totalCount) throws IOException {
+        writeTo(rows, clazz, outputStream, totalCount, ExcelExportOptions.defaults());
+    }
 
-                    sheetTitle = sheetTitle.concat(titleAppend);
+    /**
+     * @param options 시트당 최대 행 수 등 내보내기 옵션
+     */
+    public static <T> void writeTo(@NonNull Iterator<T> rows, @NonNull Class<T> clazz, @NonNull OutputStream outputStream, long totalCount, @NonNull ExcelExportOptions options) throws IOException {
 
-                    titleCell.setCellValue(sheetTitle);
-                    titleCell.setCellStyle(excelTitle.titleStyle().getDeclaredConstructor().newInstance().getCellStyle(workbook));
-                }
+        parameterValidation(rows, clazz);
 
-                if (excelTitle.useTotal()) {
-                    Row totlaRow = sheet.createRow(rowNo++);
-                    Cell totalCell = totlaRow.createCell(cellNo);
-                    totalCell.setCellValue(isLocaleKorean(locale) ? "전체 : " + contentSize : "Total : " + contentSize);
-                }
-            }
+        export(rows, clazz, totalCount, "", "", options, outputStream);
+    }
 
-            setSheetTitle(workbook, sheetTitle);
+    /**
+     * getResource 와 같으나 결과가 spoolThreshold 를 넘으면 임시 파일에 기록한 리소스를 반환
+     * 임시 파일은 리소스의 InputStream 을 닫을 때 (또는 리소스를 close 할 때) 삭제된다.
+     *
+     * 사용코드
+     *
+     * SpooledResource resource = ExcelUtils.getSpooledResource(excelList, clazz);
+     * new ResponseEntity<>(resource, httpHeaders, HttpStatus.OK);
+     */
+    public static <T> SpooledResource getSpooledResource(@NonNull List<T> list, @NonNull Class<T> clazz) {
 
-            //header
-            rowNo = setHeaderCellValue(locale, sheet, rowNo, cellNo, fieldInfoMap, fieldNames);
+        parameterValidation(list, clazz);
+
+        return getSpooledResource(list.iterator(), clazz, list.size(), ExcelExportOptions.defaults());
+    }
+
+    public static <T> SpooledResource getSpooledResource(@NonNull Stream<T> stream, @NonNull Class<T> clazz) {
 
-            if (contentSize == 0)
-                return getWorkbookResource(workbook, byteArrayOutputStream);
+        parameterValidation(stream, clazz);
 
-            //body
-            setBodyCellValue(list, sheet, dataFormat, rowNo, fieldInfoMap, fieldNames);
+        return getSpooledResource(stream.iterator(), clazz, SheetWriter.UNKNOWN_TOTAL_COUNT, ExcelExportOptions.defaults());
+    }
+
+    /**
+     * @param totalCount 전체 건수, 모르는 경우 음수 (전체 건수 행은 Body 다음에 기록)
+     */
+    public static <T> SpooledResource getSpooledResource(@NonNull Iterator<T> rows, @NonNull Class<T> clazz, long totalCount, @NonNull ExcelExportOptions options) {
+
+        parameterValidation(rows, clazz);
+
+        return getSpooledResource(outputStream -> export(rows, clazz, totalCount, "", "", options, outputStream), options);
+    }
+
+    /**
+     * spoolThreshold 를 넘으면 임시 파일에 기록한 엑셀 리소스
+     */
+    static SpooledResource getSpooledResource(ExcelOutput excelOutput, ExcelExportOptions options) {
 
-            return getWorkbookResource(workbook, byteArrayOutputStream);
+        SpoolingOutputStream outputStream = new SpoolingOutputStream(options.spoolThreshold(), options.tempDirectory());
+        try {
+            excelOutput.writeTo(outputStream);
+            outputStream.close();
+            return outputStream.toResource();
 
-        } catch (IllegalAccessException | IOException | NoSuchFieldException | NoSuchMethodException |
-                 InstantiationException | InvocationTargetException e) {
+        } catch (IOException e) {
+            outputStream.discard();
             throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+            outputStream.discard();
+            throw e;
         }
     }
 
     /**
-     * cell 헤더 값 입력
+     * 같은 @ExcelColumn 정보로 CSV 다운로드 (헤더 + Body, @ExcelTitle 제목과 전체 건수 행은 기록하지 않음)
+     * xlsx 보다 훨씬 빠르므로 수백만 행 이상은 CSV 를 권장한다.
+     *
+     * 사용코드
+     *
+     * ExcelUtils.downloadCsv(list, ExcelDownloadExample.class, "다운받을 파일 이름");
      */
-    private static int setHeaderCellValue(Locale locale, SXSSFSheet sheet, int rowNo, int cellNo, Map<String, ExcelFieldInfo> fieldInfoMap, Set<String> fieldNames) {
-        Row headerRow = sheet.createRow(rowNo++);
+    public static <T> void downloadCsv(@NonNull List<T> list, @NonNull Class<T> clazz, String downloadFileName) {
 
-        for (String fieldName : fieldNames) {
-            ExcelFieldInfo fieldInfo = fieldInfoMap.get(fieldName);
+        parameterValidation(list, clazz);
 
-            Cell cell = headerRow.createCell(cellNo++);
+        downloadCsv(list.iterator(), clazz, downloadFileName, ExcelExportOptions.defaults());
+    }
 
-            cell.setCellStyle(fieldInfo.headerStyleStrategy());
+    /**
+     * Stream 을 닫는 것은 호출자의 책임이다.
+     */
+    public static <T> void downloadCsv(@NonNull Stream<T> stream, @NonNull Class<T> clazz, String downloadFileName) {
 
-            setCellValue(cell, isLocaleKorean(locale) ? fieldInfo.header() : fieldInfo.headerEn(), fieldInfo.columnDefault());
-        }
-        return rowNo;
+        parameterValidation(stream, clazz);
+
+        downloadCsv(stream.iterator(), clazz, downloadFileName, ExcelExportOptions.defaults());
+    }
+
+    /**
+     * @param options csvDelimiter, csvByteOrderMark, csvGzip 옵션 (csvGzip 이면 .csv.gz 로 다운로드)
+     */
+    public static <T> void downloadCsv(@NonNull Iterator<T> rows, @NonNull Class<T> clazz, String downloadFileName, @NonNull ExcelExportOptions options) {
+
+        parameterValidation(rows, clazz);
+
+        write(downloadFileName, options.csvGzip() ? "csv.gz" : "csv", options.csvGzip() ? GZIP_MIME_TYPE : CSV_MIME_TYPE,
+                outputStream -> exportCsv(rows, clazz, options, outputStream));
     }
 
     /**
-     * Body 리스트 값 입력
+     * CSV 를 outputStream 에 바로 기록 (outputStream 은 닫지 않음)
      */
-    private static <T> void setBodyCellValue(List<T> list, SXSSFSheet sheet, DataFormat dataFormat, int rowNo, Map<String, ExcelFieldInfo> fieldInfoMap, Set<String> fieldNames) throws NoSuchFieldException, IllegalAccessException {
-        int cellNo;
-        for (Object column : list) {
-            cellNo = 0;
-            Row cloumnRow = sheet.createRow(rowNo++);
+    public static <T> void writeCsv(@NonNull List<T> list, @NonNull Class<T> clazz, @NonNull OutputStream outputStream) throws IOException {
+
+        parameterValidation(list, clazz);
+
+        writeCsv(list.iterator(), clazz, outputStream, ExcelExportOptions.defaults());
+    }
+
+    public static <T> void writeCsv(@NonNull Stream<T> stream, @NonNull Class<T> clazz, @NonNull OutputStream outputStream) throws IOException {
+
+        parameterValidation(stream, clazz);
+
+        writeCsv(stream.iterator(), clazz, outputStream, ExcelExportOptions.defaults());
+    }
+
+    public static <T> void writeCsv(@NonNull Iterator<T> rows, @NonNull Class<T> clazz, @NonNull OutputStream outputStream, @NonNull ExcelExportOptions options) throws IOException {
 
-            for (String fieldName : fieldNames) {
-                ExcelFieldInfo fieldInfo = fieldInfoMap.get(fieldName);
-                sheet.setColumnWidth(cellNo, fieldInfo.width());
+        parameterValidation(rows, clazz);
 
-                Field field = column.getClass().getDeclaredField(fieldName);
-                field.setAccessible(true);
+        exportCsv(rows, clazz, options, outputStream);
+    }
 
-                Cell cell = cloumnRow.createCell(cellNo++);
+    private static <T> void exportCsv(Iterator<T> rows, Class<T> clazz, ExcelExportOptions options, OutputStream outputStream) throws IOException {
+
+        ExportMetricsRecorder recorder = new ExportMetricsRecorder(clazz, options);
+        try {
+            long schemaStart = System.nanoTime();
+            ExcelSchema<T> schema = ExcelSchemaCache.get(clazz);
+            recorder.schemaNanos(System.nanoTime() - schemaStart);
+
+            long writeStart = System.nanoTime();
+            long contentSize = new CsvWriter<>(schema, LocaleContextHolder.getLocale(), options).write(rows, recorder.counting(outputStream));
+            recorder.writeNanos(System.nanoTime() - writeStart);
+            recorder.addRows(contentSize);
+        } catch (IOException | RuntimeException | Error e) {
+            recorder.failed(e);
+            throw e;
+        }
+        recorder.completed();
+    }
 
-                //body value
-                Object ob = field.get(column);
-                setCellValue(cell, ob, fieldInfo.columnDefault());
+    /**
+     * xlsx 를 읽어 clazz 객체 Stream 으로 반환 (@ExcelColumn header 또는 headerEn 으로 컬럼 매핑)
+     * 행을 하나씩 읽으므로 전체 행을 메모리에 올리지 않는다. 사용 후 반드시 Stream 을 닫아야 임시 파일이 삭제된다.
+     * inputStream 은 읽기 시작 전에 모두 소비되며 닫지 않는다.
+     *
+     * 사용코드
+     *
+     * try (Stream<ExcelDto> rows = ExcelUtils.read(file.getInputStream(), ExcelDto.class)) {
+     *     rows.forEach(repository::save);
+     * }
+     */
+    public static <T> Stream<T> read(@NonNull InputStream inputStream, @NonNull Class<T> clazz) throws IOException {
+
+        parameterValidation(inputStream, clazz);
 
-                //body style
-                CellStyle cellStyle = fieldInfo.bodyStyleStrategy();
-                cellStyle.setDataFormat(dataFormat.getFormat(fieldInfo.format()));
-                cell.setCellStyle(cellStyle);
+        ExcelReader<T> reader = new ExcelReader<>(inputStream, clazz);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(reader::close);
+    }
 
+    /**
+     * xlsx 를 읽어 batchSize 건씩 batchConsumer 에 전달
+     *
+     * @return 읽은 전체 건수
+     */
+    public static <T> long read(@NonNull InputStream inputStream, @NonNull Class<T> clazz, int batchSize, @NonNull Consumer<List<T>> batchConsumer) throws IOException {
+
+        parameterValidation(inputStream, clazz);
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batchSize must be positive");
+
+        long count = 0;
+        try (ExcelReader<T> reader = new ExcelReader<>(inputStream, clazz)) {
+            List<T> batch = new ArrayList<>(batchSize);
+            while (reader.hasNext()) {
+                batch.add(reader.next());
+                if (batch.size() == batchSize) {
+                    batchConsumer.accept(batch);
+                    count += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                batchConsumer.accept(batch);
+                count += batch.size();
             }
+        }
+        return count;
+    }
+
+    /**
+     * 엑셀 생성 후 outputStream 에 기록 (outputStream 은 닫지 않음)
+     *
+     * @param defaultTitle @ExcelTitle 시트 제목 미입력 시 사용할 제목
+     * @param titleAppend 시트 제목 뒤에 붙일 문자열
+     */
+    private static <T> void export(Iterator<T> rows, Class<T> clazz, long totalCount, String defaultTitle, String titleAppend, ExcelExportOptions options, OutputStream outputStream) throws IOException {
+
+        ExportMetricsRecorder recorder = new ExportMetricsRecorder(clazz, options);
+        try {
+            export(rows, clazz, totalCount, defaultTitle, titleAppend, options, recorder.counting(outputStream), recorder);
+        } catch (IOException | RuntimeException | Error e) {
+            recorder.failed(e);
+            throw e;
+        }
+        recorder.completed();
+    }
+
+    private static <T> void export(Iterator<T> rows, Class<T> clazz, long totalCount, String defaultTitle, String titleAppend, ExcelExportOptions options, OutputStream outputStream, ExportMetricsRecorder recorder) throws IOException {
+
+        Locale locale = LocaleContextHolder.getLocale();
 
+        long schemaStart = System.nanoTime();
+        ExcelSchema<T> schema = ExcelSchemaCache.get(clazz);
+        recorder.schemaNanos(System.nanoTime() - schemaStart);
+
+        String sheetTitle = sheetTitle(schema, locale);
+        if (isUseSheetTitle(schema)) {
+            if (sheetTitle.equals(""))
+                sheetTitle = defaultTitle;
+            sheetTitle = sheetTitle.concat(titleAppend);
+        }
+
+        if (totalCount < 0)
+            totalCount = SheetWriter.UNKNOWN_TOTAL_COUNT;
+
+        if (options.engine() == ExcelEngine.DIRECT) {
+            new XlsxStreamWriter<>(schema, locale, options, recorder).write(rows, totalCount, sheetTitle, outputStream);
+            return;
+        }
+
+        SXSSFWorkbook workbook = new ExcelWorkbook(options, recorder);
+        try {
+            CellStyleRegistry styleRegistry = new CellStyleRegistry(workbook);
+            new SheetWriter<>(workbook, styleRegistry, schema, locale, options, recorder).write(rows, totalCount, sheetTitle);
+            recorder.stylesCreated(styleRegistry.size());
+
+            long writeStart = System.nanoTime();
+            workbook.write(outputStream);
+            recorder.writeNanos(System.nanoTime() - writeStart);
+        } finally {
+            workbook.close();
+            workbook.dispose();
         }
     }
 
-    /***
-     * 시트명 미입력 시 기본값 추가
+    /**
+     * 여러 시트를 하나의 워크북에 차례로 기록 (outputStream 은 닫지 않음)
+     * 시트들은 CellStyleRegistry 를 공유하므로 같은 스타일은 한번만 생성된다.
+     *
+     * @param sheetNames 지정된 시트명 (검증 완료), 시트명이 없는 시트와 "시트명 (n)" 시트는 이 이름을 피한다.
      */
-    private static void setSheetTitle(SXSSFWorkbook workbook, String sheetTitle) {
-        workbook.setSheetName(0, sheetTitle.equals("") ? "Sheet1" : sheetTitle);
+    static void export(List<ExcelWorkbookBuilder.SheetSource<?>> sheets, Set<String> sheetNames, ExcelExportOptions options, OutputStream outputStream) throws IOException {
+
+        ExportMetricsRecorder recorder = new ExportMetricsRecorder(sheets.get(0).clazz(), options);
+        try {
+            Locale locale = LocaleContextHolder.getLocale();
+            OutputStream countingOutputStream = recorder.counting(outputStream);
+
+            SXSSFWorkbook workbook = new ExcelWorkbook(options, recorder);
+            try {
+                CellStyleRegistry styleRegistry = new CellStyleRegistry(workbook);
+                // 아직 기록하지 않은 시트의 지정된 시트명
+                Set<String> reservedSheetNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+                reservedSheetNames.addAll(sheetNames);
+                for (int i = 0; i < sheets.size(); i++)
+                    writeSheet(workbook, styleRegistry, sheets.get(i), i + 1, locale, options, recorder, reservedSheetNames);
+                recorder.stylesCreated(styleRegistry.size());
+
+                long writeStart = System.nanoTime();
+                workbook.write(countingOutputStream);
+                recorder.writeNanos(System.nanoTime() - writeStart);
+            } finally {
+                workbook.close();
+                workbook.dispose();
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            recorder.failed(e);
+            throw e;
+        }
+        recorder.completed();
     }
 
-    private static <T> void parameterValidation(List<T> list, Class<T> clazz) {
-        if (list == null || clazz == null)
-            throw new IllegalArgumentException("list or clazz cannot be null");
+    /**
+     * 시트명 미입력 시 @ExcelTitle 시트 제목, 그것도 없으면 Sheet{n}, 이미 사용한 이름이면 "시트명 (2)"
+     * 제목 행에는 @ExcelTitle 시트 제목, 없으면 시트명을 기록
+     */
+    private static <T> void writeSheet(SXSSFWorkbook workbook, CellStyleRegistry styleRegistry, ExcelWorkbookBuilder.SheetSource<T> source,
+                                       int sheetNo, Locale locale, ExcelExportOptions options, ExportMetricsRecorder recorder,
+                                       Set<String> reservedSheetNames) {
+
+        long schemaStart = System.nanoTime();
+        ExcelSchema<T> schema = ExcelSchemaCache.get(source.clazz());
+        recorder.schemaNanos(System.nanoTime() - schemaStart);
+
+        String sheetTitle = sheetTitle(schema, locale);
+        String sheetName = source.sheetName();
+        if (sheetName == null || sheetName.isBlank())
+            sheetName = SheetWriter.sheetName(sheetTitle.equals("") ? "Sheet" + sheetNo : sheetTitle, 1,
+                    name -> workbook.getSheetIndex(name) >= 0 || reservedSheetNames.contains(name));
+        else
+            reservedSheetNames.remove(sheetName);
+        if (sheetTitle.equals(""))
+            sheetTitle = sheetName;
+
+        long totalCount = source.totalCount() < 0 ? SheetWriter.UNKNOWN_TOTAL_COUNT : source.totalCount();
+        new SheetWriter<>(workbook, styleRegistry, schema, locale, options, recorder).write(source.rows(), totalCount, sheetTitle, sheetName, reservedSheetNames);
     }
 
     /**
-     * 리소스 반환
+     * @ExcelTitle 시트 제목 (다국어)
      */
-    private static Resource getWorkbookResource(SXSSFWorkbook workbook, ByteArrayOutputStream byteArrayOutputStream) throws IOException {
-        workbook.write(byteArrayOutputStream);
-        byte[] excelFileBytes = byteArrayOutputStream.toByteArray();
-        Resource resource = new ByteArrayResource(excelFileBytes);
-        workbook.close();
-        workbook.dispose();
-        return resource;
+    private static String sheetTitle(ExcelSchema<?> schema, Locale locale) {
+        if (!isUseSheetTitle(schema))
+            return "";
+        return schema.headers(locale).sheetTitle();
+    }
+
+    private static boolean isUseSheetTitle(ExcelSchema<?> schema) {
+        return schema.excelTitle() != null && schema.excelTitle().useSheetTitle();
+    }
+
+    private static void parameterValidation(Object rows, Class<?> clazz) {
+        if (rows == null || clazz == null)
+            throw new IllegalArgumentException("rows or clazz cannot be null");
     }
 
     /**
      * 엑셀 다운로드 실행
      */
-    private static void write(String downloadFileName, SXSSFWorkbook workbook){
+    static void write(String downloadFileName, ExcelOutput excelOutput){
+        write(downloadFileName, "xlsx", EXCEL_MIME_TYPE, excelOutput);
+    }
+
+    /**
+     * @param extension 파일 확장자
+     * @param contentType 응답 Content-Type
+     */
+    private static void write(String downloadFileName, String extension, String contentType, ExcelOutput excelOutput){
         HttpServletResponse response = getHttpServletResponse();
         try(ServletOutputStream outputStream = response.getOutputStream()){
-            response.setContentType(EXCEL_MIME_TYPE);
-            String encodedFileName = encodeFileName(String.format("%s_%s.xlsx", downloadFileName, LocalDate.now()));
+            response.setContentType(contentType);
+            String encodedFileName = encodeFileName(String.format("%s_%s.%s", downloadFileName, LocalDate.now(), extension));
             response.setHeader("Content-Disposition", "attachment;filename=" + encodedFileName);
 
-            workbook.write(outputStream);
-            workbook.close();
-            workbook.dispose();
+            excelOutput.writeTo(outputStream);
 
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -358,55 +634,28 @@ public class ExcelUtils<T> {
         return response;
     }
 
-    private static boolean isLocaleKorean(Locale locale) {
+    static boolean isLocaleKorean(Locale locale) {
         return locale.equals(Locale.KOREAN);
     }
 
-    /**
-     * 레코더에 @ExcelColumn 어노테이션 정보 저장
-     */
-    private static <T> Map<String, ExcelFieldInfo> excelColumnMetaData(Class<T> clazz, SXSSFWorkbook workbook) throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
-        Map<String, ExcelFieldInfo> fieldInfoMap = new LinkedHashMap<>();
-
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(ExcelColumn.class)) {
-
-                ExcelColumn excelColumn = field.getAnnotation(ExcelColumn.class);
-
-                fieldInfoMap.put(
-                        field.getName(),
-                        new ExcelFieldInfo
-                                (
-                                        excelColumn.header().equals("") ? excelColumn.headerEn() : excelColumn.header(),
-                                        excelColumn.headerEn().equals("") ? excelColumn.header() : excelColumn.headerEn(),
-                                        excelColumn.width(),
-                                        excelColumn.headerStyle().getDeclaredConstructor().newInstance().getCellStyle(workbook),
-                                        excelColumn.bodyStyle().getDeclaredConstructor().newInstance().getCellStyle(workbook),
-                                        excelColumn.format(),
-                                        excelColumn.columnDefault()
-                                )
-                );
-            }
-        }
-        return fieldInfoMap;
-    }
-
-
     /**
      * 값 타입 체크후 셀 형변환
      */
-    private static void setCellValue(Cell cell, Object cellValue, String defaultValue) {
+    static void setCellValue(Cell cell, Object cellValue, String defaultValue) {
         if (cellValue instanceof Number number) {
-            cell.setCellValue(number.doubleValue());
+            if (CellValues.isExactDouble(number))
+                cell.setCellValue(number.doubleValue());
+            else
+                cell.setCellValue(CellValues.plainText(number));
         }
         else if (cellValue instanceof LocalDateTime localDateTime) {
-            cell.setCellValue(localDateTime);
+            cell.setCellValue(CellValues.excelDate(localDateTime));
         }
         else if (cellValue instanceof LocalDate localDate) {
-            cell.setCellValue(localDate);
+            cell.setCellValue(CellValues.excelDate(localDate));
         }
         else if (cellValue instanceof Date date) {
-            cell.setCellValue(date);
+            cell.setCellValue(CellValues.excelDate(date));
         }
         else if (cellValue instanceof Boolean aBoolean) {
             cell.setCellValue(aBoolean);
@@ -417,4 +666,9 @@ public class ExcelUtils<T> {
 
     }
 
+    @FunctionalInterface
+    interface ExcelOutput {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
 }
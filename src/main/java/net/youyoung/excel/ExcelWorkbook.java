@@ -0,0 +1,92 @@
+package net.youyoung.excel;
+
+import org.apache.poi.xssf.streaming.GZIPSheetDataWriter;
+import org.apache.poi.xssf.streaming.SXSSFRow;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * ExcelExportOptions 를 반영한 SXSSFWorkbook
+ *
+ * 행 접근 윈도우 크기, 임시 파일 압축, 공유 문자열 사용 여부를 지정하고
+ * tempDirectory 가 지정된 경우 시트 임시 파일을 해당 디렉터리에 생성한다.
+ * (workbook.write 시 POI 가 만드는 작은 템플릿 파일은 POI 전역 TempFile 설정을 따른다.)
+ * 리스너가 등록된 경우 윈도우를 벗어난 행을 임시 파일로 내보내는 시간과 임시 파일 크기를 측정한다.
+ */
+final class ExcelWorkbook extends SXSSFWorkbook {
+
+    private final Path tempDirectory;
+
+    private final ExportMetricsRecorder recorder;
+
+    ExcelWorkbook(ExcelExportOptions options, ExportMetricsRecorder recorder) {
+        super(null, options.rowAccessWindowSize(), options.compressTempFiles(), options.useSharedStrings());
+        this.tempDirectory = options.tempDirectory();
+        this.recorder = recorder;
+    }
+
+    // POI TempFile 전략은 JVM 전역이라 워크북별 tempDirectory 는 deprecated createTempFile() 재정의로만 지정할 수 있다
+    @SuppressWarnings("deprecation")
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        // SheetDataWriter 생성자에서 createTempFile 을 호출하므로 필드 대신 지역 변수를 캡처해서 사용
+        Path directory = tempDirectory;
+        ExportMetricsRecorder recorder = this.recorder;
+        if (directory == null && !recorder.enabled())
+            return super.createSheetDataWriter();
+
+        if (isCompressTempFiles()) {
+            return new GZIPSheetDataWriter(getSharedStringSource()) {
+                @Override
+                public File createTempFile() throws IOException {
+                    return directory == null ? super.createTempFile() : Files.createTempFile(directory, "poi-sxssf-sheet-xml", ".gz").toFile();
+                }
+
+                @Override
+                public void writeRow(int rownum, SXSSFRow row) throws IOException {
+                    long start = System.nanoTime();
+                    super.writeRow(rownum, row);
+                    recorder.flushNanos(System.nanoTime() - start);
+                }
+
+                private boolean closed;
+
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    if (!closed)
+                        recorder.tempFileBytes(getTempFile().length());
+                    closed = true;
+                }
+            };
+        }
+        return new SheetDataWriter(getSharedStringSource()) {
+            @Override
+            public File createTempFile() throws IOException {
+                return directory == null ? super.createTempFile() : Files.createTempFile(directory, "poi-sxssf-sheet", ".xml").toFile();
+            }
+
+            @Override
+            public void writeRow(int rownum, SXSSFRow row) throws IOException {
+                long start = System.nanoTime();
+                super.writeRow(rownum, row);
+                recorder.flushNanos(System.nanoTime() - start);
+            }
+
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                super.close();
+                if (!closed)
+                    recorder.tempFileBytes(getTempFile().length());
+                closed = true;
+            }
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package net.youyoung.excel;
+
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * 여러 시트를 하나의 워크북으로 내보내는 빌더 (ExcelUtils.workbook())
+ *
+ * 시트는 추가한 순서대로 한 행씩 기록되며 각 데이터는 한번만 소비된다.
+ * 모든 시트는 하나의 SXSSFWorkbook 과 스타일을 공유하고 zip 은 마지막에 한번만 기록한다.
+ * 시트마다 전체 건수 행, 시트당 최대 행 수(넘어가면 "시트명 (2)") 가 단일 시트와 같이 적용된다.
+ * 지정한 시트명은 sheet() 에서 검증하며 (31자, : \ / ? * [ ] 불가, 대소문자 구분 없이 중복 불가)
+ * 시트명을 지정하지 않은 시트끼리 이름이 겹치면 "시트명 (2)" 처럼 번호를 붙인다.
+ * ExcelEngine.DIRECT 는 단일 시트 전용이므로 이 빌더는 항상 SXSSF 로 생성한다.
+ *
+ * 사용코드
+ *
+ * ExcelUtils.workbook()
+ *         .sheet(summaryList, SummaryDto.class, "요약")
+ *         .sheet(salesStream, SalesDto.class, "매출")
+ *         .sheet(ExcelUtils.pages(page -> repository.findPage(page, 1000), 1000), OrderDto.class, "주문", repository.count())
+ *         .download("월간 리포트");
+ */
+public final class ExcelWorkbookBuilder {
+
+    private final List<SheetSource<?>> sheets = new ArrayList<>();
+
+    /**
+     * sheet() 에서 지정한 시트명, 엑셀과 같이 대소문자를 구분하지 않음
+     */
+    private final Set<String> sheetNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    private ExcelExportOptions options = ExcelExportOptions.defaults();
+
+    ExcelWorkbookBuilder() {}
+
+    /**
+     * @param sheetName 시트명, null 이면 @ExcelTitle 시트 제목 또는 Sheet{n}
+     * @throws IllegalArgumentException 엑셀에서 사용할 수 없거나 이미 지정한 시트명
+     */
+    public <T> ExcelWorkbookBuilder sheet(@NonNull List<T> list, @NonNull Class<T> clazz, String sheetName) {
+        if (list == null)
+            throw new IllegalArgumentException("rows or clazz cannot be null");
+        return sheet(list.iterator(), clazz, sheetName, list.size());
+    }
+
+    /**
+     * Stream 을 닫는 것은 호출자의 책임이다.
+     */
+    public <T> ExcelWorkbookBuilder sheet(@NonNull Stream<T> stream, @NonNull Class<T> clazz, String sheetName) {
+        if (stream == null)
+            throw new IllegalArgumentException("rows or clazz cannot be null");
+        return sheet(stream.iterator(), clazz, sheetName, SheetWriter.UNKNOWN_TOTAL_COUNT);
+    }
+
+    /**
+     * @param totalCount 전체 건수, 모르는 경우 음수 (전체 건수 행은 Body 다음에 기록)
+     */
+    public <T> ExcelWorkbookBuilder sheet(@NonNull Iterator<T> rows, @NonNull Class<T> clazz, String sheetName, long totalCount) {
+        if (rows == null || clazz == null)
+            throw new IllegalArgumentException("rows or clazz cannot be null");
+        if (sheetName != null && !sheetName.isBlank()) {
+            WorkbookUtil.validateSheetName(sheetName);
+            if (!sheetNames.add(sheetName))
+                throw new IllegalArgumentException("duplicate sheet name : " + sheetName);
+        }
+        sheets.add(new SheetSource<>(rows, clazz, sheetName, totalCount));
+        return this;
+    }
+
+    /**
+     * 내보내기 옵션 (기본값 ExcelExportOptions.defaults(), engine 은 무시)
+     */
+    public ExcelWorkbookBuilder options(@NonNull ExcelExportOptions options) {
+        if (options == null)
+            throw new IllegalArgumentException("options cannot be null");
+        this.options = options;
+        return this;
+    }
+
+    /**
+     * 현재 요청의 응답으로 다운로드
+     */
+    public void download(String downloadFileName) {
+        ExcelUtils.write(downloadFileName, this::writeTo);
+    }
+
+    public Resource getResource() {
+        return ExcelUtils.getResource(this::writeTo);
+    }
+
+    /**
+     * 결과가 spoolThreshold 를 넘으면 임시 파일에 기록한 리소스
+     */
+    public SpooledResource getSpooledResource() {
+        return ExcelUtils.getSpooledResource(this::writeTo, options);
+    }
+
+    /**
+     * outputStream 에 기록 (outputStream 은 닫지 않음)
+     */
+    public void writeTo(@NonNull OutputStream outputStream) throws IOException {
+        if (sheets.isEmpty())
+            throw new IllegalStateException("at least one sheet is required");
+
+        ExcelExportOptions exportOptions = options.engine() == ExcelEngine.SXSSF
+                ? options
+                : options.toBuilder().engine(ExcelEngine.SXSSF).build();
+        ExcelUtils.export(sheets, sheetNames, exportOptions, outputStream);
+    }
+
+    record SheetSource<T>(Iterator<T> rows, Class<T> clazz, String sheetName, long totalCount) {}
+}
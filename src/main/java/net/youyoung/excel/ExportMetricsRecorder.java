@@ -0,0 +1,158 @@
+package net.youyoung.excel;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 내보내기 한 건의 측정 값 수집
+ *
+ * 단계별 시간은 항상 측정하고, 행마다 호출되는 측정(메모리 행 수, flush 시간)은 리스너가 있을 때만 수행한다.
+ * 내보내기 스레드 한 곳에서만 갱신된다.
+ */
+final class ExportMetricsRecorder {
+
+    private final Class<?> type;
+
+    private final ExcelEngine engine;
+
+    private final List<ExcelExportListener> listeners;
+
+    private final boolean enabled;
+
+    private final long startNanos = System.nanoTime();
+
+    private long schemaNanos;
+
+    private long bodyNanos;
+
+    private long flushNanos;
+
+    private long writeNanos;
+
+    private long rows;
+
+    private int sheets;
+
+    private long bytesWritten;
+
+    private long tempFileBytes;
+
+    private int stylesCreated;
+
+    private long peakRowsInMemory;
+
+    ExportMetricsRecorder(Class<?> type, ExcelExportOptions options) {
+        this.type = type;
+        this.engine = options.engine();
+        this.listeners = options.listeners();
+        this.enabled = !listeners.isEmpty();
+    }
+
+    /**
+     * @return 행 단위 측정 수행 여부
+     */
+    boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * 리스너가 있으면 기록한 byte 수를 세는 스트림으로 감싼다.
+     */
+    OutputStream counting(OutputStream outputStream) {
+        if (!enabled)
+            return outputStream;
+        return new FilterOutputStream(outputStream) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                bytesWritten++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                bytesWritten += len;
+            }
+
+            @Override
+            public void close() {
+                // 호출자가 넘긴 outputStream 은 닫지 않음
+            }
+        };
+    }
+
+    void schemaNanos(long nanos) {
+        schemaNanos += nanos;
+    }
+
+    void bodyNanos(long nanos) {
+        bodyNanos += nanos;
+    }
+
+    void flushNanos(long nanos) {
+        flushNanos += nanos;
+    }
+
+    void writeNanos(long nanos) {
+        writeNanos += nanos;
+    }
+
+    void addRows(long rows) {
+        this.rows += rows;
+    }
+
+    void addSheets(int sheets) {
+        this.sheets += sheets;
+    }
+
+    void tempFileBytes(long bytes) {
+        tempFileBytes += bytes;
+    }
+
+    /**
+     * 워크북 단위로 한번 기록 (여러 시트가 스타일을 공유)
+     */
+    void stylesCreated(int stylesCreated) {
+        this.stylesCreated = stylesCreated;
+    }
+
+    void rowsInMemory(long rowsInMemory) {
+        if (rowsInMemory > peakRowsInMemory)
+            peakRowsInMemory = rowsInMemory;
+    }
+
+    void completed() {
+        if (!enabled)
+            return;
+        ExcelExportMetrics metrics = toMetrics();
+        for (ExcelExportListener listener : listeners) {
+            try {
+                listener.onExportCompleted(metrics);
+            } catch (RuntimeException ignored) {
+                // 리스너 오류는 내보내기 결과에 영향을 주지 않음
+            }
+        }
+    }
+
+    void failed(Throwable cause) {
+        if (!enabled)
+            return;
+        ExcelExportMetrics metrics = toMetrics();
+        for (ExcelExportListener listener : listeners) {
+            try {
+                listener.onExportFailed(metrics, cause);
+            } catch (RuntimeException ignored) {
+                // 리스너 오류는 내보내기 결과에 영향을 주지 않음
+            }
+        }
+    }
+
+    private ExcelExportMetrics toMetrics() {
+        return new ExcelExportMetrics(type, engine, rows, sheets, bytesWritten, tempFileBytes, stylesCreated, peakRowsInMemory,
+                Duration.ofNanos(schemaNanos), Duration.ofNanos(bodyNanos), Duration.ofNanos(flushNanos),
+                Duration.ofNanos(writeNanos), Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+}
@@ -0,0 +1,62 @@
+package net.youyoung.excel;
+
+/**
+ * 서로 다른 값의 수 근사 (ExcelAggregate.COUNT_DISTINCT)
+ *
+ * 레지스터 2^14 개 (16KB), 표준 오차 약 0.8%
+ * 적은 수는 linear counting 으로 보정해 거의 정확한 값을 반환한다.
+ */
+final class HyperLogLog {
+
+    private static final int PRECISION = 14;
+
+    private static final int REGISTERS = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers = new byte[REGISTERS];
+
+    void add(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        // 남은 비트의 선행 0 개수 + 1 (모두 0 이면 64 - PRECISION + 1)
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        if (rank > registers[index])
+            registers[index] = rank;
+    }
+
+    /**
+     * other 에 기록된 값을 합침 (병렬 변환 배치 결과 병합)
+     */
+    void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i])
+                registers[i] = other.registers[i];
+        }
+    }
+
+    long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0)
+                zeros++;
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0)
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        return Math.round(estimate);
+    }
+
+    /**
+     * 64비트 해시 (MurmurHash3 fmix64), hashCode 처럼 하위 비트에 몰린 값도 고르게 분산
+     */
+    static long hash(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,57 @@
+package net.youyoung.excel;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * 페이지 단위 조회 결과를 이어붙이는 Iterator
+ *
+ * 현재 페이지를 다 꺼낸 뒤에 다음 페이지를 조회하므로 메모리에는 한 페이지만 유지된다.
+ * 빈 페이지(또는 null)가 반환되거나, pageSize 가 지정된 경우 pageSize 보다 작은 페이지가 반환되면 종료한다.
+ */
+final class PageIterator<T> implements Iterator<T> {
+
+    private final Function<Integer, List<T>> pageLoader;
+
+    private final int pageSize;
+
+    private int page;
+
+    private Iterator<T> current = Collections.emptyIterator();
+
+    private boolean last;
+
+    PageIterator(Function<Integer, List<T>> pageLoader, int pageSize) {
+        this.pageLoader = pageLoader;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (last)
+                return false;
+
+            List<T> content = pageLoader.apply(page++);
+            if (content == null || content.isEmpty()) {
+                last = true;
+                return false;
+            }
+            if (pageSize > 0 && content.size() < pageSize)
+                last = true;
+
+            current = content.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        return current.next();
+    }
+}
@@ -0,0 +1,206 @@
+package net.youyoung.excel;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * 행 값 추출과 타입 변환을 배치 단위로 병렬 수행
+ *
+ * 원본 Iterator 는 호출 스레드에서만 읽고, 읽은 배치를 executor 에서 RenderedBatch 로 변환한다.
+ * 값 변환은 스키마의 컬럼별 ColumnValueWriter 가 수행하므로 셀마다 타입을 판별하지 않는다.
+ * 동시에 변환 중인 배치는 parallelism * 2 개로 제한되어 원본을 앞서 읽어두는 양이 제한된다.
+ * 집계 컬럼은 배치마다 부분 집계를 만들어 RenderedBatch 와 함께 넘기고 기록하는 쪽에서 병합한다.
+ * nextBatch() 는 제출 순서대로 결과를 반환하므로 시트에는 원본 순서 그대로 기록된다.
+ */
+final class ParallelRowRenderer<T> implements AutoCloseable {
+
+    private static final byte NUMERIC = 0;
+
+    private static final byte STRING = 1;
+
+    private static final byte BOOLEAN = 2;
+
+    private final Iterator<? extends T> rows;
+
+    private final ColumnValueWriter[] valueWriters;
+
+    private final Executor executor;
+
+    private final int batchSize;
+
+    private final int maxInFlight;
+
+    private final ColumnAggregates aggregates;
+
+    private final ArrayDeque<CompletableFuture<RenderedBatch>> inFlight = new ArrayDeque<>();
+
+    /**
+     * @param aggregates 부분 집계를 만들 집계, 집계 컬럼이 없으면 null
+     */
+    ParallelRowRenderer(Iterator<? extends T> rows, ExcelSchema<T> schema, ExcelExportOptions options, ColumnAggregates aggregates) {
+        this.rows = rows;
+        this.valueWriters = schema.valueWriters();
+        this.executor = options.executor();
+        this.batchSize = options.parallelBatchSize();
+        this.maxInFlight = options.parallelism() * 2;
+        this.aggregates = aggregates;
+    }
+
+    /**
+     * 다음 변환 결과, 더 이상 행이 없으면 null
+     */
+    RenderedBatch nextBatch() {
+        while (inFlight.size() < maxInFlight && rows.hasNext()) {
+            Object[] batch = new Object[batchSize];
+            int size = 0;
+            while (size < batchSize && rows.hasNext())
+                batch[size++] = rows.next();
+
+            int batchLength = size;
+            inFlight.add(CompletableFuture.supplyAsync(() -> render(batch, batchLength), executor));
+        }
+
+        CompletableFuture<RenderedBatch> head = inFlight.poll();
+        if (head == null)
+            return null;
+
+        try {
+            return head.join();
+        } catch (CompletionException e) {
+            close();
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+    }
+
+    /**
+     * 변환 대기 또는 변환 중인 행 수 (최대값 기준)
+     */
+    int bufferedRows() {
+        return inFlight.size() * batchSize;
+    }
+
+    /**
+     * 남은 변환 작업 취소
+     */
+    @Override
+    public void close() {
+        for (CompletableFuture<RenderedBatch> future : inFlight)
+            future.cancel(false);
+        inFlight.clear();
+    }
+
+    private RenderedBatch render(Object[] batch, int size) {
+        int columns = valueWriters.length;
+        RenderedBatch rendered = new RenderedBatch(size, columns, aggregates == null ? null : aggregates.newPartial());
+
+        try {
+            for (int i = 0; i < size; i++) {
+                Object row = batch[i];
+                rendered.offset = i * columns;
+                for (int column = 0; column < columns; column++)
+                    valueWriters[column].write(row, column, rendered);
+                if (rendered.aggregates != null)
+                    rendered.aggregates.accept(row);
+            }
+        } catch (IOException e) {
+            // 메모리 배치에 기록하므로 발생하지 않음
+            throw new UncheckedIOException(e);
+        }
+        return rendered;
+    }
+
+    /**
+     * 셀 기록 직전 형태로 변환된 행 묶음
+     * 셀마다 타입 태그와 숫자 또는 문자열/Boolean 값만 보관한다.
+     */
+    static final class RenderedBatch implements ColumnValueWriter.Target {
+
+        private final int size;
+
+        private final int columns;
+
+        private final byte[] types;
+
+        private final double[] numbers;
+
+        private final Object[] values;
+
+        private final ColumnAggregates aggregates;
+
+        /**
+         * 변환 중인 행의 첫 셀 위치
+         */
+        private int offset;
+
+        private RenderedBatch(int size, int columns, ColumnAggregates aggregates) {
+            this.size = size;
+            this.columns = columns;
+            this.aggregates = aggregates;
+            this.types = new byte[size * columns];
+            this.numbers = new double[size * columns];
+            this.values = new Object[size * columns];
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * 이 배치 행의 부분 집계, 집계 컬럼이 없으면 null
+         */
+        ColumnAggregates aggregates() {
+            return aggregates;
+        }
+
+        /**
+         * index 번째 행을 cloumnRow 에 기록
+         */
+        void write(int index, Row cloumnRow, CellStyle[] bodyStyles) {
+            int offset = index * columns;
+            for (int cellNo = 0; cellNo < columns; cellNo++) {
+                Cell cell = cloumnRow.createCell(cellNo);
+                cell.setCellStyle(bodyStyles[cellNo]);
+
+                int i = offset + cellNo;
+                switch (types[i]) {
+                    case NUMERIC -> cell.setCellValue(numbers[i]);
+                    case BOOLEAN -> cell.setCellValue((Boolean) values[i]);
+                    default -> cell.setCellValue((String) values[i]);
+                }
+            }
+        }
+
+        @Override
+        public void longValue(int cellNo, long value) {
+            doubleValue(cellNo, value);
+        }
+
+        @Override
+        public void doubleValue(int cellNo, double value) {
+            types[offset + cellNo] = NUMERIC;
+            numbers[offset + cellNo] = value;
+        }
+
+        @Override
+        public void stringValue(int cellNo, String value) {
+            types[offset + cellNo] = STRING;
+            values[offset + cellNo] = value;
+        }
+
+        @Override
+        public void booleanValue(int cellNo, boolean value) {
+            types[offset + cellNo] = BOOLEAN;
+            values[offset + cellNo] = value;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.accessor.ColumnAccessor;
+import net.youyoung.excel.annotation.ExcelFieldInfo;
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * DTO 클래스별 Body 셀 기록 계획
+ *
+ * ExcelSchema 의 컬럼마다 셀 기록 방식을 한번만 결정해두고
+ * 행 루프에서는 컬럼 인덱스로 바로 호출한다.
+ * int, long, double 계열 필드는 박싱 없이 셀에 기록되고
+ * 그 외 필드도 선언 타입으로 기록 방식을 정해두어 셀마다 instanceof 분기를 거치지 않는다.
+ */
+final class RowWriterPlan<T> {
+
+    private final CellValueWriter[] writers;
+
+    private RowWriterPlan(CellValueWriter[] writers) {
+        this.writers = writers;
+    }
+
+    static <T> RowWriterPlan<T> of(Class<T> clazz) {
+        return ExcelSchemaCache.get(clazz).plan();
+    }
+
+    int columnCount() {
+        return writers.length;
+    }
+
+    /**
+     * column 번째 컬럼 값을 cell 에 기록
+     */
+    void write(T row, int column, Cell cell) {
+        writers[column].write(row, cell);
+    }
+
+    static <T> RowWriterPlan<T> compile(ExcelSchema<T> schema) {
+        List<ColumnAccessor> accessors = schema.accessors();
+        CellValueWriter[] writers = new CellValueWriter[accessors.size()];
+
+        int column = 0;
+        for (ExcelFieldInfo fieldInfo : schema.fieldInfoMap().values()) {
+            writers[column] = cellValueWriter(accessors.get(column), fieldInfo.columnDefault());
+            column++;
+        }
+        return new RowWriterPlan<>(writers);
+    }
+
+    static CellValueWriter cellValueWriter(ColumnAccessor accessor, String columnDefault) {
+        return switch (accessor.kind()) {
+            case INT -> (row, cell) -> cell.setCellValue(accessor.getInt(row));
+            case LONG -> (row, cell) -> cell.setCellValue(accessor.getLong(row));
+            case DOUBLE -> (row, cell) -> cell.setCellValue(accessor.getDouble(row));
+            case OBJECT -> objectValueWriter(accessor, columnDefault);
+        };
+    }
+
+    /**
+     * 선언 타입별 기록 방식 (ExcelUtils.setCellValue 와 같은 결과)
+     * 타입을 특정할 수 없는 필드(Object, Number, 인터페이스 등)만 값마다 ExcelUtils.setCellValue 로 판별한다.
+     */
+    private static CellValueWriter objectValueWriter(ColumnAccessor accessor, String columnDefault) {
+        Class<?> type = accessor.type();
+
+        if (type == String.class) {
+            return (row, cell) -> {
+                Object value = accessor.get(row);
+                cell.setCellValue(value == null ? columnDefault : (String) value);
+            };
+        }
+        if (type == Integer.class || type == Long.class || type == Double.class
+                || type == Short.class || type == Byte.class || type == Float.class) {
+            return (row, cell) -> {
+                Object value = accessor.get(row);
+                if (value == null)
+                    cell.setCellValue(columnDefault);
+                else
+                    cell.setCellValue(((Number) value).doubleValue());
+            };
+        }
+        if (type == BigDecimal.class) {
+            return (row, cell) -> {
+                BigDecimal value = (BigDecimal) accessor.get(row);
+                if (value == null)
+                    cell.setCellValue(columnDefault);
+                else if (CellValues.isExactDouble(value))
+                    cell.setCellValue(value.doubleValue());
+                else
+                    cell.setCellValue(value.toPlainString());
+            };
+        }
+        if (type == LocalDate.class) {
+            return (row, cell) -> {
+                Object value = accessor.get(row);
+                if (value == null)
+                    cell.setCellValue(columnDefault);
+                else
+                    cell.setCellValue(CellValues.excelDate((LocalDate) value));
+            };
+        }
+        if (type == LocalDateTime.class) {
+            return (row, cell) -> {
+                Object value = accessor.get(row);
+                if (value == null)
+                    cell.setCellValue(columnDefault);
+                else
+                    cell.setCellValue(CellValues.excelDate((LocalDateTime) value));
+            };
+        }
+        if (Date.class.isAssignableFrom(type)) {
+            return (row, cell) -> {
+                Object value = accessor.get(row);
+                if (value == null)
+                    cell.setCellValue(columnDefault);
+                else
+                    cell.setCellValue(CellValues.excelDate((Date) value));
+            };
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return (row, cell) -> {
+                Object value = accessor.get(row);
+                if (value == null)
+                    cell.setCellValue(columnDefault);
+                else
+                    cell.setCellValue((Boolean) value);
+            };
+        }
+        if (type.isEnum()) {
+            // 상수별 toString() 을 미리 계산
+            Object[] constants = type.getEnumConstants();
+            String[] labels = new String[constants.length];
+            for (int i = 0; i < constants.length; i++)
+                labels[i] = constants[i].toString();
+            return (row, cell) -> {
+                Object value = accessor.get(row);
+                cell.setCellValue(value == null ? columnDefault : labels[((Enum<?>) value).ordinal()]);
+            };
+        }
+        return (row, cell) -> ExcelUtils.setCellValue(cell, accessor.get(row), columnDefault);
+    }
+
+    @FunctionalInterface
+    interface CellValueWriter {
+        void write(Object row, Cell cell);
+    }
+}
@@ -0,0 +1,334 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.annotation.ExcelAggregate;
+import net.youyoung.excel.annotation.ExcelFieldInfo;
+import net.youyoung.excel.annotation.ExcelTitle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Name;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 한 시트 분량의 제목, 전체 건수, 헤더, Body 기록
+ *
+ * Body 는 Iterator 에서 한 행씩 꺼내 바로 기록하므로 전체 데이터를 메모리에 올리지 않는다.
+ * 시트 행 수가 maxRowsPerSheet 에 도달하면 "시트명 (2)" 시트를 만들어 제목과 헤더를 반복한 뒤 이어서 기록한다.
+ * @ExcelColumn(aggregate) 컬럼이 있으면 Body 를 기록하면서 집계해 마지막 Body 행 다음에 요약 행을 기록하고 SUMMARY_ROW_NAME 이름을 붙인다.
+ * parallelism 옵션이 2 이상이면 값 추출과 변환은 ParallelRowRenderer 가 병렬로 수행하고 셀 기록만 이 클래스가 순서대로 수행한다.
+ */
+final class SheetWriter<T> {
+
+    static final long UNKNOWN_TOTAL_COUNT = -1;
+
+    /**
+     * 요약 행을 가리키는 시트 범위 이름, ExcelReader 는 이 이름의 행만 요약 행으로 보고 건너뛴다.
+     */
+    static final String SUMMARY_ROW_NAME = "ExcelUtils_SummaryRow";
+
+    private static final int MAX_SHEET_NAME_LENGTH = 31;
+
+    private final SXSSFWorkbook workbook;
+
+    private final CellStyleRegistry styleRegistry;
+
+    private final ExcelSchema<T> schema;
+
+    private final ExcelHeaders headers;
+
+    private final ExcelExportOptions options;
+
+    private final ExportMetricsRecorder recorder;
+
+    private final int maxRowsPerSheet;
+
+    private final ExcelFieldInfo[] fieldInfos;
+
+    private final CellStyle[] headerStyles;
+
+    private final CellStyle[] bodyStyles;
+
+    private String sheetTitle;
+
+    private String sheetName;
+
+    private Set<String> reservedSheetNames;
+
+    private ColumnWidths columnWidths;
+
+    private SXSSFSheet sheet;
+
+    private int rowNo;
+
+    private int sheetCount;
+
+    private long contentSize;
+
+    private ColumnAggregates aggregates;
+
+    SheetWriter(SXSSFWorkbook workbook, CellStyleRegistry styleRegistry, ExcelSchema<T> schema, Locale locale, ExcelExportOptions options, ExportMetricsRecorder recorder) {
+        this.workbook = workbook;
+        this.styleRegistry = styleRegistry;
+        this.schema = schema;
+        this.headers = schema.headers(locale);
+        this.options = options;
+        this.recorder = recorder;
+        this.maxRowsPerSheet = options.maxRowsPerSheet();
+        this.fieldInfos = schema.fieldInfoMap().values().toArray(ExcelFieldInfo[]::new);
+
+        // 컬럼별 스타일은 루프 밖에서 한번만 결정
+        this.headerStyles = new CellStyle[fieldInfos.length];
+        this.bodyStyles = new CellStyle[fieldInfos.length];
+        for (int i = 0; i < fieldInfos.length; i++) {
+            headerStyles[i] = styleRegistry.get(fieldInfos[i].headerStyleStrategy());
+            bodyStyles[i] = styleRegistry.get(fieldInfos[i].bodyStyleStrategy(), fieldInfos[i].format());
+        }
+    }
+
+    /**
+     * 시트 생성 후 기록
+     *
+     * @param rows 기록할 행
+     * @param totalCount 전체 건수, 모르는 경우 UNKNOWN_TOTAL_COUNT (전체 건수 행은 Body 다음에 기록)
+     * @param sheetTitle 시트 제목 (빈 문자열이면 시트명 Sheet1)
+     * @return 기록한 Body 행 수
+     */
+    long write(Iterator<? extends T> rows, long totalCount, String sheetTitle) {
+        return write(rows, totalCount, sheetTitle, sheetTitle, Set.of());
+    }
+
+    /**
+     * @param sheetTitle 제목 행에 기록할 제목
+     * @param sheetName 시트명 (빈 문자열이면 Sheet1)
+     * @param reservedSheetNames 이후 시트가 사용할 시트명, 최대 행 수를 넘어 만드는 "시트명 (n)" 시트에 사용하지 않음
+     */
+    long write(Iterator<? extends T> rows, long totalCount, String sheetTitle, String sheetName, Set<String> reservedSheetNames) {
+        ExcelTitle excelTitle = schema.excelTitle();
+        boolean useTotal = excelTitle != null && excelTitle.useTotal();
+
+        this.sheetTitle = sheetTitle;
+        this.sheetName = sheetName;
+        this.reservedSheetNames = reservedSheetNames;
+        this.sheetCount = 1;
+        this.contentSize = 0;
+        this.aggregates = ColumnAggregates.of(schema);
+
+        // 컬럼 너비는 시트를 만들 때 한번만 지정
+        this.columnWidths = new ColumnWidths(schema, headers, bodyStyles);
+        rows = columnWidths.sample(rows);
+
+        this.sheet = createSheet(sheetName, sheetCount);
+        this.rowNo = setSheetHeader(sheet, sheetTitle, useTotal ? totalCount : UNKNOWN_TOTAL_COUNT);
+
+        //body
+        long bodyStart = System.nanoTime();
+        try {
+            if (options.parallelism() > 1)
+                setBodyCellValueParallel(rows);
+            else
+                setBodyCellValue(rows);
+        } finally {
+            // 실패한 경우에도 그때까지 기록한 행 수를 남긴다
+            recorder.bodyNanos(System.nanoTime() - bodyStart);
+            recorder.addRows(contentSize);
+            recorder.addSheets(sheetCount);
+        }
+
+        if (aggregates != null)
+            setSummaryCellValue(nextRow());
+
+        // 전체 건수를 미리 알 수 없는 경우 Body 다음 행에 기록
+        if (useTotal && totalCount == UNKNOWN_TOTAL_COUNT)
+            setTotalCellValue(nextRow(), contentSize);
+
+        return contentSize;
+    }
+
+    private void setBodyCellValue(Iterator<? extends T> rows) {
+        RowWriterPlan<T> plan = schema.plan();
+
+        while (rows.hasNext()) {
+            T column = rows.next();
+            setBodyCellValue(nextRow(), plan, column);
+            if (aggregates != null)
+                aggregates.accept(column);
+            contentSize++;
+        }
+    }
+
+    /**
+     * 배치 단위로 병렬 변환된 행을 순서대로 기록
+     */
+    private void setBodyCellValueParallel(Iterator<? extends T> rows) {
+        try (ParallelRowRenderer<T> renderer = new ParallelRowRenderer<>(rows, schema, options, aggregates)) {
+            ParallelRowRenderer.RenderedBatch batch;
+            while ((batch = renderer.nextBatch()) != null) {
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.write(i, nextRow(), bodyStyles);
+                }
+                contentSize += batch.size();
+                if (aggregates != null)
+                    aggregates.merge(batch.aggregates());
+                if (recorder.enabled())
+                    recorder.rowsInMemory(rowsInMemory() + renderer.bufferedRows());
+            }
+        }
+    }
+
+    /**
+     * 다음 행 생성, 현재 시트가 가득 찬 경우 새 시트로 넘어간다.
+     */
+    private Row nextRow() {
+        if (rowNo >= maxRowsPerSheet) {
+            sheet = createSheet(sheetName, ++sheetCount);
+            rowNo = setSheetHeader(sheet, sheetTitle, UNKNOWN_TOTAL_COUNT);
+        }
+        Row row = sheet.createRow(rowNo++);
+        if (recorder.enabled())
+            recorder.rowsInMemory(rowsInMemory());
+        return row;
+    }
+
+    /**
+     * 현재 시트에서 임시 파일로 내보내지 않고 메모리에 남아있는 행 수
+     */
+    private int rowsInMemory() {
+        return sheet.getLastRowNum() - sheet.getLastFlushedRowNum();
+    }
+
+    /**
+     * 시트 상단 제목, 전체 건수, 헤더 입력
+     *
+     * @return 다음 행 번호
+     */
+    private int setSheetHeader(SXSSFSheet sheet, String sheetTitle, long totalCount) {
+        int rowNo = 0;
+
+        // @ExcelTitle
+        ExcelTitle excelTitle = schema.excelTitle();
+        if (excelTitle != null && excelTitle.useSheetTitle()) {
+            Row titleRow = sheet.createRow(rowNo++);
+            //cell 생성 및 설정
+            Cell titleCell = titleRow.createCell(0);
+            titleCell.setCellValue(sheetTitle);
+            titleCell.setCellStyle(styleRegistry.get(schema.titleStyleStrategy()));
+        }
+
+        if (totalCount != UNKNOWN_TOTAL_COUNT)
+            setTotalCellValue(sheet.createRow(rowNo++), totalCount);
+
+        //header
+        rowNo = setHeaderCellValue(sheet, rowNo);
+
+        if (rowNo >= maxRowsPerSheet)
+            throw new IllegalStateException("maxRowsPerSheet(" + maxRowsPerSheet + ") must be greater than title and header rows(" + rowNo + ")");
+        return rowNo;
+    }
+
+    /**
+     * cell 헤더 값 입력
+     */
+    private int setHeaderCellValue(SXSSFSheet sheet, int rowNo) {
+        Row headerRow = sheet.createRow(rowNo++);
+
+        for (int cellNo = 0; cellNo < fieldInfos.length; cellNo++) {
+            ExcelFieldInfo fieldInfo = fieldInfos[cellNo];
+
+            Cell cell = headerRow.createCell(cellNo);
+
+            cell.setCellStyle(headerStyles[cellNo]);
+
+            ExcelUtils.setCellValue(cell, headers.header(cellNo), fieldInfo.columnDefault());
+        }
+        return rowNo;
+    }
+
+    /**
+     * Body 한 행 입력
+     */
+    private void setBodyCellValue(Row cloumnRow, RowWriterPlan<T> plan, T column) {
+        for (int cellNo = 0; cellNo < fieldInfos.length; cellNo++) {
+            Cell cell = cloumnRow.createCell(cellNo);
+
+            //body style
+            cell.setCellStyle(bodyStyles[cellNo]);
+
+            //body value
+            plan.write(column, cellNo, cell);
+        }
+    }
+
+    /**
+     * 집계 컬럼에 집계 값, 첫 컬럼을 집계하지 않으면 첫 셀에 요약 문구 입력
+     */
+    private void setSummaryCellValue(Row summaryRow) {
+        Name summaryRowName = workbook.createName();
+        summaryRowName.setSheetIndex(workbook.getSheetIndex(sheet));
+        summaryRowName.setNameName(SUMMARY_ROW_NAME);
+        summaryRowName.setRefersToFormula(summaryRowReference(sheet.getSheetName(), summaryRow.getRowNum() + 1));
+
+        if (aggregates.aggregate(0) == ExcelAggregate.NONE)
+            summaryRow.createCell(0).setCellValue(headers.summaryText());
+
+        for (int cellNo = 0; cellNo < fieldInfos.length; cellNo++) {
+            Object value = aggregates.value(cellNo);
+            if (value == null)
+                continue;
+
+            Cell cell = summaryRow.createCell(cellNo);
+            if (aggregates.usesBodyStyle(cellNo))
+                cell.setCellStyle(bodyStyles[cellNo]);
+            ExcelUtils.setCellValue(cell, value, "");
+        }
+    }
+
+    private void setTotalCellValue(Row totlaRow, long contentSize) {
+        Cell totalCell = totlaRow.createCell(0);
+        totalCell.setCellValue(headers.totalText(contentSize));
+    }
+
+    /***
+     * 시트 생성
+     */
+    private SXSSFSheet createSheet(String sheetName, int sheetCount) {
+        SXSSFSheet sheet = workbook.createSheet(sheetName(sheetName, sheetCount, name -> workbook.getSheetIndex(name) >= 0 || reservedSheetNames.contains(name)));
+        for (int cellNo = 0; cellNo < fieldInfos.length; cellNo++)
+            sheet.setColumnWidth(cellNo, columnWidths.width(cellNo));
+        return sheet;
+    }
+
+    /**
+     * 엑셀에서 사용할 수 있는 시트명 (두 엔진 공통)
+     * 미입력 시 Sheet1, 두번째 시트부터는 "시트명 (n)"
+     * : \ / ? * [ ] 는 공백으로 바꾸고 접미사를 포함해 31자로 자르며, used 에 있는 이름이면 n 을 늘린다.
+     *
+     * @param used 이미 사용한 시트명이면 true (엑셀은 대소문자 구분 없이 중복 불가)
+     */
+    static String sheetName(String sheetTitle, int sheetCount, Predicate<String> used) {
+        String baseName = WorkbookUtil.createSafeSheetName(sheetTitle.isBlank() ? "Sheet1" : sheetTitle);
+
+        for (int n = sheetCount; ; n++) {
+            String sheetName = baseName;
+            if (n > 1) {
+                String suffix = " (" + n + ")";
+                sheetName = baseName.substring(0, Math.min(baseName.length(), MAX_SHEET_NAME_LENGTH - suffix.length())) + suffix;
+            }
+            if (!used.test(sheetName))
+                return sheetName;
+        }
+    }
+
+    /**
+     * SUMMARY_ROW_NAME 이 가리키는 행 전체 참조 ('시트명'!$5:$5, 두 엔진 공통)
+     */
+    static String summaryRowReference(String sheetName, int rowNo) {
+        return "'" + sheetName.replace("'", "''") + "'!$" + rowNo + ":$" + rowNo;
+    }
+}
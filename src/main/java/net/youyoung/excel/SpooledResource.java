@@ -0,0 +1,87 @@
+package net.youyoung.excel;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 메모리 또는 임시 파일에 기록된 엑셀 리소스
+ *
+ * 임시 파일에 기록된 경우 getInputStream() 은 한번만 호출할 수 있으며
+ * 반환된 InputStream 을 닫으면 임시 파일이 삭제된다.
+ * 읽지 않고 버리는 경우 close() 로 임시 파일을 삭제한다.
+ */
+public final class SpooledResource extends AbstractResource implements Closeable {
+
+    private final byte[] buffer;
+
+    private final Path file;
+
+    private final long contentLength;
+
+    private boolean consumed;
+
+    SpooledResource(byte[] buffer, int count) {
+        this.buffer = buffer;
+        this.file = null;
+        this.contentLength = count;
+    }
+
+    SpooledResource(Path file, long contentLength) {
+        this.buffer = null;
+        this.file = file;
+        this.contentLength = contentLength;
+    }
+
+    /**
+     * @return 임시 파일에 기록되었으면 true
+     */
+    public boolean isFileBacked() {
+        return file != null;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return isFileBacked();
+    }
+
+    @Override
+    public boolean exists() {
+        return !isFileBacked() || !consumed;
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public String getDescription() {
+        return isFileBacked() ? "Spooled excel resource [" + file + "]" : "Spooled excel resource [memory]";
+    }
+
+    @Override
+    public synchronized InputStream getInputStream() throws IOException {
+        if (!isFileBacked())
+            return new ByteArrayInputStream(buffer, 0, (int) contentLength);
+
+        if (consumed)
+            throw new IllegalStateException("spooled file resource can be read only once");
+        consumed = true;
+        return Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (isFileBacked() && !consumed) {
+            consumed = true;
+            Files.deleteIfExists(file);
+        }
+    }
+}
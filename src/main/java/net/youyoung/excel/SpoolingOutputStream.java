@@ -0,0 +1,122 @@
+package net.youyoung.excel;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * threshold 까지는 메모리에, 넘어서면 임시 파일에 기록하는 OutputStream
+ *
+ * close() 후 toResource() 로 기록 결과를 복사 없이 SpooledResource 로 넘긴다.
+ */
+final class SpoolingOutputStream extends OutputStream {
+
+    private final long threshold;
+
+    private final Path tempDirectory;
+
+    private byte[] buffer = new byte[8192];
+
+    private int count;
+
+    private Path file;
+
+    private OutputStream fileOutputStream;
+
+    private long fileLength;
+
+    SpoolingOutputStream(long threshold, Path tempDirectory) {
+        this.tempDirectory = tempDirectory;
+        // 배열 최대 크기를 넘는 threshold 는 배열 한계까지만 메모리에 유지
+        this.threshold = Math.min(threshold, Integer.MAX_VALUE - 8);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (fileOutputStream == null && count + (long) len > threshold)
+            spool();
+
+        if (fileOutputStream != null) {
+            fileOutputStream.write(b, off, len);
+            fileLength += len;
+            return;
+        }
+
+        if (count + len > buffer.length)
+            buffer = Arrays.copyOf(buffer, (int) Math.min(Math.max(buffer.length * 2L, count + len), threshold));
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (fileOutputStream != null)
+            fileOutputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (fileOutputStream != null)
+            fileOutputStream.close();
+    }
+
+    boolean isFileBacked() {
+        return file != null;
+    }
+
+    /**
+     * @return 임시 파일에 기록되지 않았으면 null
+     */
+    Path file() {
+        return file;
+    }
+
+    long size() {
+        return file == null ? count : fileLength;
+    }
+
+    /**
+     * 메모리에 기록된 내용 (기록한 길이만큼 잘라서 복사)
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    SpooledResource toResource() {
+        if (file == null)
+            return new SpooledResource(buffer, count);
+        return new SpooledResource(file, fileLength);
+    }
+
+    /**
+     * 실패 시 생성한 임시 파일 정리
+     */
+    void discard() {
+        try {
+            close();
+            if (file != null)
+                Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // 임시 파일 정리 실패는 원래 예외를 가리지 않도록 무시
+        }
+    }
+
+    private void spool() throws IOException {
+        file = tempDirectory == null
+                ? Files.createTempFile("excel-utils-", ".xlsx")
+                : Files.createTempFile(tempDirectory, "excel-utils-", ".xlsx");
+        fileOutputStream = new BufferedOutputStream(Files.newOutputStream(file));
+        fileOutputStream.write(buffer, 0, count);
+        fileLength = count;
+        buffer = null;
+        count = 0;
+    }
+}
@@ -0,0 +1,431 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.annotation.ExcelAggregate;
+import net.youyoung.excel.annotation.ExcelFieldInfo;
+import net.youyoung.excel.annotation.ExcelTitle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * POI 셀 객체 없이 SpreadsheetML 을 ZipOutputStream 에 직접 기록 (ExcelEngine.DIRECT)
+ *
+ * 시트 XML 은 행 루프에서 바로 zip 항목으로 기록하므로 임시 파일이 생기지 않는다.
+ * styles.xml 은 CellStyleStrategy 로 만든 스타일을 그대로 쓰기 위해 빈 워크북의 StylesTable 을 기록한다.
+ * 시트 행 수, 전체 건수 행, 요약 행 위치 등 기록 규칙은 SheetWriter 와 같다.
+ * Body 셀은 스키마의 컬럼별 ColumnValueWriter 로 기록하므로 셀마다 타입을 판별하지 않는다.
+ */
+final class XlsxStreamWriter<T> {
+
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private static final String MAIN_NAMESPACE = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+    private static final String RELATIONSHIP_NAMESPACE = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private final ExcelSchema<T> schema;
+
+    private final ExcelHeaders headers;
+
+    private final ExportMetricsRecorder recorder;
+
+    private final int maxRowsPerSheet;
+
+    private final ExcelFieldInfo[] fieldInfos;
+
+    private final ColumnValueWriter[] valueWriters;
+
+    private final BodyCells bodyCells = new BodyCells();
+
+    private final String[] columnNames;
+
+    private final List<String> sheetNames = new ArrayList<>();
+
+    private final SXSSFWorkbook styleWorkbook = new SXSSFWorkbook();
+
+    private final int titleStyle;
+
+    private final int[] headerStyles;
+
+    private final int[] bodyStyles;
+
+    private final ColumnWidths columnWidths;
+
+    private ZipOutputStream zipOutputStream;
+
+    private Writer writer;
+
+    private String sheetTitle;
+
+    private int rowNo;
+
+    /**
+     * 요약 행을 기록한 시트 순번 (0 부터), 요약 행이 없으면 -1
+     */
+    private int summarySheetIndex = -1;
+
+    private int summaryRowNo;
+
+    XlsxStreamWriter(ExcelSchema<T> schema, Locale locale, ExcelExportOptions options, ExportMetricsRecorder recorder) {
+        this.schema = schema;
+        this.headers = schema.headers(locale);
+        this.recorder = recorder;
+        this.maxRowsPerSheet = options.maxRowsPerSheet();
+        this.fieldInfos = schema.fieldInfoMap().values().toArray(ExcelFieldInfo[]::new);
+        this.valueWriters = schema.valueWriters();
+
+        this.columnNames = new String[fieldInfos.length];
+        for (int i = 0; i < fieldInfos.length; i++)
+            columnNames[i] = columnName(i);
+
+        CellStyleRegistry styleRegistry = new CellStyleRegistry(styleWorkbook);
+        this.titleStyle = schema.titleStyleStrategy() == null ? 0 : styleRegistry.get(schema.titleStyleStrategy()).getIndex();
+        this.headerStyles = new int[fieldInfos.length];
+        this.bodyStyles = new int[fieldInfos.length];
+        CellStyle[] bodyCellStyles = new CellStyle[fieldInfos.length];
+        for (int i = 0; i < fieldInfos.length; i++) {
+            headerStyles[i] = styleRegistry.get(fieldInfos[i].headerStyleStrategy()).getIndex();
+            bodyCellStyles[i] = styleRegistry.get(fieldInfos[i].bodyStyleStrategy(), fieldInfos[i].format());
+            bodyStyles[i] = bodyCellStyles[i].getIndex();
+        }
+        this.columnWidths = new ColumnWidths(schema, headers, bodyCellStyles);
+        recorder.stylesCreated(styleRegistry.size());
+    }
+
+    /**
+     * xlsx 기록 (outputStream 은 닫지 않음)
+     *
+     * @return 기록한 Body 행 수
+     */
+    long write(Iterator<? extends T> rows, long totalCount, String sheetTitle, OutputStream outputStream) throws IOException {
+        ExcelTitle excelTitle = schema.excelTitle();
+        boolean useTotal = excelTitle != null && excelTitle.useTotal();
+
+        this.sheetTitle = sheetTitle;
+        this.zipOutputStream = new ZipOutputStream(outputStream, StandardCharsets.UTF_8);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zipOutputStream, StandardCharsets.UTF_8), 1 << 16);
+
+        try {
+            rows = columnWidths.sample(rows);
+            startSheet(useTotal ? totalCount : SheetWriter.UNKNOWN_TOTAL_COUNT);
+
+            long bodyStart = System.nanoTime();
+            long contentSize = 0;
+            ColumnAggregates aggregates = ColumnAggregates.of(schema);
+            try {
+                while (rows.hasNext()) {
+                    T column = rows.next();
+                    nextRow();
+                    writeBodyRow(column);
+                    writer.write("</row>");
+                    if (aggregates != null)
+                        aggregates.accept(column);
+                    contentSize++;
+                }
+            } finally {
+                // 실패한 경우에도 그때까지 기록한 행 수를 남긴다
+                recorder.bodyNanos(System.nanoTime() - bodyStart);
+                recorder.addRows(contentSize);
+                recorder.addSheets(sheetNames.size());
+            }
+
+            if (aggregates != null) {
+                nextRow();
+                summarySheetIndex = sheetNames.size() - 1;
+                summaryRowNo = rowNo;
+                writeSummaryRow(aggregates);
+                writer.write("</row>");
+            }
+
+            // 전체 건수를 미리 알 수 없는 경우 Body 다음 행에 기록
+            if (useTotal && totalCount == SheetWriter.UNKNOWN_TOTAL_COUNT) {
+                nextRow();
+                writeStringCell(0, 0, headers.totalText(contentSize));
+                writer.write("</row>");
+            }
+            endSheet();
+            // 한 행씩 바로 기록
+            recorder.rowsInMemory(Math.min(1, contentSize));
+
+            long writeStart = System.nanoTime();
+            writePackageParts();
+            zipOutputStream.finish();
+            recorder.writeNanos(System.nanoTime() - writeStart);
+            return contentSize;
+
+        } finally {
+            styleWorkbook.dispose();
+            styleWorkbook.close();
+        }
+    }
+
+    /**
+     * 다음 행 시작 태그 기록, 현재 시트가 가득 찬 경우 새 시트로 넘어간다.
+     */
+    private void nextRow() throws IOException {
+        if (rowNo >= maxRowsPerSheet) {
+            endSheet();
+            startSheet(SheetWriter.UNKNOWN_TOTAL_COUNT);
+        }
+        startRow();
+    }
+
+    private void startRow() throws IOException {
+        writer.write("<row r=\"");
+        writer.write(Integer.toString(++rowNo));
+        writer.write("\">");
+    }
+
+    /**
+     * 시트 항목 시작 및 제목, 전체 건수, 헤더 기록
+     */
+    private void startSheet(long totalCount) throws IOException {
+        sheetNames.add(SheetWriter.sheetName(sheetTitle, sheetNames.size() + 1, name -> sheetNames.stream().anyMatch(name::equalsIgnoreCase)));
+        zipOutputStream.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetNames.size() + ".xml"));
+        rowNo = 0;
+
+        writer.write(XML_HEADER);
+        writer.write("<worksheet xmlns=\"" + MAIN_NAMESPACE + "\"><cols>");
+        for (int i = 0; i < fieldInfos.length; i++) {
+            writer.write("<col min=\"" + (i + 1) + "\" max=\"" + (i + 1) + "\" width=\"" + columnWidths.width(i) / 256.0 + "\" customWidth=\"1\"/>");
+        }
+        writer.write("</cols><sheetData>");
+
+        ExcelTitle excelTitle = schema.excelTitle();
+        if (excelTitle != null && excelTitle.useSheetTitle()) {
+            startRow();
+            writeStringCell(0, titleStyle, sheetTitle);
+            writer.write("</row>");
+        }
+
+        if (totalCount != SheetWriter.UNKNOWN_TOTAL_COUNT) {
+            startRow();
+            writeStringCell(0, 0, headers.totalText(totalCount));
+            writer.write("</row>");
+        }
+
+        //header
+        startRow();
+        for (int cellNo = 0; cellNo < fieldInfos.length; cellNo++)
+            writeStringCell(cellNo, headerStyles[cellNo], headers.header(cellNo));
+        writer.write("</row>");
+
+        if (rowNo >= maxRowsPerSheet)
+            throw new IllegalStateException("maxRowsPerSheet(" + maxRowsPerSheet + ") must be greater than title and header rows(" + rowNo + ")");
+    }
+
+    private void endSheet() throws IOException {
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zipOutputStream.closeEntry();
+    }
+
+    private void writeBodyRow(T column) throws IOException {
+        for (int cellNo = 0; cellNo < valueWriters.length; cellNo++)
+            valueWriters[cellNo].write(column, cellNo, bodyCells);
+    }
+
+    /**
+     * 집계 컬럼에 집계 값, 첫 컬럼을 집계하지 않으면 첫 셀에 요약 문구 기록
+     */
+    private void writeSummaryRow(ColumnAggregates aggregates) throws IOException {
+        if (aggregates.aggregate(0) == ExcelAggregate.NONE)
+            writeStringCell(0, 0, headers.summaryText());
+
+        for (int cellNo = 0; cellNo < valueWriters.length; cellNo++) {
+            // 집계 값은 Long 또는 Double
+            Object value = aggregates.value(cellNo);
+            int style = aggregates.usesBodyStyle(cellNo) ? bodyStyles[cellNo] : 0;
+            if (value instanceof Long longValue)
+                writeLongCell(cellNo, style, longValue);
+            else if (value != null)
+                writeNumberCell(cellNo, style, ((Number) value).doubleValue());
+        }
+    }
+
+    private void writeLongCell(int cellNo, int style, long value) throws IOException {
+        startCell(cellNo, style, null);
+        writer.write("<v>");
+        writer.write(Long.toString(value));
+        writer.write("</v></c>");
+    }
+
+    private void writeNumberCell(int cellNo, int style, double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            startCell(cellNo, style, "e");
+            writer.write(Double.isNaN(value) ? "<v>#NUM!</v></c>" : "<v>#DIV/0!</v></c>");
+            return;
+        }
+        startCell(cellNo, style, null);
+        writer.write("<v>");
+        writer.write(Double.toString(value));
+        writer.write("</v></c>");
+    }
+
+    private void writeStringCell(int cellNo, int style, String value) throws IOException {
+        startCell(cellNo, style, "inlineStr");
+        boolean preserve = !value.isEmpty() && (Character.isWhitespace(value.charAt(0)) || Character.isWhitespace(value.charAt(value.length() - 1)));
+        writer.write(preserve ? "<is><t xml:space=\"preserve\">" : "<is><t>");
+        writeEscaped(value);
+        writer.write("</t></is></c>");
+    }
+
+    private void startCell(int cellNo, int style, String type) throws IOException {
+        writer.write("<c r=\"");
+        writer.write(columnNames[cellNo]);
+        writer.write(Integer.toString(rowNo));
+        if (style != 0) {
+            writer.write("\" s=\"");
+            writer.write(Integer.toString(style));
+        }
+        if (type != null) {
+            writer.write("\" t=\"");
+            writer.write(type);
+        }
+        writer.write("\">");
+    }
+
+    /**
+     * Body 셀 기록 대상, 컬럼의 Body 스타일을 적용
+     */
+    private final class BodyCells implements ColumnValueWriter.Target {
+
+        @Override
+        public void longValue(int cellNo, long value) throws IOException {
+            writeLongCell(cellNo, bodyStyles[cellNo], value);
+        }
+
+        @Override
+        public void doubleValue(int cellNo, double value) throws IOException {
+            writeNumberCell(cellNo, bodyStyles[cellNo], value);
+        }
+
+        @Override
+        public void stringValue(int cellNo, String value) throws IOException {
+            writeStringCell(cellNo, bodyStyles[cellNo], value);
+        }
+
+        @Override
+        public void booleanValue(int cellNo, boolean value) throws IOException {
+            startCell(cellNo, bodyStyles[cellNo], "b");
+            writer.write(value ? "<v>1</v></c>" : "<v>0</v></c>");
+        }
+    }
+
+    /**
+     * XML 이스케이프, XML 1.0 에서 허용되지 않는 제어 문자는 제거
+     */
+    private void writeEscaped(String value) throws IOException {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = switch (c) {
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '&' -> "&amp;";
+                case '"' -> "&quot;";
+                case '\t', '\n', '\r' -> null;
+                default -> c < 0x20 || c == 0xFFFE || c == 0xFFFF ? "" : null;
+            };
+            if (replacement != null) {
+                writer.write(value, start, i - start);
+                writer.write(replacement);
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+    }
+
+    /**
+     * 시트 외 패키지 구성 요소 기록 (시트 수가 정해진 뒤에 기록)
+     */
+    private void writePackageParts() throws IOException {
+        int sheetCount = sheetNames.size();
+
+        zipOutputStream.putNextEntry(new ZipEntry("xl/styles.xml"));
+        styleWorkbook.getXSSFWorkbook().getStylesSource().writeTo(zipOutputStream);
+        zipOutputStream.closeEntry();
+
+        StringBuilder contentTypes = new StringBuilder(XML_HEADER)
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+                .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 1; i <= sheetCount; i++)
+            contentTypes.append("<Override PartName=\"/xl/worksheets/sheet").append(i).append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        contentTypes.append("</Types>");
+        writeEntry("[Content_Types].xml", contentTypes);
+
+        writeEntry("_rels/.rels", new StringBuilder(XML_HEADER)
+                .append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">")
+                .append("<Relationship Id=\"rId1\" Type=\"" + RELATIONSHIP_NAMESPACE + "/officeDocument\" Target=\"xl/workbook.xml\"/>")
+                .append("</Relationships>"));
+
+        StringBuilder workbook = new StringBuilder(XML_HEADER)
+                .append("<workbook xmlns=\"" + MAIN_NAMESPACE + "\" xmlns:r=\"" + RELATIONSHIP_NAMESPACE + "\"><sheets>");
+        for (int i = 1; i <= sheetCount; i++) {
+            workbook.append("<sheet name=\"");
+            escape(sheetNames.get(i - 1), workbook);
+            workbook.append("\" sheetId=\"").append(i).append("\" r:id=\"rId").append(i).append("\"/>");
+        }
+        workbook.append("</sheets>");
+        if (summarySheetIndex >= 0) {
+            workbook.append("<definedNames><definedName name=\"" + SheetWriter.SUMMARY_ROW_NAME + "\" localSheetId=\"").append(summarySheetIndex).append("\">");
+            escape(SheetWriter.summaryRowReference(sheetNames.get(summarySheetIndex), summaryRowNo), workbook);
+            workbook.append("</definedName></definedNames>");
+        }
+        workbook.append("</workbook>");
+        writeEntry("xl/workbook.xml", workbook);
+
+        StringBuilder workbookRelationships = new StringBuilder(XML_HEADER)
+                .append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 1; i <= sheetCount; i++)
+            workbookRelationships.append("<Relationship Id=\"rId").append(i).append("\" Type=\"" + RELATIONSHIP_NAMESPACE + "/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        workbookRelationships.append("<Relationship Id=\"rId").append(sheetCount + 1).append("\" Type=\"" + RELATIONSHIP_NAMESPACE + "/styles\" Target=\"styles.xml\"/>");
+        workbookRelationships.append("</Relationships>");
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRelationships);
+    }
+
+    private void writeEntry(String name, CharSequence content) throws IOException {
+        zipOutputStream.putNextEntry(new ZipEntry(name));
+        writer.append(content);
+        writer.flush();
+        zipOutputStream.closeEntry();
+    }
+
+    private static void escape(String value, StringBuilder builder) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> builder.append("&lt;");
+                case '>' -> builder.append("&gt;");
+                case '&' -> builder.append("&amp;");
+                case '"' -> builder.append("&quot;");
+                default -> builder.append(c);
+            }
+        }
+    }
+
+    /**
+     * 0 부터 시작하는 컬럼 번호를 A, B, ..., AA 형태로 변환
+     */
+    private static String columnName(int column) {
+        StringBuilder name = new StringBuilder();
+        for (int n = column + 1; n > 0; n = (n - 1) / 26)
+            name.insert(0, (char) ('A' + (n - 1) % 26));
+        return name.toString();
+    }
+}
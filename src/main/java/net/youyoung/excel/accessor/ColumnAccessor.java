@@ -0,0 +1,34 @@
+package net.youyoung.excel.accessor;
+
+/**
+ * 행 객체에서 컬럼 값을 꺼내는 접근자
+ *
+ * kind() 가 INT, LONG, DOUBLE 인 경우 해당 primitive getter 로 박싱 없이 값을 읽을 수 있다.
+ * get() 은 모든 kind 에서 사용 가능하다.
+ */
+public interface ColumnAccessor {
+
+    ValueKind kind();
+
+    /**
+     * 선언된 값 타입 (필드 타입), 셀 기록 방식을 미리 결정하는 데 사용
+     * 알 수 없으면 Object.class 를 반환하며 이 경우 값마다 타입을 판별한다.
+     */
+    default Class<?> type() {
+        return Object.class;
+    }
+
+    Object get(Object row);
+
+    default int getInt(Object row) {
+        throw new UnsupportedOperationException("not an int column : " + kind());
+    }
+
+    default long getLong(Object row) {
+        throw new UnsupportedOperationException("not a long column : " + kind());
+    }
+
+    default double getDouble(Object row) {
+        throw new UnsupportedOperationException("not a double column : " + kind());
+    }
+}
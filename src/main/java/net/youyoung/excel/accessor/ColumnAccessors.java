@@ -0,0 +1,78 @@
+package net.youyoung.excel.accessor;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * ColumnAccessor 생성
+ */
+public final class ColumnAccessors {
+
+    private ColumnAccessors() {}
+
+    /**
+     * 필드 getter 핸들로 접근자 생성
+     * 행마다 getDeclaredField / setAccessible 을 반복하지 않도록 클래스당 한번만 호출한다.
+     */
+    public static ColumnAccessor forField(Field field) {
+        try {
+            field.setAccessible(true);
+            return new MethodHandleAccessor(MethodHandles.lookup().unreflectGetter(field));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("cannot access field : " + field, e);
+        }
+    }
+
+    /**
+     * 파라미터 없는 메소드 (getter, record 컴포넌트 접근자) 핸들로 접근자 생성
+     * 가상 호출이므로 하위 클래스, 프록시가 재정의한 메소드가 호출된다.
+     */
+    public static ColumnAccessor forMethod(Method method) {
+        try {
+            method.setAccessible(true);
+            return new MethodHandleAccessor(MethodHandles.lookup().unreflect(method));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("cannot access method : " + method, e);
+        }
+    }
+
+    /**
+     * first 값에서 steps 를 차례로 읽는 null 안전 접근자
+     */
+    public static ColumnAccessor forPath(ColumnAccessor first, List<ColumnAccessor> steps) {
+        return new PathAccessor(first, steps.toArray(ColumnAccessor[]::new));
+    }
+
+    /**
+     * getter 람다로 접근자 생성 (excel-utils-processor 가 생성한 코드에서 사용)
+     *
+     * @param type 선언된 값 타입 (int, short, byte 필드)
+     */
+    public static ColumnAccessor ofInt(Class<?> type, ToIntFunction<Object> getter) {
+        return FunctionAccessor.ofInt(type, getter);
+    }
+
+    public static ColumnAccessor ofLong(Class<?> type, ToLongFunction<Object> getter) {
+        return FunctionAccessor.ofLong(type, getter);
+    }
+
+    /**
+     * @param type 선언된 값 타입 (double, float 필드)
+     */
+    public static ColumnAccessor ofDouble(Class<?> type, ToDoubleFunction<Object> getter) {
+        return FunctionAccessor.ofDouble(type, getter);
+    }
+
+    /**
+     * @param type 선언된 값 타입, 제네릭 타입 변수면 Object.class
+     */
+    public static ColumnAccessor ofObject(Class<?> type, Function<Object, ?> getter) {
+        return FunctionAccessor.ofObject(type, getter);
+    }
+}
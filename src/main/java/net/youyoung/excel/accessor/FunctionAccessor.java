@@ -0,0 +1,91 @@
+package net.youyoung.excel.accessor;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 람다 기반 접근자 (어노테이션 프로세서가 생성한 코드에서 getter 를 직접 호출)
+ * kind 에 해당하는 getter 하나만 가진다.
+ */
+final class FunctionAccessor implements ColumnAccessor {
+
+    private final ValueKind kind;
+
+    private final Class<?> type;
+
+    private final Function<Object, ?> objectGetter;
+
+    private final ToIntFunction<Object> intGetter;
+
+    private final ToLongFunction<Object> longGetter;
+
+    private final ToDoubleFunction<Object> doubleGetter;
+
+    private FunctionAccessor(ValueKind kind, Class<?> type, Function<Object, ?> objectGetter, ToIntFunction<Object> intGetter, ToLongFunction<Object> longGetter, ToDoubleFunction<Object> doubleGetter) {
+        this.kind = kind;
+        this.type = type;
+        this.objectGetter = objectGetter;
+        this.intGetter = intGetter;
+        this.longGetter = longGetter;
+        this.doubleGetter = doubleGetter;
+    }
+
+    static FunctionAccessor ofInt(Class<?> type, ToIntFunction<Object> getter) {
+        return new FunctionAccessor(ValueKind.INT, type, null, getter, null, null);
+    }
+
+    static FunctionAccessor ofLong(Class<?> type, ToLongFunction<Object> getter) {
+        return new FunctionAccessor(ValueKind.LONG, type, null, null, getter, null);
+    }
+
+    static FunctionAccessor ofDouble(Class<?> type, ToDoubleFunction<Object> getter) {
+        return new FunctionAccessor(ValueKind.DOUBLE, type, null, null, null, getter);
+    }
+
+    static FunctionAccessor ofObject(Class<?> type, Function<Object, ?> getter) {
+        return new FunctionAccessor(ValueKind.OBJECT, type, getter, null, null, null);
+    }
+
+    @Override
+    public ValueKind kind() {
+        return kind;
+    }
+
+    @Override
+    public Class<?> type() {
+        return type;
+    }
+
+    @Override
+    public Object get(Object row) {
+        return switch (kind) {
+            case INT -> intGetter.applyAsInt(row);
+            case LONG -> longGetter.applyAsLong(row);
+            case DOUBLE -> doubleGetter.applyAsDouble(row);
+            case OBJECT -> objectGetter.apply(row);
+        };
+    }
+
+    @Override
+    public int getInt(Object row) {
+        if (kind != ValueKind.INT)
+            return ColumnAccessor.super.getInt(row);
+        return intGetter.applyAsInt(row);
+    }
+
+    @Override
+    public long getLong(Object row) {
+        if (kind != ValueKind.LONG)
+            return ColumnAccessor.super.getLong(row);
+        return longGetter.applyAsLong(row);
+    }
+
+    @Override
+    public double getDouble(Object row) {
+        if (kind != ValueKind.DOUBLE)
+            return ColumnAccessor.super.getDouble(row);
+        return doubleGetter.applyAsDouble(row);
+    }
+}
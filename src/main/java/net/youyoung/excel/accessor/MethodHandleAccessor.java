@@ -0,0 +1,86 @@
+package net.youyoung.excel.accessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+/**
+ * MethodHandle 기반 접근자
+ * 핸들은 (Object)carrier 형태로 미리 변환해두고 invokeExact 로 호출한다.
+ */
+final class MethodHandleAccessor implements ColumnAccessor {
+
+    private final ValueKind kind;
+
+    private final Class<?> type;
+
+    private final MethodHandle getter;
+
+    private final MethodHandle objectGetter;
+
+    MethodHandleAccessor(MethodHandle handle) {
+        this.type = handle.type().returnType();
+        this.kind = ValueKind.of(type);
+        this.getter = handle.asType(MethodType.methodType(kind.carrier(), Object.class));
+        this.objectGetter = handle.asType(MethodType.methodType(Object.class, Object.class));
+    }
+
+    @Override
+    public ValueKind kind() {
+        return kind;
+    }
+
+    @Override
+    public Class<?> type() {
+        return type;
+    }
+
+    @Override
+    public Object get(Object row) {
+        try {
+            return (Object) objectGetter.invokeExact(row);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public int getInt(Object row) {
+        if (kind != ValueKind.INT)
+            return ColumnAccessor.super.getInt(row);
+        try {
+            return (int) getter.invokeExact(row);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public long getLong(Object row) {
+        if (kind != ValueKind.LONG)
+            return ColumnAccessor.super.getLong(row);
+        try {
+            return (long) getter.invokeExact(row);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public double getDouble(Object row) {
+        if (kind != ValueKind.DOUBLE)
+            return ColumnAccessor.super.getDouble(row);
+        try {
+            return (double) getter.invokeExact(row);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException runtimeException)
+            return runtimeException;
+        if (e instanceof Error error)
+            throw error;
+        return new IllegalStateException(e);
+    }
+}
@@ -0,0 +1,44 @@
+package net.youyoung.excel.accessor;
+
+import java.lang.invoke.MethodType;
+
+/**
+ * 중첩 프로퍼티 접근자 (order.customer.address.city)
+ * 중간 값이 null 이면 null 을 반환하므로 primitive 값도 박싱된 OBJECT 로 읽는다.
+ */
+final class PathAccessor implements ColumnAccessor {
+
+    private final ColumnAccessor first;
+
+    private final ColumnAccessor[] steps;
+
+    private final Class<?> type;
+
+    PathAccessor(ColumnAccessor first, ColumnAccessor[] steps) {
+        this.first = first;
+        this.steps = steps;
+        Class<?> lastType = steps.length == 0 ? first.type() : steps[steps.length - 1].type();
+        this.type = MethodType.methodType(lastType).wrap().returnType();
+    }
+
+    @Override
+    public ValueKind kind() {
+        return ValueKind.OBJECT;
+    }
+
+    @Override
+    public Class<?> type() {
+        return type;
+    }
+
+    @Override
+    public Object get(Object row) {
+        Object value = first.get(row);
+        for (ColumnAccessor step : steps) {
+            if (value == null)
+                return null;
+            value = step.get(value);
+        }
+        return value;
+    }
+}
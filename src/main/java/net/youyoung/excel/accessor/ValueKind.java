@@ -0,0 +1,42 @@
+package net.youyoung.excel.accessor;
+
+/**
+ * 컬럼 값의 저장 형태
+ *
+ * INT, LONG, DOUBLE 은 박싱 없이 primitive 로 읽을 수 있는 컬럼
+ * OBJECT 는 그 외 참조 타입 컬럼
+ */
+public enum ValueKind {
+
+    INT(int.class),
+    LONG(long.class),
+    DOUBLE(double.class),
+    OBJECT(Object.class);
+
+    private final Class<?> carrier;
+
+    ValueKind(Class<?> carrier) {
+        this.carrier = carrier;
+    }
+
+    /**
+     * getter 가 반환할 타입
+     */
+    public Class<?> carrier() {
+        return carrier;
+    }
+
+    /**
+     * 필드(또는 getter 반환) 타입으로 ValueKind 결정
+     * byte, short 는 int 로 float 는 double 로 확장
+     */
+    public static ValueKind of(Class<?> type) {
+        if (type == int.class || type == short.class || type == byte.class)
+            return INT;
+        if (type == long.class)
+            return LONG;
+        if (type == double.class || type == float.class)
+            return DOUBLE;
+        return OBJECT;
+    }
+}
@@ -0,0 +1,42 @@
+package net.youyoung.excel.annotation;
+
+/**
+ * @ExcelColumn 집계 방식
+ *
+ * Body 를 기록하면서 함께 집계해 마지막 Body 행 다음의 요약 행에 값으로 기록한다. (수식 아님)
+ * 여러 시트로 나뉘어도 요약 행은 마지막 시트에 한 번, 전체 행 기준으로 기록된다.
+ */
+public enum ExcelAggregate {
+
+    NONE,
+
+    /**
+     * 합계, 정수 컬럼은 long 으로 합산하고 범위를 넘으면 double 로 전환
+     */
+    SUM,
+
+    /**
+     * null 을 제외한 평균
+     */
+    AVG,
+
+    /**
+     * 최소값, 숫자 및 날짜 컬럼
+     */
+    MIN,
+
+    /**
+     * 최대값, 숫자 및 날짜 컬럼
+     */
+    MAX,
+
+    /**
+     * null 이 아닌 값의 수
+     */
+    COUNT,
+
+    /**
+     * 서로 다른 값의 수 근사치 (HyperLogLog, 표준 오차 약 0.8%)
+     */
+    COUNT_DISTINCT
+}
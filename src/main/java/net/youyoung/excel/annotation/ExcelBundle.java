@@ -0,0 +1,32 @@
+package net.youyoung.excel.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * 헤더, 시트 제목을 조회할 ResourceBundle
+ *
+ * value ResourceBundle 기본 이름 ("messages.excel" 이면 messages/excel_ja.properties 등)
+ *
+ * @ExcelColumn headerKey, @ExcelTitle sheetTitleKey 를 요청 로케일의 번들에서 조회하고 키가 없으면 header / headerEn 을 사용한다.
+ * 요청 로케일 번들이 없으면 기본 번들(messages/excel.properties)을 사용하며 서버 기본 로케일 번들은 사용하지 않는다.
+ * excel.total ({0} 자리에 건수), excel.summary 키가 있으면 전체 건수 행, 요약 행 문구로 사용한다.
+ * 조회 결과는 클래스, 로케일별로 캐시된다. 상위 클래스에 선언된 번들도 사용한다.
+ *
+ * 사용 예시 )
+ *      @ExcelBundle("messages.excel")
+ *      public class OrderDto {
+ *          @ExcelColumn(header = "주문번호", headerEn = "Order No", headerKey = "order.no")
+ *          private Long orderNo;
+ *      }
+ *
+ */
+@Target(TYPE)
+@Retention(RUNTIME)
+public @interface ExcelBundle {
+
+    String value();
+}
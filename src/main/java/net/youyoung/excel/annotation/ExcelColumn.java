@@ -8,6 +8,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
 import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 /**
@@ -15,8 +16,12 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  *
  * headerEn (다국어 지원용 ) 다운로드 받을 필드 헤더 영문이름 미입력시 header 값으로 대체
  *
+ * headerKey @ExcelBundle 번들에서 헤더를 조회할 키, 요청 로케일 번들에 키가 없으면 header / headerEn 사용
+ *
  * width Cell 가로폭
  *
+ * autoWidth true 이면 width 대신 헤더와 앞쪽 행 일부(최대 100행)의 표시 길이로 가로폭을 추정
+ *
  * headerStyle CellStyle 를 반환하는 CellStyleStrategy 의 구현체 Class 정보
  *
  * bodyStyle CellStyle 를 반환하는 CellStyleStrategy 의 구현체 Class 정보
@@ -26,21 +31,45 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  *
  * columnDefault data 가 null 일 경우 보여줄 기본값
  *
+ * order 컬럼 순서 (작은 값이 앞), 미입력 시 선언 순서
+ *    상위 클래스 필드, 하위 클래스 필드 순이며 getter 컬럼은 클래스마다 필드 다음에 메소드명 순으로 위치
+ *
+ * path 필드 값 객체의 프로퍼티 경로 ("address.city"), 중간 값이 null 이면 columnDefault
+ *
+ * aggregate 요약 행에 기록할 집계 (SUM, AVG, MIN, MAX, COUNT, COUNT_DISTINCT)
+ *    SUM, AVG 는 숫자, MIN, MAX 는 숫자 또는 날짜 컬럼에만 사용할 수 있다.
+ *
+ * 필드, record 컴포넌트, 파라미터 없는 getter 메소드에 선언할 수 있다.
+ * 필드에 선언하고 같은 타입의 getter (getXxx, isXxx) 가 있으면 getter 로 값을 읽는다. (프록시, 하위 클래스 대응)
+ *
  * 사용 예시 )
  *      T
  *      @ExcelColumn(header = "회사명")
  *      private String companyName;
  *
+ *      @ExcelColumn(header = "전체 이름")
+ *      public String getFullName() { ... }
+ *
+ *      @ExcelColumn(header = "도시", path = "address.city")
+ *      private Customer customer;
+ *
+ *      @ExcelColumn(header = "금액", format = "#,##0", aggregate = ExcelAggregate.SUM)
+ *      private long amount;
+ *
  */
-@Target(FIELD)
+@Target({FIELD, METHOD})
 @Retention(RUNTIME)
 public @interface ExcelColumn {
     String header() default "";
 
     String headerEn() default "";
 
+    String headerKey() default "";
+
     int width() default 4096;
 
+    boolean autoWidth() default false;
+
     Class<? extends CellStyleStrategy> headerStyle() default DefaultHeaderStyle.class;
 
     Class<? extends CellStyleStrategy> bodyStyle() default DefaultBodyStyle.class;
@@ -49,4 +78,10 @@ public @interface ExcelColumn {
 
     String columnDefault() default "";
 
+    int order() default Integer.MAX_VALUE;
+
+    String path() default "";
+
+    ExcelAggregate aggregate() default ExcelAggregate.NONE;
+
 }
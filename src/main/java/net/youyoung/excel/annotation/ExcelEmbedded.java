@@ -0,0 +1,39 @@
+package net.youyoung.excel.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * 값 객체 필드의 @ExcelColumn 컬럼을 이 위치에 펼쳐서 기록
+ *
+ * headerPrefix 펼쳐진 컬럼 헤더 앞에 붙일 문자열
+ *
+ * headerEnPrefix (다국어 지원용) 영문 헤더 앞에 붙일 문자열 미입력시 headerPrefix 값으로 대체
+ *
+ * headerKeyPrefix 펼쳐진 컬럼 headerKey 앞에 붙일 문자열 ("shipping." 이면 "shipping.address.city")
+ *
+ * order 펼쳐진 컬럼 묶음의 순서 (@ExcelColumn order 와 같은 기준)
+ *
+ * 값 객체가 null 이면 펼쳐진 컬럼은 columnDefault 로 기록된다.
+ *
+ * 사용 예시 )
+ *      @ExcelEmbedded(headerPrefix = "고객 ")
+ *      private Customer customer;
+ *
+ */
+@Target({FIELD, METHOD})
+@Retention(RUNTIME)
+public @interface ExcelEmbedded {
+
+    String headerPrefix() default "";
+
+    String headerEnPrefix() default "";
+
+    String headerKeyPrefix() default "";
+
+    int order() default Integer.MAX_VALUE;
+}
@@ -1,15 +1,24 @@
 package net.youyoung.excel.annotation;
 
 
-import org.apache.poi.ss.usermodel.CellStyle;
+import net.youyoung.excel.style.CellStyleStrategy;
 
+/**
+ * @ExcelColumn 파싱 결과
+ * 클래스 단위로 캐시되므로 워크북에 묶인 CellStyle 이 아닌 CellStyleStrategy 인스턴스를 보관한다.
+ *
+ * 라이브러리 내부와 excel-utils-processor 생성 코드용이며 컴포넌트는 버전마다 추가될 수 있다. (CHANGELOG.md 참고)
+ */
 public record ExcelFieldInfo
         (
                 String header,
                 String headerEn,
                 int width,
-                CellStyle headerStyleStrategy,
-                CellStyle bodyStyleStrategy,
+                CellStyleStrategy headerStyleStrategy,
+                CellStyleStrategy bodyStyleStrategy,
                 String format,
-                String columnDefault
+                String columnDefault,
+                boolean autoWidth,
+                String headerKey,
+                ExcelAggregate aggregate
         ) {}
@@ -22,4 +22,6 @@ public @interface ExcelTitle {
     String sheetTitle() default "";
 
     String sheetTitleEn() default "";
+
+    String sheetTitleKey() default "";
 }
@@ -0,0 +1,42 @@
+package net.youyoung.excel.annotation;
+
+import net.youyoung.excel.accessor.ColumnAccessor;
+import net.youyoung.excel.style.CellStyleStrategy;
+
+import java.util.List;
+
+/**
+ * 컴파일 시점에 excel-utils-processor 가 생성하는 @ExcelTitle, @ExcelColumn 파싱 결과
+ *
+ * DTO 와 같은 패키지에 "클래스명_ExcelSchema" (중첩 클래스는 "Outer_Inner_ExcelSchema") 로 생성된다.
+ * 생성된 클래스가 있으면 ExcelUtils 는 필드 스캔과 MethodHandle 대신 이 정보를 사용하고, 없으면 리플렉션으로 파싱한다.
+ */
+public interface GeneratedExcelSchema {
+
+    String CLASS_NAME_SUFFIX = "_ExcelSchema";
+
+    /**
+     * 생성 대상 DTO 클래스
+     */
+    Class<?> type();
+
+    /**
+     * @return @ExcelTitle 미선언 시 null
+     */
+    ExcelTitle excelTitle();
+
+    /**
+     * @return @ExcelTitle 미선언 시 null
+     */
+    CellStyleStrategy titleStyleStrategy();
+
+    /**
+     * 선언 순서의 컬럼
+     */
+    List<Column> columns();
+
+    /**
+     * @param name 필드명
+     */
+    record Column(String name, ExcelFieldInfo fieldInfo, ColumnAccessor accessor) {}
+}
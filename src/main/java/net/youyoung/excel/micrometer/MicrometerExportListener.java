@@ -0,0 +1,100 @@
+package net.youyoung.excel.micrometer;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import net.youyoung.excel.ExcelExportListener;
+import net.youyoung.excel.ExcelExportMetrics;
+
+import java.time.Duration;
+
+/**
+ * ExcelExportMetrics 를 Micrometer 로 기록하는 리스너
+ * micrometer-core 는 선택 의존성이므로 사용하는 애플리케이션에 추가되어 있어야 한다.
+ *
+ * 기록하는 meter (공통 태그 class, engine)
+ *   excel.export              전체 시간 (outcome=success|failure)
+ *   excel.export.phase        단계별 시간 (phase=schema|body|flush|write)
+ *   excel.export.rows         Body 행 수
+ *   excel.export.rows.rate    초당 행 수
+ *   excel.export.bytes        결과 파일 크기
+ *   excel.export.temp.bytes   SXSSF 임시 파일 크기
+ *   excel.export.rows.memory  메모리에 유지한 최대 행 수
+ *   excel.export.styles       생성한 CellStyle 수
+ *
+ * 사용코드
+ *
+ * ExcelExportOptions.setDefaults(ExcelExportOptions.builder()
+ *         .listener(new MicrometerExportListener(meterRegistry))
+ *         .build());
+ */
+public class MicrometerExportListener implements ExcelExportListener {
+
+    private final MeterRegistry registry;
+
+    private final Tags tags;
+
+    public MicrometerExportListener(MeterRegistry registry) {
+        this(registry, Tags.empty());
+    }
+
+    /**
+     * @param tags 모든 meter 에 추가할 태그
+     */
+    public MicrometerExportListener(MeterRegistry registry, Iterable<Tag> tags) {
+        if (registry == null)
+            throw new IllegalArgumentException("registry cannot be null");
+        this.registry = registry;
+        this.tags = Tags.of(tags);
+    }
+
+    @Override
+    public void onExportCompleted(ExcelExportMetrics metrics) {
+        record(metrics, "success");
+    }
+
+    @Override
+    public void onExportFailed(ExcelExportMetrics metrics, Throwable cause) {
+        record(metrics, "failure");
+    }
+
+    private void record(ExcelExportMetrics metrics, String outcome) {
+        Tags exportTags = tags.and("class", metrics.type().getSimpleName(), "engine", metrics.engine().name());
+
+        Timer.builder("excel.export")
+                .description("Excel export duration")
+                .tags(exportTags.and("outcome", outcome))
+                .register(registry)
+                .record(metrics.totalTime());
+
+        phase(exportTags, "schema", metrics.schemaTime());
+        phase(exportTags, "body", metrics.bodyTime());
+        phase(exportTags, "flush", metrics.flushTime());
+        phase(exportTags, "write", metrics.writeTime());
+
+        summary("excel.export.rows", "rows", exportTags, metrics.rows());
+        summary("excel.export.rows.rate", "rows/s", exportTags, metrics.rowsPerSecond());
+        summary("excel.export.bytes", "bytes", exportTags, metrics.bytesWritten());
+        summary("excel.export.temp.bytes", "bytes", exportTags, metrics.tempFileBytes());
+        summary("excel.export.rows.memory", "rows", exportTags, metrics.peakRowsInMemory());
+        summary("excel.export.styles", "styles", exportTags, metrics.stylesCreated());
+    }
+
+    private void phase(Tags exportTags, String phase, Duration duration) {
+        Timer.builder("excel.export.phase")
+                .description("Excel export duration by phase")
+                .tags(exportTags.and("phase", phase))
+                .register(registry)
+                .record(duration);
+    }
+
+    private void summary(String name, String baseUnit, Tags exportTags, double amount) {
+        DistributionSummary.builder(name)
+                .baseUnit(baseUnit)
+                .tags(exportTags)
+                .register(registry)
+                .record(amount);
+    }
+}
@@ -0,0 +1,153 @@
+package net.youyoung.excel.reactive;
+
+import net.youyoung.excel.ExcelEngine;
+import net.youyoung.excel.ExcelExportOptions;
+import net.youyoung.excel.ExcelUtils;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * WebFlux 용 엑셀 / CSV 내보내기
+ * reactor-core 는 선택 의존성이므로 사용하는 애플리케이션에 추가되어 있어야 한다. (spring-boot-starter-webflux)
+ *
+ * Flux<T> 를 prefetch 개씩 요청해서 읽고 결과 파일을 chunkSize 단위 Flux<DataBuffer> 로 내보낸다.
+ * 엑셀 생성은 boundedElastic 스레드에서 수행되어 Netty 이벤트 루프를 막지 않으며,
+ * 구독자의 요청이 없으면 생성을 멈추므로 느린 클라이언트에도 메모리 사용량이 일정하다. 구독을 취소하면 생성도 중단된다.
+ * 옵션을 지정하지 않으면 행을 바로 기록하는 ExcelEngine.DIRECT 를 사용한다. (SXSSF 는 마지막에 한번에 압축해서 기록)
+ *
+ * 사용코드
+ *
+ * @GetMapping("/orders/excel")
+ * public Mono<Void> download(ServerWebExchange exchange) {
+ *     return ReactiveExcelUtils.download(exchange.getResponse(), orderRepository.findAll(), OrderDto.class, "주문",
+ *             exchange.getLocaleContext().getLocale());
+ * }
+ */
+public final class ReactiveExcelUtils {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * 한번에 요청하는 행 수
+     */
+    public static final int DEFAULT_PREFETCH = Queues.SMALL_BUFFER_SIZE;
+
+    private ReactiveExcelUtils() {}
+
+    /**
+     * @param locale 헤더 다국어 기준 로케일, null 이면 기본 로케일
+     */
+    public static <T> Flux<DataBuffer> export(@NonNull Flux<T> rows, @NonNull Class<T> clazz, @NonNull DataBufferFactory bufferFactory, Locale locale) {
+        return export(rows, clazz, bufferFactory, locale, -1, defaultOptions());
+    }
+
+    /**
+     * @param totalCount 전체 건수, 모르는 경우 음수 (전체 건수 행은 Body 다음에 기록)
+     */
+    public static <T> Flux<DataBuffer> export(@NonNull Flux<T> rows, @NonNull Class<T> clazz, @NonNull DataBufferFactory bufferFactory, Locale locale,
+                                              long totalCount, @NonNull ExcelExportOptions options) {
+        parameterValidation(rows, clazz, bufferFactory, options);
+        return write(locale, bufferFactory, DEFAULT_CHUNK_SIZE, Schedulers.boundedElastic(),
+                (iterator, outputStream) -> ExcelUtils.writeTo(iterator, clazz, outputStream, totalCount, options), rows);
+    }
+
+    /**
+     * 같은 @ExcelColumn 정보로 CSV 내보내기 (ExcelExportOptions 의 csv 옵션 사용)
+     */
+    public static <T> Flux<DataBuffer> exportCsv(@NonNull Flux<T> rows, @NonNull Class<T> clazz, @NonNull DataBufferFactory bufferFactory, Locale locale,
+                                                 @NonNull ExcelExportOptions options) {
+        parameterValidation(rows, clazz, bufferFactory, options);
+        return write(locale, bufferFactory, DEFAULT_CHUNK_SIZE, Schedulers.boundedElastic(),
+                (iterator, outputStream) -> ExcelUtils.writeCsv(iterator, clazz, outputStream, options), rows);
+    }
+
+    /**
+     * 응답 헤더 (Content-Type, Content-Disposition) 를 설정하고 엑셀을 기록
+     */
+    public static <T> Mono<Void> download(@NonNull ServerHttpResponse response, @NonNull Flux<T> rows, @NonNull Class<T> clazz, String downloadFileName, Locale locale) {
+        setHeaders(response, downloadFileName, "xlsx", MediaType.parseMediaType(ExcelUtils.EXCEL_MIME_TYPE));
+        return response.writeWith(export(rows, clazz, response.bufferFactory(), locale));
+    }
+
+    public static <T> Mono<Void> downloadCsv(@NonNull ServerHttpResponse response, @NonNull Flux<T> rows, @NonNull Class<T> clazz, String downloadFileName, Locale locale,
+                                             @NonNull ExcelExportOptions options) {
+        boolean gzip = options.csvGzip();
+        setHeaders(response, downloadFileName, gzip ? "csv.gz" : "csv", MediaType.parseMediaType(gzip ? ExcelUtils.GZIP_MIME_TYPE : ExcelUtils.CSV_MIME_TYPE));
+        return response.writeWith(exportCsv(rows, clazz, response.bufferFactory(), locale, options));
+    }
+
+    /**
+     * 구독 시 scheduler 스레드에서 rows 를 Iterator 로 읽으며 기록
+     */
+    static <T> Flux<DataBuffer> write(Locale locale, DataBufferFactory bufferFactory, int chunkSize, Scheduler scheduler, RowsOutput<T> output, Flux<T> rows) {
+        return Flux.create(sink -> {
+            SinkOutputStream outputStream = new SinkOutputStream(sink, bufferFactory, chunkSize);
+            Disposable task = scheduler.schedule(() -> run(locale, output, rows, outputStream, sink));
+            sink.onDispose(task);
+        });
+    }
+
+    private static <T> void run(Locale locale, RowsOutput<T> output, Flux<T> rows, SinkOutputStream outputStream, FluxSink<DataBuffer> sink) {
+        if (locale != null)
+            LocaleContextHolder.setLocale(locale);
+        // Stream 을 닫으면 rows 구독도 취소된다
+        try (Stream<T> stream = rows.toStream(DEFAULT_PREFETCH)) {
+            output.writeTo(stream.iterator(), outputStream);
+            outputStream.close();
+            sink.complete();
+        } catch (Throwable e) {
+            // Error 도 구독자에게 전달해 응답이 끝나지 않은 채 남지 않게 하고, JVM 치명적 오류는 스케줄러에도 다시 던진다
+            if (!outputStream.isCancelled())
+                sink.error(e);
+            Exceptions.throwIfJvmFatal(e);
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+    }
+
+    /**
+     * 사용자 기본 옵션에서 엔진만 DIRECT 로 변경
+     */
+    private static ExcelExportOptions defaultOptions() {
+        return ExcelExportOptions.defaults().toBuilder().engine(ExcelEngine.DIRECT).build();
+    }
+
+    private static void setHeaders(ServerHttpResponse response, String downloadFileName, String extension, MediaType contentType) {
+        String fileName = String.format("%s_%s.%s", downloadFileName, LocalDate.now(), extension);
+        HttpHeaders headers = response.getHeaders();
+        headers.setContentType(contentType);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build());
+    }
+
+    private static void parameterValidation(Object rows, Class<?> clazz, DataBufferFactory bufferFactory, ExcelExportOptions options) {
+        if (rows == null || clazz == null || bufferFactory == null || options == null)
+            throw new IllegalArgumentException("rows, clazz, bufferFactory or options cannot be null");
+    }
+
+    @FunctionalInterface
+    interface RowsOutput<T> {
+        void writeTo(Iterator<T> rows, OutputStream outputStream) throws IOException;
+    }
+}
@@ -0,0 +1,112 @@
+package net.youyoung.excel.reactive;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Operators;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/**
+ * chunkSize 단위로 DataBuffer 를 FluxSink 에 내보내는 OutputStream
+ *
+ * 구독자의 요청(demand)이 없으면 기록 스레드를 대기시키므로 느린 클라이언트에서도 메모리에 쌓이는 양은 chunk 하나다.
+ * 구독이 취소되면 다음 기록에서 CancellationException 을 던져 엑셀 생성을 중단한다.
+ */
+final class SinkOutputStream extends OutputStream {
+
+    private final FluxSink<DataBuffer> sink;
+
+    private final DataBufferFactory bufferFactory;
+
+    private final int chunkSize;
+
+    private final Object lock = new Object();
+
+    private long demand;
+
+    private boolean cancelled;
+
+    private byte[] buffer;
+
+    private int count;
+
+    SinkOutputStream(FluxSink<DataBuffer> sink, DataBufferFactory bufferFactory, int chunkSize) {
+        this.sink = sink;
+        this.bufferFactory = bufferFactory;
+        this.chunkSize = chunkSize;
+        this.buffer = new byte[chunkSize];
+
+        sink.onRequest(n -> {
+            synchronized (lock) {
+                demand = Operators.addCap(demand, n);
+                lock.notifyAll();
+            }
+        });
+        sink.onCancel(() -> {
+            synchronized (lock) {
+                cancelled = true;
+                lock.notifyAll();
+            }
+        });
+    }
+
+    boolean isCancelled() {
+        synchronized (lock) {
+            return cancelled;
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == chunkSize)
+            emit();
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == chunkSize)
+                emit();
+            int length = Math.min(len, chunkSize - count);
+            System.arraycopy(b, off, buffer, count, length);
+            count += length;
+            off += length;
+            len -= length;
+        }
+    }
+
+    /**
+     * 작은 chunk 가 생기지 않도록 flush 는 무시하고 close 에서 남은 내용을 내보낸다.
+     */
+    @Override
+    public void close() throws IOException {
+        if (count > 0)
+            emit();
+    }
+
+    private void emit() throws IOException {
+        synchronized (lock) {
+            try {
+                while (demand == 0 && !cancelled)
+                    lock.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("export interrupted");
+            }
+            if (cancelled)
+                throw new CancellationException("export cancelled");
+            if (demand != Long.MAX_VALUE)
+                demand--;
+        }
+
+        sink.next(bufferFactory.wrap(count == chunkSize ? buffer : Arrays.copyOf(buffer, count)));
+        buffer = new byte[chunkSize];
+        count = 0;
+    }
+}
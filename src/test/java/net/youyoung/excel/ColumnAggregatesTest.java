@@ -0,0 +1,151 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.annotation.ExcelAggregate;
+import net.youyoung.excel.annotation.ExcelColumn;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @ExcelColumn(aggregate) 요약 행을 POI 로 다시 읽어 목록에서 직접 계산한 값과 비교 (두 엔진, 시트 분할, 병렬 변환)
+ * ExcelUtils.read 는 요약 행만 건너뛰고 요약 행처럼 보이는 Body 행은 그대로 읽는다.
+ */
+class ColumnAggregatesTest {
+
+    static class Order {
+        @ExcelColumn(header = "고객", aggregate = ExcelAggregate.COUNT_DISTINCT)
+        private final String customer;
+
+        @ExcelColumn(header = "금액", format = "#,##0", aggregate = ExcelAggregate.SUM)
+        private final long amount;
+
+        @ExcelColumn(header = "할인율", format = "0.00", aggregate = ExcelAggregate.AVG)
+        private final Double discount;
+
+        @ExcelColumn(header = "최소 수량", aggregate = ExcelAggregate.MIN)
+        private final int quantity;
+
+        @ExcelColumn(header = "주문일", format = "yyyy-mm-dd", aggregate = ExcelAggregate.MAX)
+        private final LocalDate orderDate;
+
+        @ExcelColumn(header = "메모", aggregate = ExcelAggregate.COUNT)
+        private final String memo;
+
+        Order(int no) {
+            this.customer = "고객" + no % 7;
+            this.amount = no * 1_250L;
+            this.discount = no % 3 == 0 ? null : no / 40.0;
+            this.quantity = 100 - no * 3;
+            this.orderDate = LocalDate.of(2024, 1, 1).plusDays(no * 11L % 50);
+            this.memo = no % 4 == 0 ? "확인" : null;
+        }
+    }
+
+    static class Payment {
+        @ExcelColumn(header = "이름")
+        private String name;
+
+        @ExcelColumn(header = "금액", aggregate = ExcelAggregate.SUM)
+        private long amount;
+
+        Payment() {}
+
+        Payment(String name, long amount) {
+            this.name = name;
+            this.amount = amount;
+        }
+
+        List<Object> values() {
+            return Arrays.asList(name, amount);
+        }
+    }
+
+    private static final List<Order> ORDERS = IntStream.rangeClosed(1, 25).mapToObj(Order::new).toList();
+
+    @BeforeEach
+    void setLocale() {
+        LocaleContextHolder.setLocale(Locale.KOREAN);
+    }
+
+    @AfterEach
+    void resetLocale() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void summaryRowMatchesListOnBothEngines() throws IOException {
+        for (ExcelEngine engine : ExcelEngine.values()) {
+            assertSummary(ExcelExportOptions.builder().engine(engine).build(), 1);
+            assertSummary(ExcelExportOptions.builder().engine(engine).maxRowsPerSheet(10).build(), 3);
+        }
+    }
+
+    @Test
+    void summaryRowMatchesListWhenRenderedInParallel() throws IOException {
+        assertSummary(ExcelExportOptions.builder().parallelism(4).build(), 1);
+    }
+
+    @Test
+    void readKeepsBodyRowsThatLookLikeSummaryRow() throws IOException {
+        List<Payment> payments = List.of(new Payment("a", 1), new Payment(null, 2), new Payment("합계", 3), new Payment("b", 4), new Payment(null, 5));
+
+        for (ExcelEngine engine : ExcelEngine.values()) {
+            for (int maxRowsPerSheet : new int[]{100, 3}) {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                ExcelUtils.writeTo(payments.iterator(), Payment.class, outputStream, payments.size(),
+                        ExcelExportOptions.builder().engine(engine).maxRowsPerSheet(maxRowsPerSheet).build());
+
+                try (Stream<Payment> rows = ExcelUtils.read(new ByteArrayInputStream(outputStream.toByteArray()), Payment.class)) {
+                    assertEquals(payments.stream().map(Payment::values).toList(), rows.map(Payment::values).toList(),
+                            engine + ", maxRowsPerSheet " + maxRowsPerSheet);
+                }
+            }
+        }
+    }
+
+    private static void assertSummary(ExcelExportOptions options, int sheets) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExcelUtils.writeTo(ORDERS.iterator(), Order.class, outputStream, ORDERS.size(), options);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            String message = options.engine() + ", maxRowsPerSheet " + options.maxRowsPerSheet();
+            assertEquals(sheets, workbook.getNumberOfSheets(), message);
+
+            Sheet sheet = workbook.getSheetAt(sheets - 1);
+            Row summary = sheet.getRow(sheet.getLastRowNum());
+            assertEquals(ORDERS.stream().map(order -> order.customer).distinct().count(), numeric(summary.getCell(0)), 0, message);
+            assertEquals(ORDERS.stream().mapToLong(order -> order.amount).sum(), numeric(summary.getCell(1)), 0, message);
+            assertEquals(ORDERS.stream().map(order -> order.discount).filter(Objects::nonNull).mapToDouble(Double::doubleValue).average().orElseThrow(),
+                    numeric(summary.getCell(2)), 1e-12, message);
+            assertEquals(ORDERS.stream().mapToInt(order -> order.quantity).min().orElseThrow(), numeric(summary.getCell(3)), 0, message);
+            assertEquals(ORDERS.stream().map(order -> order.orderDate).max(LocalDate::compareTo).orElseThrow(),
+                    summary.getCell(4).getLocalDateTimeCellValue().toLocalDate(), message);
+            assertEquals("yyyy-mm-dd", summary.getCell(4).getCellStyle().getDataFormatString(), message);
+            assertEquals(ORDERS.stream().filter(order -> order.memo != null).count(), numeric(summary.getCell(5)), 0, message);
+        }
+    }
+
+    private static double numeric(Cell cell) {
+        assertEquals(CellType.NUMERIC, cell.getCellType());
+        return cell.getNumericCellValue();
+    }
+}
@@ -0,0 +1,133 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.annotation.ExcelColumn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * CSV 날짜 컬럼의 엑셀 날짜 코드 변환, 내보내기 측정 값
+ */
+class CsvWriterTest {
+
+    static class Order {
+        @ExcelColumn(header = "주문일", format = "yyyy-mm-dd")
+        private final LocalDate orderDate;
+
+        @ExcelColumn(header = "결제일", format = "yyyy-mm-dd")
+        private final LocalDateTime paidAt;
+
+        @ExcelColumn(header = "수정일시", format = "yyyy-mm-dd hh:mm:ss")
+        private final LocalDateTime updatedAt;
+
+        @ExcelColumn(header = "배송일시", format = "m/d/yy h:mm AM/PM")
+        private final LocalDateTime shippedAt;
+
+        @ExcelColumn(header = "마감", format = "[h]:mm")
+        private final LocalDateTime closedAt;
+
+        Order(LocalDate orderDate, LocalDateTime paidAt, LocalDateTime updatedAt, LocalDateTime shippedAt, LocalDateTime closedAt) {
+            this.orderDate = orderDate;
+            this.paidAt = paidAt;
+            this.updatedAt = updatedAt;
+            this.shippedAt = shippedAt;
+            this.closedAt = closedAt;
+        }
+    }
+
+    @BeforeEach
+    void setLocale() {
+        LocaleContextHolder.setLocale(Locale.KOREAN);
+    }
+
+    @AfterEach
+    void resetLocale() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void translatesExcelDateCodes() throws IOException {
+        LocalDateTime dateTime = LocalDateTime.of(2024, 3, 5, 14, 7, 9);
+        List<Order> orders = List.of(new Order(dateTime.toLocalDate(), dateTime, dateTime, dateTime, dateTime));
+
+        assertEquals(List.of(
+                "주문일,결제일,수정일시,배송일시,마감",
+                "2024-03-05,2024-03-05,2024-03-05 14:07:09,3/5/24 2:07 PM,2024-03-05 14:07:09"), lines(orders));
+    }
+
+    @Test
+    void roundTripsDateColumn() throws IOException {
+        LocalDate orderDate = LocalDate.of(2024, 12, 31);
+        List<Order> orders = List.of(new Order(orderDate, null, null, null, null));
+
+        assertEquals(orderDate, LocalDate.parse(lines(orders).get(1).split(",")[0]));
+    }
+
+    @Test
+    void reportsMetricsToListeners() throws IOException {
+        List<ExcelExportMetrics> completed = new ArrayList<>();
+        ExcelExportOptions options = ExcelExportOptions.builder().listener(new ExcelExportListener() {
+            @Override
+            public void onExportCompleted(ExcelExportMetrics metrics) {
+                completed.add(metrics);
+            }
+        }).build();
+        LocalDateTime dateTime = LocalDateTime.of(2024, 3, 5, 14, 7, 9);
+        List<Order> orders = List.of(new Order(null, null, null, null, null), new Order(null, dateTime, null, null, null));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExcelUtils.writeCsv(orders.iterator(), Order.class, outputStream, options);
+
+        assertEquals(1, completed.size());
+        assertEquals(Order.class, completed.get(0).type());
+        assertEquals(2, completed.get(0).rows());
+        assertEquals(outputStream.size(), completed.get(0).bytesWritten());
+    }
+
+    @Test
+    void reportsFailureToListeners() {
+        List<Throwable> failed = new ArrayList<>();
+        ExcelExportOptions options = ExcelExportOptions.builder().listener(new ExcelExportListener() {
+            @Override
+            public void onExportFailed(ExcelExportMetrics metrics, Throwable cause) {
+                failed.add(cause);
+            }
+        }).build();
+        Iterator<Order> rows = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Order next() {
+                throw new IllegalStateException("query failed");
+            }
+        };
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> ExcelUtils.writeCsv(rows, Order.class, new ByteArrayOutputStream(), options));
+        assertEquals(List.of(e), failed);
+    }
+
+    private static List<String> lines(List<Order> orders) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExcelUtils.writeCsv(orders, Order.class, outputStream);
+        String csv = outputStream.toString(StandardCharsets.UTF_8);
+        return List.of(csv.replace("\uFEFF", "").split("\r\n"));
+    }
+}
@@ -0,0 +1,100 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.annotation.ExcelColumn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ExcelExportCache 파일 항목 이동, 제거
+ */
+class ExcelExportCacheTest {
+
+    static class Order {
+        @ExcelColumn(header = "번호")
+        private final int no;
+
+        Order(int no) {
+            this.no = no;
+        }
+    }
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setLocale() {
+        LocaleContextHolder.setLocale(Locale.KOREAN);
+    }
+
+    @AfterEach
+    void resetLocale() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void evictedFileStaysReadableUntilStreamClosed() throws IOException {
+        try (ExcelExportCache cache = ExcelExportCache.builder().directory(directory).memoryEntryThreshold(0).maximumDiskSize(0).build()) {
+            CachedExport first = cache.get("a", Duration.ofMinutes(5), () -> orders(1), Order.class);
+            byte[] expected;
+            try (InputStream inputStream = first.getInputStream()) {
+                expected = inputStream.readAllBytes();
+            }
+
+            try (InputStream inputStream = first.getInputStream()) {
+                cache.get("b", Duration.ofMinutes(5), () -> orders(2), Order.class);
+                assertEquals(2, files());
+                assertFalse(first.exists());
+                assertArrayEquals(expected, inputStream.readAllBytes());
+            }
+
+            assertEquals(1, files());
+            assertThrows(FileNotFoundException.class, first::getInputStream);
+        }
+    }
+
+    @Test
+    void spillsMemoryEntriesToFiles() throws IOException {
+        try (ExcelExportCache cache = ExcelExportCache.builder().directory(directory).maximumMemorySize(0).build()) {
+            CachedExport created = cache.get("a", Duration.ofMinutes(5), () -> orders(3), Order.class);
+            CachedExport cached = cache.get("a", Duration.ofMinutes(5), () -> orders(3), Order.class);
+
+            assertFalse(created.isFileBacked());
+            assertTrue(cached.isFileBacked());
+            assertEquals(created.eTag(), cached.eTag());
+            try (InputStream expected = created.getInputStream(); InputStream actual = cached.getInputStream()) {
+                assertArrayEquals(expected.readAllBytes(), actual.readAllBytes());
+            }
+            assertEquals(0, cache.stats().memorySize());
+            assertEquals(cached.contentLength(), cache.stats().diskSize());
+        }
+    }
+
+    private static Iterator<Order> orders(int count) {
+        return Stream.iterate(1, no -> no + 1).limit(count).map(Order::new).iterator();
+    }
+
+    private long files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
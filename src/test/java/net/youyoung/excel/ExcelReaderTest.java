@@ -0,0 +1,202 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.annotation.ExcelBundle;
+import net.youyoung.excel.annotation.ExcelColumn;
+import net.youyoung.excel.annotation.ExcelTitle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ExcelUtils.read 로 내보낸 파일과 직접 만든 업로드 파일 읽기
+ */
+class ExcelReaderTest {
+
+    static class Order {
+        @ExcelColumn(header = "번호")
+        private Long no;
+
+        @ExcelColumn(header = "고객", columnDefault = "-")
+        private String name;
+
+        @ExcelColumn(header = "수량", columnDefault = "0")
+        private int quantity;
+
+        @ExcelColumn(header = "주문일", format = "yyyy-mm-dd")
+        private LocalDate orderDate;
+
+        @ExcelColumn(header = "수정일시", format = "yyyy/mm/dd hh:mm", columnDefault = "-")
+        private LocalDateTime updatedAt;
+
+        Order() {}
+
+        Order(Long no, String name, int quantity, LocalDate orderDate, LocalDateTime updatedAt) {
+            this.no = no;
+            this.name = name;
+            this.quantity = quantity;
+            this.orderDate = orderDate;
+            this.updatedAt = updatedAt;
+        }
+
+        List<Object> values() {
+            return Arrays.asList(no, name, quantity, orderDate, updatedAt);
+        }
+    }
+
+    @ExcelBundle("messages.reader")
+    @ExcelTitle(sheetTitle = "메모", sheetTitleEn = "Memo")
+    static class Memo {
+        @ExcelColumn(header = "메모", headerKey = "order.memo")
+        private String memo;
+
+        @ExcelColumn(header = "번호", headerKey = "order.no")
+        private Long no;
+
+        Memo() {}
+
+        Memo(String memo, Long no) {
+            this.memo = memo;
+            this.no = no;
+        }
+    }
+
+    @BeforeEach
+    void setLocale() {
+        LocaleContextHolder.setLocale(Locale.KOREAN);
+    }
+
+    @AfterEach
+    void resetLocale() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void roundTripsExportedWorkbook() throws IOException {
+        List<Order> orders = List.of(
+                new Order(1L, "김철수", 3, LocalDate.of(2024, 3, 5), LocalDateTime.of(2024, 3, 5, 14, 7)),
+                new Order(2L, "이영희", 10, LocalDate.of(2024, 12, 31), LocalDateTime.of(2024, 12, 31, 23, 59)),
+                new Order(3L, "박민수", 0, LocalDate.of(2025, 1, 1), null));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExcelUtils.writeTo(orders, Order.class, outputStream);
+
+        assertEquals(orders.stream().map(Order::values).toList(), read(outputStream.toByteArray()));
+    }
+
+    @Test
+    void readsTextDatesWithExcelDateCodes() throws IOException {
+        byte[] xlsx = xlsx(
+                new Object[]{"번호", "고객", "수량", "주문일", "수정일시"},
+                new Object[]{1, "김철수", 3, "2024-03-05", "2024/03/05 14:07"});
+
+        assertEquals(List.of(Arrays.asList(1L, "김철수", 3, LocalDate.of(2024, 3, 5), LocalDateTime.of(2024, 3, 5, 14, 7))), read(xlsx));
+    }
+
+    @Test
+    void ignoresUnknownHeaders() throws IOException {
+        byte[] xlsx = xlsx(
+                new Object[]{"주문 목록"},
+                new Object[]{},
+                new Object[]{"번호", "비고", "고객", "담당자"},
+                new Object[]{1, "긴급", "김철수", "홍길동"});
+
+        assertEquals(List.of(Arrays.asList(1L, "김철수", 0, null, null)), read(xlsx));
+    }
+
+    @Test
+    void keepsValuesEqualToColumnDefault() throws IOException {
+        byte[] xlsx = xlsx(
+                new Object[]{"번호", "고객", "수량", "수정일시"},
+                new Object[]{1, "-", 0, "-"});
+
+        assertEquals(List.of(Arrays.asList(1L, "-", 0, null, null)), read(xlsx));
+    }
+
+    @Test
+    void failsWhenNoHeaderRowFound() throws IOException {
+        byte[] xlsx = xlsx(
+                new Object[]{"No", "Customer name"},
+                new Object[]{1, "김철수"});
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> read(xlsx));
+        assertTrue(e.getMessage().contains("[번호, 고객, 수량, 주문일, 수정일시]"), e.getMessage());
+    }
+
+    @Test
+    void skipsEmptySheets() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExcelUtils.writeTo(List.of(new Order(1L, "김철수", 3, null, null)), Order.class, outputStream);
+        byte[] xlsx;
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            workbook.createSheet("Sheet2");
+            ByteArrayOutputStream withEmptySheet = new ByteArrayOutputStream();
+            workbook.write(withEmptySheet);
+            xlsx = withEmptySheet.toByteArray();
+        }
+
+        assertEquals(List.of(Arrays.asList(1L, "김철수", 3, null, null)), read(xlsx));
+    }
+
+    @Test
+    void skipsTotalRowResolvedFromBundle() throws IOException {
+        LocaleContextHolder.setLocale(Locale.JAPANESE);
+        List<Memo> memos = List.of(new Memo("Total : 1", 1L), new Memo("전체 : 2", 2L));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExcelUtils.writeTo(memos.stream(), Memo.class, outputStream);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("全2件", sheet.getRow(sheet.getLastRowNum()).getCell(0).getStringCellValue());
+        }
+        try (Stream<Memo> rows = ExcelUtils.read(new ByteArrayInputStream(outputStream.toByteArray()), Memo.class)) {
+            assertEquals(List.of("Total : 1", "전체 : 2"), rows.map(memo -> memo.memo).toList());
+        }
+    }
+
+    private static List<List<Object>> read(byte[] xlsx) throws IOException {
+        try (Stream<Order> rows = ExcelUtils.read(new ByteArrayInputStream(xlsx), Order.class)) {
+            return rows.map(Order::values).toList();
+        }
+    }
+
+    /**
+     * 사용자가 직접 작성한 파일 (문자열, 숫자 셀)
+     */
+    private static byte[] xlsx(Object[]... rows) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Sheet1");
+            for (int rowNo = 0; rowNo < rows.length; rowNo++) {
+                Row row = sheet.createRow(rowNo);
+                for (int cellNo = 0; cellNo < rows[rowNo].length; cellNo++) {
+                    Object value = rows[rowNo][cellNo];
+                    if (value instanceof Number number)
+                        row.createCell(cellNo).setCellValue(number.doubleValue());
+                    else if (value != null)
+                        row.createCell(cellNo).setCellValue(value.toString());
+                }
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            workbook.write(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.annotation.ExcelColumn;
+import net.youyoung.excel.annotation.ExcelTitle;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * ExcelUtils.workbook() 시트명 결정
+ */
+class ExcelWorkbookBuilderTest {
+
+    @ExcelTitle(sheetTitle = "주문 목록", sheetTitleEn = "Orders")
+    static class Order {
+        @ExcelColumn(header = "번호")
+        private final int no;
+
+        Order(int no) {
+            this.no = no;
+        }
+    }
+
+    static class Memo {
+        @ExcelColumn(header = "내용")
+        private final String text;
+
+        Memo(String text) {
+            this.text = text;
+        }
+    }
+
+    @BeforeEach
+    void setLocale() {
+        LocaleContextHolder.setLocale(Locale.KOREAN);
+    }
+
+    @AfterEach
+    void resetLocale() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void numbersDuplicateDefaultSheetNames() throws IOException {
+        ExcelWorkbookBuilder builder = ExcelUtils.workbook()
+                .sheet(orders(1), Order.class, null)
+                .sheet(orders(1), Order.class, null)
+                .sheet(List.of(new Memo("a")), Memo.class, null)
+                .sheet(List.of(new Memo("b")), Memo.class, "sheet3");
+
+        assertEquals(List.of("주문 목록", "주문 목록 (2)", "Sheet3 (2)", "sheet3"), sheetNames(builder));
+    }
+
+    @Test
+    void rolloverSheetsAvoidNamesOfLaterSheets() throws IOException {
+        ExcelWorkbookBuilder builder = ExcelUtils.workbook()
+                .options(ExcelExportOptions.builder().maxRowsPerSheet(10).build())
+                .sheet(orders(15), Order.class, null)
+                .sheet(orders(1), Order.class, "주문 목록 (2)");
+
+        assertEquals(List.of("주문 목록", "주문 목록 (3)", "주문 목록 (2)"), sheetNames(builder));
+    }
+
+    @Test
+    void rejectsInvalidOrDuplicateSheetNames() {
+        ExcelWorkbookBuilder builder = ExcelUtils.workbook().sheet(orders(1), Order.class, "Orders");
+
+        assertThrows(IllegalArgumentException.class, () -> builder.sheet(orders(1), Order.class, "Orders"));
+        assertThrows(IllegalArgumentException.class, () -> builder.sheet(List.of(new Memo("a")), Memo.class, "ORDERS"));
+        assertThrows(IllegalArgumentException.class, () -> builder.sheet(orders(1), Order.class, "2024/01"));
+        assertThrows(IllegalArgumentException.class, () -> builder.sheet(orders(1), Order.class, "a".repeat(32)));
+    }
+
+    private static List<Order> orders(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(Order::new).toList();
+    }
+
+    private static List<String> sheetNames(ExcelWorkbookBuilder builder) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        builder.writeTo(outputStream);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < workbook.getNumberOfSheets(); i++)
+                names.add(workbook.getSheetName(i));
+            return names;
+        }
+    }
+}
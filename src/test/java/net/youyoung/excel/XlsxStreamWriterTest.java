@@ -0,0 +1,195 @@
+package net.youyoung.excel;
+
+import net.youyoung.excel.annotation.ExcelColumn;
+import net.youyoung.excel.annotation.ExcelTitle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ExcelEngine.DIRECT, 병렬 변환 결과를 POI 로 다시 읽어 SXSSF 순차 기록 결과와 셀 단위로 비교
+ */
+class XlsxStreamWriterTest {
+
+    @ExcelTitle(sheetTitle = "주문 목록", sheetTitleEn = "Orders")
+    static class Order {
+        @ExcelColumn(header = "번호")
+        private final int no;
+
+        @ExcelColumn(header = "고객", columnDefault = "-")
+        private final String name;
+
+        @ExcelColumn(header = "금액", format = "#,##0")
+        private final long amount;
+
+        @ExcelColumn(header = "비율", format = "0.00")
+        private final double rate;
+
+        @ExcelColumn(header = "세금")
+        private final BigDecimal tax;
+
+        @ExcelColumn(header = "주문일", format = "yyyy-mm-dd")
+        private final LocalDate orderDate;
+
+        @ExcelColumn(header = "수정일시", format = "yyyy-mm-dd hh:mm:ss")
+        private final LocalDateTime updatedAt;
+
+        @ExcelColumn(header = "결제")
+        private final Boolean paid;
+
+        Order(int no) {
+            this.no = no;
+            this.name = no % 4 == 0 ? null : " 고객<" + no + "> & co ";
+            this.amount = no * 1_000L;
+            this.rate = no / 7.0;
+            this.tax = no % 5 == 0 ? new BigDecimal("12345678901234567890.12") : BigDecimal.valueOf(no, 1);
+            this.orderDate = LocalDate.of(2024, 1, 1).plusDays(no);
+            this.updatedAt = LocalDateTime.of(2024, 1, 1, 9, 30).plusMinutes(no * 37L);
+            this.paid = no % 3 == 0 ? null : no % 2 == 0;
+        }
+    }
+
+    @ExcelTitle(sheetTitle = "매출: 2024/01 [지점*별] 상세 보고서 - 아주 길고 긴 제목입니다 정말로 길어요 ABCDEFGHIJ",
+            sheetTitleEn = "Sales: 2024/01 [branch*] detailed report with a very long title ABCDEFGHIJ")
+    static class LongTitle {
+        @ExcelColumn(header = "번호")
+        private final int no;
+
+        LongTitle(int no) {
+            this.no = no;
+        }
+    }
+
+    @BeforeEach
+    void setLocale() {
+        LocaleContextHolder.setLocale(Locale.KOREAN);
+    }
+
+    @AfterEach
+    void resetLocale() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void directMatchesSxssf() throws IOException {
+        List<Order> rows = orders(100);
+
+        assertSameCells(write(rows, Order.class, rows.size(), 0), write(rows, Order.class, rows.size(), 0, ExcelEngine.DIRECT));
+    }
+
+    @Test
+    void directMatchesSxssfOnRollover() throws IOException {
+        List<Order> rows = orders(45);
+
+        try (XSSFWorkbook sxssf = write(rows, Order.class, SheetWriter.UNKNOWN_TOTAL_COUNT, 10);
+             XSSFWorkbook direct = write(rows, Order.class, SheetWriter.UNKNOWN_TOTAL_COUNT, 10, ExcelEngine.DIRECT)) {
+            assertEquals(6, direct.getNumberOfSheets());
+            assertEquals("주문 목록 (6)", direct.getSheetName(5));
+            assertSameCells(sxssf, direct);
+        }
+    }
+
+    @Test
+    void longAndInvalidTitleGivesSameValidSheetNames() throws IOException {
+        List<LongTitle> rows = new ArrayList<>();
+        for (int i = 0; i < 25; i++)
+            rows.add(new LongTitle(i));
+
+        try (XSSFWorkbook sxssf = write(rows, LongTitle.class, rows.size(), 10);
+             XSSFWorkbook direct = write(rows, LongTitle.class, rows.size(), 10, ExcelEngine.DIRECT)) {
+            for (int i = 0; i < direct.getNumberOfSheets(); i++) {
+                String sheetName = direct.getSheetName(i);
+                assertTrue(sheetName.length() <= 31, sheetName);
+                assertFalse(sheetName.matches(".*[:\\\\/?*\\[\\]].*"), sheetName);
+            }
+            assertSameCells(sxssf, direct);
+        }
+    }
+
+    @Test
+    void parallelRenderingMatchesSequential() throws IOException {
+        List<Order> rows = orders(100);
+        ExcelExportOptions parallel = ExcelExportOptions.builder().parallelism(4).parallelBatchSize(7).build();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExcelUtils.writeTo(rows.iterator(), Order.class, outputStream, rows.size(), parallel);
+        assertSameCells(write(rows, Order.class, rows.size(), 0), new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray())));
+    }
+
+    private static List<Order> orders(int size) {
+        List<Order> rows = new ArrayList<>();
+        for (int i = 1; i <= size; i++)
+            rows.add(new Order(i));
+        return rows;
+    }
+
+    private static <T> XSSFWorkbook write(List<T> rows, Class<T> clazz, long totalCount, int maxRowsPerSheet) throws IOException {
+        return write(rows, clazz, totalCount, maxRowsPerSheet, ExcelEngine.SXSSF);
+    }
+
+    private static <T> XSSFWorkbook write(List<T> rows, Class<T> clazz, long totalCount, int maxRowsPerSheet, ExcelEngine engine) throws IOException {
+        ExcelExportOptions.Builder options = ExcelExportOptions.builder().engine(engine);
+        if (maxRowsPerSheet > 0)
+            options.maxRowsPerSheet(maxRowsPerSheet);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExcelUtils.writeTo(rows.iterator(), clazz, outputStream, totalCount, options.build());
+        return new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()));
+    }
+
+    private static void assertSameCells(XSSFWorkbook expected, XSSFWorkbook actual) throws IOException {
+        try (expected; actual) {
+            assertEquals(expected.getNumberOfSheets(), actual.getNumberOfSheets());
+            for (int i = 0; i < expected.getNumberOfSheets(); i++) {
+                Sheet expectedSheet = expected.getSheetAt(i);
+                Sheet actualSheet = actual.getSheetAt(i);
+                assertEquals(expectedSheet.getSheetName(), actualSheet.getSheetName());
+                assertEquals(expectedSheet.getLastRowNum(), actualSheet.getLastRowNum(), expectedSheet.getSheetName());
+
+                for (int rowNo = 0; rowNo <= expectedSheet.getLastRowNum(); rowNo++) {
+                    Row expectedRow = expectedSheet.getRow(rowNo);
+                    Row actualRow = actualSheet.getRow(rowNo);
+                    assertEquals(expectedRow.getLastCellNum(), actualRow.getLastCellNum(), expectedSheet.getSheetName() + " row " + rowNo);
+
+                    for (int cellNo = 0; cellNo < expectedRow.getLastCellNum(); cellNo++)
+                        assertSameCell(expectedRow.getCell(cellNo), actualRow.getCell(cellNo),
+                                expectedSheet.getSheetName() + "!" + new CellReference(rowNo, cellNo).formatAsString());
+                }
+
+                for (int cellNo = 0; cellNo < expectedSheet.getRow(expectedSheet.getLastRowNum()).getLastCellNum(); cellNo++)
+                    assertEquals(expectedSheet.getColumnWidth(cellNo), actualSheet.getColumnWidth(cellNo), "width of column " + cellNo);
+            }
+        }
+    }
+
+    private static void assertSameCell(Cell expected, Cell actual, String reference) {
+        assertEquals(expected.getCellType(), actual.getCellType(), reference);
+        switch (expected.getCellType()) {
+            case NUMERIC -> assertEquals(expected.getNumericCellValue(), actual.getNumericCellValue(), reference);
+            case BOOLEAN -> assertEquals(expected.getBooleanCellValue(), actual.getBooleanCellValue(), reference);
+            default -> assertEquals(expected.getStringCellValue(), actual.getStringCellValue(), reference);
+        }
+        assertEquals(expected.getCellStyle().getDataFormatString(), actual.getCellStyle().getDataFormatString(), reference);
+        assertEquals(expected.getCellStyle().getFontIndex() == 0, actual.getCellStyle().getFontIndex() == 0, reference);
+    }
+}